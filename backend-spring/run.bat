@@ -1,5 +1,6 @@
 @echo off
 REM Run Spring Boot application with Java 23/24 JVM arguments
+REM set VIRTUAL_THREADS=true to run requests on virtual threads; pinned carriers are logged to stdout
 echo Starting Spring Boot application with Java 23...
-mvn spring-boot:run -Dspring-boot.run.jvmArguments="--enable-native-access=ALL-UNNAMED"
+mvn spring-boot:run -Dspring-boot.run.jvmArguments="--enable-native-access=ALL-UNNAMED -Djdk.tracePinnedThreads=short"
 
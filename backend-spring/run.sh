@@ -1,5 +1,6 @@
 #!/bin/bash
 # Run Spring Boot application with Java 23/24 JVM arguments
+# VIRTUAL_THREADS=true ./run.sh runs requests on virtual threads; pinned carriers are logged to stdout
 echo "Starting Spring Boot application with Java 23..."
-mvn spring-boot:run -Dspring-boot.run.jvmArguments="--enable-native-access=ALL-UNNAMED"
+mvn spring-boot:run -Dspring-boot.run.jvmArguments="--enable-native-access=ALL-UNNAMED -Djdk.tracePinnedThreads=short"
 
@@ -0,0 +1,153 @@
+package com.studenthelper.benchmark;
+
+import com.studenthelper.dto.HostelRequest;
+import com.studenthelper.dto.ItemRequest;
+import com.studenthelper.dto.PGRequest;
+import com.studenthelper.entity.Message;
+import com.studenthelper.entity.User;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Representative payloads shared by the benchmarks, sized like real listings
+ * (a handful of image URLs, full facility flags, broker attached).
+ */
+public final class Fixtures {
+
+    private Fixtures() {}
+
+    public static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Riya Patel");
+        user.setEmail("riya.patel" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoO5X5wG4z1s6i7QHfhY0dQvJ2dYy3XQ2e");
+        user.setEmailVerified(true);
+        user.setPhoneNumber("+919876543210");
+        user.setCity("Ahmedabad");
+        user.setRole(role);
+        user.setCollegeName("Nirma University");
+        user.setCreatedAt(LocalDateTime.of(2024, 7, 1, 10, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 8, 1, 10, 0));
+        return user;
+    }
+
+    public static PGRequest pgRequest() {
+        PGRequest request = new PGRequest();
+        request.setTitle("Spacious 2BHK PG near campus");
+        request.setLocation("Sarkhej-Gandhinagar Highway");
+        request.setCity("Ahmedabad");
+        request.setCollegeName("Nirma University");
+        request.setSharingType("DOUBLE");
+        request.setBedrooms(2);
+        request.setBathrooms(2);
+        request.setFloorNumber(3);
+        request.setPrice(9500.0);
+        request.setSecurityDeposit(10000.0);
+        request.setMaintenance(500.0);
+        request.setAc(true);
+        request.setFurnished(true);
+        request.setFoodAvailable(true);
+        request.setPowerBackup(true);
+        request.setWaterSupply("24x7");
+        request.setPreferredTenant("student");
+        request.setAvailabilityDate(LocalDateTime.of(2024, 9, 1, 0, 0));
+        request.setNearbyLandmarks("Opposite Gota flyover, 5 min from bus stop");
+        request.setInstructions("No smoking. Visitors allowed till 9 PM.");
+        request.setLatitude(23.1287);
+        request.setLongitude(72.5450);
+        request.setImages(images("pg"));
+        request.setVideos(List.of("https://res.cloudinary.com/demo/video/upload/pg/tour.mp4"));
+        request.setStatus("available");
+        return request;
+    }
+
+    public static HostelRequest hostelRequest() {
+        HostelRequest request = new HostelRequest();
+        request.setName("Shanti Girls Hostel");
+        request.setLocation("Navrangpura");
+        request.setCity("Ahmedabad");
+        request.setAddress("12, Shanti Society, Navrangpura, Ahmedabad 380009");
+        request.setGender("girls");
+        request.setTotalRooms(40);
+        request.setAvailableRooms(6);
+        request.setFees(72000.0);
+        request.setFeesPeriod("yearly");
+        request.setDescription("Safe hostel with mess, wifi and 24x7 security, walking distance to Gujarat University.");
+        request.setRules("Gate closes at 10 PM. No outside guests in rooms.");
+        request.setContactNumber("+919812345678");
+        request.setContactEmail("warden@shantihostel.example.com");
+        HostelRequest.Facilities facilities = new HostelRequest.Facilities();
+        facilities.setMess(true);
+        facilities.setWifi(true);
+        facilities.setLaundry(true);
+        facilities.setSecurity(true);
+        facilities.setPowerBackup(true);
+        facilities.setWaterSupply(true);
+        request.setFacilities(facilities);
+        request.setLatitude(23.0365);
+        request.setLongitude(72.5611);
+        request.setImages(images("hostel"));
+        request.setStatus("active");
+        return request;
+    }
+
+    public static ItemRequest itemRequest() {
+        ItemRequest request = new ItemRequest();
+        request.setTitle("Engineering Mathematics by B.S. Grewal");
+        request.setDescription("44th edition, a few highlighted pages, otherwise like new.");
+        request.setCategory("books");
+        request.setSubcategory("textbooks");
+        request.setPrice(450.0);
+        request.setNegotiable(true);
+        request.setCondition("like-new");
+        request.setCity("Ahmedabad");
+        request.setLocation("Vastrapur");
+        request.setBrand("Khanna Publishers");
+        request.setYear(2022);
+        request.setContactMethod("both");
+        request.setImages(images("item"));
+        request.setStatus("available");
+        return request;
+    }
+
+    public static Message message(User sender, User receiver) {
+        Message message = new Message();
+        message.setId(101L);
+        message.setSender(sender);
+        message.setReceiver(receiver);
+        message.setContent("Hi, is the PG still available from next month? I would like to visit this weekend.");
+        message.setRead(false);
+        Message.RelatedTo relatedTo = new Message.RelatedTo();
+        relatedTo.setType(Message.RelatedTo.RelatedToType.pg);
+        relatedTo.setRelatedId(42L);
+        message.setRelatedTo(relatedTo);
+        message.setCreatedAt(LocalDateTime.of(2024, 8, 10, 18, 30));
+        message.setUpdatedAt(LocalDateTime.of(2024, 8, 10, 18, 30));
+        return message;
+    }
+
+    /**
+     * Sets a private field the way Spring's field injection would, so services
+     * can be benchmarked without starting an application context.
+     */
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static List<String> images(String folder) {
+        return List.of(
+                "https://res.cloudinary.com/demo/image/upload/" + folder + "/front.jpg",
+                "https://res.cloudinary.com/demo/image/upload/" + folder + "/room.jpg",
+                "https://res.cloudinary.com/demo/image/upload/" + folder + "/kitchen.jpg",
+                "https://res.cloudinary.com/demo/image/upload/" + folder + "/bathroom.jpg");
+    }
+}
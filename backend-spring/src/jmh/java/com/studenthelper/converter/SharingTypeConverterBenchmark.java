@@ -0,0 +1,32 @@
+package com.studenthelper.converter;
+
+import com.studenthelper.entity.PG;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column conversion runs once per PG row loaded by Hibernate. "DOUBLE" and
+ * "Quad" exercise the case-normalisation path used by legacy rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SharingTypeConverterBenchmark {
+
+    private final SharingTypeConverter converter = new SharingTypeConverter();
+
+    @Param({"single", "double", "DOUBLE", "Quad"})
+    private String dbValue;
+
+    @Benchmark
+    public PG.SharingType toEntityAttribute() {
+        return converter.convertToEntityAttribute(dbValue);
+    }
+}
@@ -0,0 +1,103 @@
+package com.studenthelper.mapper;
+
+import com.studenthelper.benchmark.Fixtures;
+import com.studenthelper.dto.HostelRequest;
+import com.studenthelper.dto.HostelResponse;
+import com.studenthelper.dto.ItemRequest;
+import com.studenthelper.dto.ItemResponse;
+import com.studenthelper.dto.PGRequest;
+import com.studenthelper.dto.PGResponse;
+import com.studenthelper.entity.Hostel;
+import com.studenthelper.entity.Item;
+import com.studenthelper.entity.PG;
+import com.studenthelper.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion on the listing read and write paths. Search pages map
+ * up to a full page of entities per request, so per-call cost matters here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListingMapperBenchmark {
+
+    private final PGMapper pgMapper = new PGMapper();
+    private final HostelMapper hostelMapper = new HostelMapper();
+    private final ItemMapper itemMapper = new ItemMapper();
+
+    private PGRequest pgRequest;
+    private HostelRequest hostelRequest;
+    private ItemRequest itemRequest;
+
+    private PG pg;
+    private Hostel hostel;
+    private Item item;
+
+    @Setup
+    public void setup() {
+        pgRequest = Fixtures.pgRequest();
+        hostelRequest = Fixtures.hostelRequest();
+        itemRequest = Fixtures.itemRequest();
+
+        LocalDateTime timestamp = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+        pg = pgMapper.toEntity(pgRequest);
+        pg.setId(42L);
+        pg.setBroker(Fixtures.user(7L, User.Role.broker));
+        pg.setDistanceToCollege(2.4);
+        pg.setCreatedAt(timestamp);
+        pg.setUpdatedAt(timestamp);
+
+        hostel = hostelMapper.toEntity(hostelRequest);
+        hostel.setId(17L);
+        hostel.setAdmin(Fixtures.user(8L, User.Role.hostelAdmin));
+        hostel.setCreatedAt(timestamp);
+        hostel.setUpdatedAt(timestamp);
+
+        item = itemMapper.toEntity(itemRequest);
+        item.setId(99L);
+        item.setSeller(Fixtures.user(9L, User.Role.student));
+        item.setCreatedAt(timestamp);
+        item.setUpdatedAt(timestamp);
+    }
+
+    @Benchmark
+    public PGResponse pgToResponse() {
+        return pgMapper.toResponse(pg);
+    }
+
+    @Benchmark
+    public PG pgToEntity() {
+        return pgMapper.toEntity(pgRequest);
+    }
+
+    @Benchmark
+    public HostelResponse hostelToResponse() {
+        return hostelMapper.toResponse(hostel);
+    }
+
+    @Benchmark
+    public Hostel hostelToEntity() {
+        return hostelMapper.toEntity(hostelRequest);
+    }
+
+    @Benchmark
+    public ItemResponse itemToResponse() {
+        return itemMapper.toResponse(item);
+    }
+
+    @Benchmark
+    public Item itemToEntity() {
+        return itemMapper.toEntity(itemRequest);
+    }
+}
@@ -0,0 +1,122 @@
+package com.studenthelper.mapper;
+
+import com.studenthelper.benchmark.Fixtures;
+import com.studenthelper.dto.MessageResponse;
+import com.studenthelper.dto.UserResponse;
+import com.studenthelper.entity.Message;
+import com.studenthelper.entity.User;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compile-time MapStruct mappers against the reflection-based ModelMapper
+ * conversion they replaced, for profile reads and the conversation listing
+ * (one mapping per message). Run with -prof gc to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private static final int CONVERSATION_SIZE = 50;
+
+    private final MessageMapper messageMapper = new MessageMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private ModelMapper modelMapper;
+
+    private User user;
+    private Message message;
+    private List<Message> conversation;
+
+    @Setup
+    public void setup() {
+        // Same configuration as the former ModelMapperConfig bean
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+
+        user = Fixtures.user(1L, User.Role.student);
+        User broker = Fixtures.user(7L, User.Role.broker);
+        message = Fixtures.message(user, broker);
+
+        conversation = new ArrayList<>(CONVERSATION_SIZE);
+        for (int i = 0; i < CONVERSATION_SIZE; i++) {
+            Message m = i % 2 == 0 ? Fixtures.message(user, broker) : Fixtures.message(broker, user);
+            m.setId(100L + i);
+            conversation.add(m);
+        }
+
+        // First call builds ModelMapper's TypeMap; keep it out of the measurement
+        reflectiveUser(user);
+        reflectiveMessage(message);
+    }
+
+    @Benchmark
+    public UserResponse userReflective() {
+        return reflectiveUser(user);
+    }
+
+    @Benchmark
+    public UserResponse userCompiled() {
+        return userMapper.toUserResponse(user);
+    }
+
+    @Benchmark
+    public MessageResponse messageReflective() {
+        return reflectiveMessage(message);
+    }
+
+    @Benchmark
+    public MessageResponse messageCompiled() {
+        return messageMapper.toMessageResponse(message);
+    }
+
+    @Benchmark
+    public List<MessageResponse> conversationReflective() {
+        return conversation.stream().map(this::reflectiveMessage).toList();
+    }
+
+    @Benchmark
+    public List<MessageResponse> conversationCompiled() {
+        return conversation.stream().map(messageMapper::toMessageResponse).toList();
+    }
+
+    // Former UserServiceImpl.toUserResponse
+    private UserResponse reflectiveUser(User user) {
+        UserResponse response = modelMapper.map(user, UserResponse.class);
+        if (user.getRole() != null) {
+            response.setRole(user.getRole().name());
+        }
+        return response;
+    }
+
+    // Former MessageServiceImpl.toMessageResponse
+    private MessageResponse reflectiveMessage(Message message) {
+        MessageResponse response = modelMapper.map(message, MessageResponse.class);
+        response.setSenderId(message.getSender().getId());
+        response.setSenderName(message.getSender().getName());
+        response.setReceiverId(message.getReceiver().getId());
+        response.setReceiverName(message.getReceiver().getName());
+
+        if (message.getRelatedTo() != null) {
+            MessageResponse.RelatedToResponse relatedToResponse = new MessageResponse.RelatedToResponse();
+            relatedToResponse.setType(message.getRelatedTo().getType().name());
+            relatedToResponse.setRelatedId(message.getRelatedTo().getRelatedId());
+            response.setRelatedTo(relatedToResponse);
+        }
+        return response;
+    }
+}
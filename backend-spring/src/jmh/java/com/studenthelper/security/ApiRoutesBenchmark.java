@@ -0,0 +1,70 @@
+package com.studenthelper.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route access lookup per request: the {@link ApiRoutes} trie against the
+ * startsWith/contains chain JwtAuthenticationFilter used to run and the
+ * path-pattern list SecurityConfig used to match ({@link LegacyRouteRules}),
+ * cycling through every controller route under every method plus some paths
+ * no controller serves. ApiRoutesTest checks that the trie classifies all of
+ * them the same way the old rules did.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiRoutesBenchmark {
+
+    private final ApiRoutes routes = new ApiRoutes();
+    private String[] methods;
+    private String[] paths;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<String> requestMethods = new ArrayList<>();
+        List<String> requestPaths = new ArrayList<>();
+        for (String path : LegacyRouteRules.PATHS) {
+            for (String method : LegacyRouteRules.METHODS) {
+                requestMethods.add(method);
+                requestPaths.add(path);
+            }
+        }
+        methods = requestMethods.toArray(String[]::new);
+        paths = requestPaths.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public ApiRoutes.Access routeTable() {
+        int i = next();
+        return routes.access(methods[i], paths[i]);
+    }
+
+    @Benchmark
+    public boolean previousFilterChecks() {
+        int i = next();
+        return LegacyRouteRules.filterSkips(methods[i], paths[i]);
+    }
+
+    @Benchmark
+    public boolean previousSecurityMatchers() {
+        int i = next();
+        return LegacyRouteRules.securityPermits(methods[i], paths[i]);
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == paths.length ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studenthelper.util;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Haversine fallback used whenever OSRM is unavailable and for the
+ * distance-to-college value on every listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistanceBenchmark {
+
+    // Only the local math is measured; the OSRM policy is never exercised
+    private final DistanceUtil distanceUtil = new DistanceUtil("http://localhost", new UpstreamPolicy("osrm",
+            new UpstreamLimiter("osrm", 1, 0, Duration.ofSeconds(1)),
+            CircuitBreaker.ofDefaults("osrm"),
+            RateLimiter.ofDefaults("osrm")), WebClient.builder());
+
+    private final DistanceUtil.Coordinates campus = new DistanceUtil.Coordinates(23.1287, 72.5450);
+    private final DistanceUtil.Coordinates listing = new DistanceUtil.Coordinates(23.0365, 72.5611);
+
+    @Benchmark
+    public DistanceUtil.DistanceResult calculateDirectDistance() {
+        return distanceUtil.calculateDirectDistance(campus, listing);
+    }
+}
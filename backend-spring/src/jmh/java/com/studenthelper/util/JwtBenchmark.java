@@ -0,0 +1,61 @@
+package com.studenthelper.util;
+
+import com.studenthelper.benchmark.Fixtures;
+import com.studenthelper.cache.LocalCacheInvalidationBus;
+import com.studenthelper.entity.User;
+import com.studenthelper.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issue on login/refresh and the parse + revocation check
+ * JwtAuthenticationFilter runs on every authenticated request, with a
+ * thousand other tokens revoked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        Fixtures.inject(jwtUtil, "secret", "benchmark-secret-that-is-long-enough-for-hs512-signing");
+        Fixtures.inject(jwtUtil, "accessExpiration", 3_600_000L);
+        user = Fixtures.user(7L, User.Role.student);
+        token = jwtUtil.generateAccessToken(user);
+
+        revocationList = new TokenRevocationList(new LocalCacheInvalidationBus(), jwtUtil, 1 << 20);
+        for (int i = 0; i < 1000; i++) {
+            revocationList.revokeToken(ThreadLocalRandom.current().nextLong());
+        }
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Long parseAndCheckRevocation() {
+        Claims claims = jwtUtil.parseAccessToken(token);
+        if (revocationList.isRevoked(claims)) {
+            throw new IllegalStateException("Benchmark token rejected");
+        }
+        return JwtUtil.getUserId(claims);
+    }
+}
@@ -0,0 +1,123 @@
+package com.studenthelper.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.studenthelper.benchmark.Fixtures;
+import com.studenthelper.dto.ApiResponse;
+import com.studenthelper.dto.PGResponse;
+import com.studenthelper.entity.PG;
+import com.studenthelper.entity.User;
+import com.studenthelper.mapper.PGMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializing a 50-item PG search page (the GET /api/pg envelope) as JSON, CBOR
+ * and Smile, with mappers configured like ContentNegotiationConfig's. Payload
+ * sizes, raw and gzipped, are printed once at setup since they don't vary
+ * between runs. gzipJson is what compressing a body on every response costs,
+ * which ResponseCache avoids by keeping the gzipped bytes on the entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final ObjectMapper json = mapper(null);
+    private final ObjectMapper cbor = mapper(new CBORFactory());
+    private final ObjectMapper smile = mapper(new SmileFactory());
+
+    private ApiResponse<Map<String, Object>> page;
+    private byte[] jsonBody;
+
+    @Setup
+    public void setup() throws IOException {
+        PGMapper pgMapper = new PGMapper();
+        User broker = Fixtures.user(7L, User.Role.broker);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+        List<PGResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            PG pg = pgMapper.toEntity(Fixtures.pgRequest());
+            pg.setId(1000L + i);
+            pg.setTitle(pg.getTitle() + " #" + i);
+            pg.setPrice(7000.0 + 250 * i);
+            pg.setBroker(broker);
+            pg.setDistanceToCollege(0.5 + i * 0.1);
+            pg.setCreatedAt(timestamp.minusDays(i));
+            pg.setUpdatedAt(timestamp);
+            content.add(pgMapper.toResponse(pg));
+        }
+
+        Map<String, Object> pagedData = new LinkedHashMap<>();
+        pagedData.put("content", content);
+        pagedData.put("page", 0);
+        pagedData.put("size", PAGE_SIZE);
+        pagedData.put("totalElements", 1240L);
+        pagedData.put("totalPages", 25);
+        pagedData.put("sort", "createdAt: ASC");
+        page = ApiResponse.success(pagedData, PAGE_SIZE);
+        jsonBody = json();
+
+        System.out.printf("%n50-item PG page: json=%d B (gzip %d), cbor=%d B (gzip %d), smile=%d B (gzip %d)%n",
+                json().length, gzip(json()), cbor().length, gzip(cbor()), smile().length, gzip(smile()));
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] smile() throws JsonProcessingException {
+        return smile.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public int gzipJson() throws IOException {
+        return gzip(jsonBody);
+    }
+
+    private static ObjectMapper mapper(com.fasterxml.jackson.core.JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (factory != null) {
+            builder.factory(factory);
+        }
+        return builder.build();
+    }
+
+    private static int gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.size();
+    }
+}
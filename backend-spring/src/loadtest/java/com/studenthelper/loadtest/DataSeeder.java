@@ -0,0 +1,341 @@
+package com.studenthelper.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic dataset with batched JDBC inserts. The schema must
+ * already exist: start the backend once with the loadtest profile so Hibernate
+ * creates the tables, then seed. Existing rows in the target database are
+ * truncated first, which is why the database name must contain "loadtest"
+ * unless {@code --force} is given.
+ */
+final class DataSeeder {
+
+    private static final List<String> TABLES = List.of(
+            "payments", "messages",
+            "pg_images", "pg_videos", "pgs",
+            "hostel_images", "hostel_videos", "hostels",
+            "item_images", "items",
+            "users");
+
+    private static final String[] SHARING = {"single", "double", "triple", "quad"};
+    private static final String[] WATER = {"EMPTY", "TIMING", "LIMITED", "FULL_24X7"};
+    private static final String[] TENANT = {"student", "working", "both"};
+    private static final String[] GENDER = {"boys", "girls", "both"};
+    private static final String[] CATEGORY = {"books", "electronics", "furniture", "clothing", "other"};
+    private static final String[] CONDITION = {"NEW", "likeNew", "good", "fair", "poor"};
+    private static final int IMAGES_PER_LISTING = 3;
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final int batchSize;
+    private final boolean force;
+    private final long seed;
+    private final Dataset dataset = new Dataset();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    DataSeeder(Args args) {
+        this.jdbcUrl = args.get("jdbc-url",
+                "jdbc:mysql://localhost:3306/student_helper_loadtest?rewriteBatchedStatements=true");
+        this.username = args.get("db-user", "root");
+        this.password = args.get("db-password", "");
+        this.batchSize = args.getInt("batch", 2000);
+        this.force = args.has("force");
+        this.seed = args.getLong("seed", 42);
+
+        long listings = args.getLong("listings", 100_000);
+        dataset.users = args.getLong("users", 20_000);
+        dataset.pgs = args.getLong("pgs", listings / 2);
+        dataset.hostels = args.getLong("hostels", listings / 5);
+        dataset.items = args.getLong("items", listings - dataset.pgs - dataset.hostels);
+        dataset.messages = args.getLong("messages", 1_000_000);
+        dataset.payments = args.getLong("payments", 50_000);
+    }
+
+    void run(Path manifest) throws SQLException, java.io.IOException {
+        if (!force && !jdbcUrl.contains("loadtest")) {
+            throw new IllegalArgumentException("Refusing to truncate " + jdbcUrl
+                    + " (database name must contain 'loadtest'; pass --force to override)");
+        }
+        if (dataset.users < 10) {
+            throw new IllegalArgumentException("--users must be at least 10");
+        }
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            connection.setAutoCommit(false);
+            truncate(connection);
+
+            long start = System.nanoTime();
+            seedUsers(connection);
+            seedPGs(connection);
+            seedHostels(connection);
+            seedItems(connection);
+            seedMessages(connection);
+            seedPayments(connection);
+            System.out.printf("Seeded in %.1fs%n", (System.nanoTime() - start) / 1e9);
+        }
+        dataset.write(manifest);
+        System.out.println("Dataset manifest written to " + manifest.toAbsolutePath());
+    }
+
+    private void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            for (String table : TABLES) {
+                statement.execute("TRUNCATE TABLE " + table);
+            }
+            statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+        } catch (SQLException e) {
+            throw new SQLException("Schema not found; start the backend once with SPRING_PROFILES_ACTIVE=loadtest "
+                    + "so Hibernate creates the tables (" + e.getMessage() + ")", e);
+        }
+        connection.commit();
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        // One hash for everyone: BCrypt at login is part of what we measure, seeding should not pay for it per row.
+        // Stored with the {bcrypt} prefix the app writes, so logins don't trigger a rehash.
+        String hash = "{bcrypt}" + new BCryptPasswordEncoder().encode(Dataset.PASSWORD);
+        insert(connection, "users", dataset.users,
+                "INSERT INTO users (id, name, email, password, email_verified, auth_provider, phone_number, city, role,"
+                        + " college_name, created_at, updated_at) VALUES (?, ?, ?, ?, 1, 'LOCAL', ?, ?, ?, ?, ?, ?)",
+                (ps, id, random) -> {
+                    Timestamp created = createdAt(random);
+                    ps.setLong(1, id);
+                    ps.setString(2, "Load Test User " + id);
+                    ps.setString(3, Dataset.email(id));
+                    ps.setString(4, hash);
+                    ps.setString(5, String.format("+9190%08d", id));
+                    ps.setString(6, Dataset.city(id));
+                    ps.setString(7, Dataset.role(id));
+                    ps.setString(8, Dataset.city(id) + " Institute of Technology");
+                    ps.setTimestamp(9, created);
+                    ps.setTimestamp(10, created);
+                });
+    }
+
+    private void seedPGs(Connection connection) throws SQLException {
+        insert(connection, "pgs", dataset.pgs,
+                "INSERT INTO pgs (id, title, location, city, college_name, sharing_type, bedrooms, bathrooms, floor_number,"
+                        + " price, security_deposit, maintenance, ac, furnished, owner_on_first_floor, food_available,"
+                        + " power_backup, parking, water_supply, preferred_tenant, nearby_landmarks, instructions,"
+                        + " coordinates_lat, coordinates_lng, distance_to_college, broker_id, is_active, status,"
+                        + " created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, 'available', ?, ?)",
+                (ps, id, random) -> {
+                    String city = Dataset.city(id);
+                    Timestamp created = createdAt(random);
+                    int bedrooms = 1 + random.nextInt(4);
+                    ps.setLong(1, id);
+                    ps.setString(2, bedrooms + "BHK PG near " + city + " campus #" + id);
+                    ps.setString(3, "Sector " + (1 + random.nextInt(30)) + ", " + city);
+                    ps.setString(4, city);
+                    ps.setString(5, city + " Institute of Technology");
+                    ps.setString(6, SHARING[random.nextInt(SHARING.length)]);
+                    ps.setInt(7, bedrooms);
+                    ps.setInt(8, 1 + random.nextInt(bedrooms));
+                    ps.setInt(9, random.nextInt(8));
+                    ps.setDouble(10, 3000 + random.nextInt(200) * 100);
+                    ps.setDouble(11, random.nextInt(20) * 1000);
+                    ps.setDouble(12, random.nextInt(10) * 100);
+                    ps.setBoolean(13, random.nextBoolean());
+                    ps.setBoolean(14, random.nextBoolean());
+                    ps.setBoolean(15, random.nextBoolean());
+                    ps.setBoolean(16, random.nextBoolean());
+                    ps.setBoolean(17, random.nextBoolean());
+                    ps.setBoolean(18, random.nextBoolean());
+                    ps.setString(19, WATER[random.nextInt(WATER.length)]);
+                    ps.setString(20, TENANT[random.nextInt(TENANT.length)]);
+                    ps.setString(21, "Near bus stop and market");
+                    ps.setString(22, "No smoking. Visitors allowed till 9 PM.");
+                    ps.setDouble(23, 18 + random.nextDouble() * 10);
+                    ps.setDouble(24, 72 + random.nextDouble() * 6);
+                    ps.setDouble(25, Math.round(random.nextDouble() * 150) / 10.0);
+                    ps.setLong(26, brokerOf(id));
+                    ps.setTimestamp(27, created);
+                    ps.setTimestamp(28, created);
+                });
+        insertImages(connection, "pg_images", "pg_id", dataset.pgs, "pgs");
+    }
+
+    private void seedHostels(Connection connection) throws SQLException {
+        insert(connection, "hostels", dataset.hostels,
+                "INSERT INTO hostels (id, name, location, city, address, gender, total_rooms, available_rooms, fees,"
+                        + " fees_period, facilities_mess, facilities_wifi, facilities_laundry, facilities_gym,"
+                        + " facilities_library, facilities_parking, facilities_security, facilities_power_backup,"
+                        + " facilities_water_supply, description, rules, coordinates_lat, coordinates_lng, admin_id,"
+                        + " status, contact_number, contact_email, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'monthly', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'active', ?, ?, ?, ?)",
+                (ps, id, random) -> {
+                    String city = Dataset.city(id);
+                    Timestamp created = createdAt(random);
+                    int rooms = 10 + random.nextInt(90);
+                    ps.setLong(1, id);
+                    ps.setString(2, city + " Student Hostel #" + id);
+                    ps.setString(3, "Ward " + (1 + random.nextInt(20)) + ", " + city);
+                    ps.setString(4, city);
+                    ps.setString(5, id + ", Hostel Road, " + city);
+                    ps.setString(6, GENDER[random.nextInt(GENDER.length)]);
+                    ps.setInt(7, rooms);
+                    ps.setInt(8, random.nextInt(rooms + 1));
+                    ps.setDouble(9, 2000 + random.nextInt(100) * 100);
+                    for (int f = 10; f <= 18; f++) {
+                        ps.setBoolean(f, random.nextBoolean());
+                    }
+                    ps.setString(19, "Hostel with mess, wifi and security close to colleges in " + city);
+                    ps.setString(20, "Gate closes at 10 PM.");
+                    ps.setDouble(21, 18 + random.nextDouble() * 10);
+                    ps.setDouble(22, 72 + random.nextDouble() * 6);
+                    ps.setLong(23, Dataset.withRole(id * 13 % dataset.users + 1, "hostelAdmin", dataset.users));
+                    ps.setString(24, String.format("+9180%08d", id));
+                    ps.setString(25, "hostel" + id + "@loadtest.local");
+                    ps.setTimestamp(26, created);
+                    ps.setTimestamp(27, created);
+                });
+        insertImages(connection, "hostel_images", "hostel_id", dataset.hostels, "hostels");
+    }
+
+    private void seedItems(Connection connection) throws SQLException {
+        insert(connection, "items", dataset.items,
+                "INSERT INTO items (id, title, description, category, subcategory, price, negotiable, item_condition,"
+                        + " city, location, seller_id, status, brand, model, year, contact_method, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'available', ?, ?, ?, 'chat', ?, ?)",
+                (ps, id, random) -> {
+                    String category = CATEGORY[random.nextInt(CATEGORY.length)];
+                    Timestamp created = createdAt(random);
+                    ps.setLong(1, id);
+                    ps.setString(2, "Used " + category + " item #" + id);
+                    ps.setString(3, "Well maintained " + category + ", pick up from campus.");
+                    ps.setString(4, category);
+                    ps.setString(5, null);
+                    ps.setDouble(6, 100 + random.nextInt(500) * 10);
+                    ps.setBoolean(7, random.nextBoolean());
+                    ps.setString(8, CONDITION[random.nextInt(CONDITION.length)]);
+                    ps.setString(9, Dataset.city(id));
+                    ps.setString(10, "Campus gate " + (1 + random.nextInt(4)));
+                    ps.setLong(11, id * 17 % dataset.users + 1);
+                    ps.setString(12, "Generic");
+                    ps.setString(13, "M" + random.nextInt(100));
+                    ps.setInt(14, 2015 + random.nextInt(10));
+                    ps.setTimestamp(15, created);
+                    ps.setTimestamp(16, created);
+                });
+        insertImages(connection, "item_images", "item_id", dataset.items, "items");
+    }
+
+    /**
+     * Students write to a handful of brokers each; conversation sizes follow a
+     * skewed distribution so some threads are long, like real inboxes.
+     */
+    private void seedMessages(Connection connection) throws SQLException {
+        long students = dataset.users * 7 / 10;
+        insert(connection, "messages", dataset.messages,
+                "INSERT INTO messages (id, sender_id, receiver_id, content, type, related_to_id, is_read, read_at,"
+                        + " created_at, updated_at) VALUES (?, ?, ?, ?, 'pg', ?, ?, ?, ?, ?)",
+                (ps, id, random) -> {
+                    long rank = (long) Math.floor(Math.pow(random.nextDouble(), 2) * students);
+                    long student = Dataset.withRole(rank * 10 / 7 + 1, "student", dataset.users);
+                    long pg = Dataset.pgDiscussedBy(student, random.nextInt(3), dataset.pgs);
+                    long broker = brokerOf(pg);
+                    boolean fromStudent = random.nextInt(3) != 0;
+                    boolean read = random.nextInt(4) != 0;
+                    Timestamp created = createdAt(random);
+                    ps.setLong(1, id);
+                    ps.setLong(2, fromStudent ? student : broker);
+                    ps.setLong(3, fromStudent ? broker : student);
+                    ps.setString(4, fromStudent
+                            ? "Hi, is PG #" + pg + " still available? Can I visit this weekend?"
+                            : "Yes, it is available. Please come by on Saturday after 11 AM.");
+                    ps.setLong(5, pg);
+                    ps.setBoolean(6, read);
+                    ps.setTimestamp(7, read ? created : null);
+                    ps.setTimestamp(8, created);
+                    ps.setTimestamp(9, created);
+                });
+    }
+
+    private void seedPayments(Connection connection) throws SQLException {
+        if (dataset.pgs == 0) {
+            dataset.payments = 0;
+            return;
+        }
+        insert(connection, "payments", dataset.payments,
+                "INSERT INTO payments (id, razorpay_order_id, razorpay_payment_id, amount, currency, status, payment_type,"
+                        + " pg_id, payer_id, receiver_id, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, 'INR', 'SUCCESS', 'PG_BOOKING', ?, ?, ?, ?, ?)",
+                (ps, id, random) -> {
+                    long pg = random.nextLong(dataset.pgs) + 1;
+                    Timestamp created = createdAt(random);
+                    ps.setLong(1, id);
+                    ps.setString(2, "order_loadtest_" + id);
+                    ps.setString(3, "pay_loadtest_" + id);
+                    ps.setDouble(4, 3000 + random.nextInt(200) * 100);
+                    ps.setLong(5, pg);
+                    ps.setLong(6, Dataset.withRole(random.nextLong(dataset.users) + 1, "student", dataset.users));
+                    ps.setLong(7, brokerOf(pg));
+                    ps.setTimestamp(8, created);
+                    ps.setTimestamp(9, created);
+                });
+    }
+
+    private void insertImages(Connection connection, String table, String parentColumn, long parents, String folder)
+            throws SQLException {
+        insert(connection, table, parents * IMAGES_PER_LISTING,
+                "INSERT INTO " + table + " (" + parentColumn + ", image_url) VALUES (?, ?)",
+                (ps, row, random) -> {
+                    long parent = (row - 1) / IMAGES_PER_LISTING + 1;
+                    ps.setLong(1, parent);
+                    ps.setString(2, "https://res.cloudinary.com/loadtest/image/upload/student-helper/"
+                            + folder + "/" + parent + "_" + (row % IMAGES_PER_LISTING) + ".jpg");
+                });
+    }
+
+    private long brokerOf(long pgId) {
+        return Dataset.brokerOfPg(pgId, dataset.users);
+    }
+
+    private Timestamp createdAt(SplittableRandom random) {
+        return Timestamp.valueOf(now.minusMinutes(random.nextLong(180L * 24 * 60)));
+    }
+
+    private void insert(Connection connection, String table, long rows, String sql, RowBinder binder)
+            throws SQLException {
+        // Seeded per table so re-running one table's generator reproduces the same rows
+        SplittableRandom random = new SplittableRandom(seed ^ table.hashCode());
+        long start = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (long id = 1; id <= rows; id++) {
+                binder.bind(ps, id, random);
+                ps.addBatch();
+                if (id % batchSize == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+                if (id % 100_000 == 0) {
+                    System.out.printf("  %s: %,d / %,d%n", table, id, rows);
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-14s %,12d rows  %6.1fs  %,10.0f rows/s%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long id, SplittableRandom random) throws SQLException;
+    }
+}
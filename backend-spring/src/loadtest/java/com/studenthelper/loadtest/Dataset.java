@@ -0,0 +1,96 @@
+package com.studenthelper.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Shape of a seeded dataset. The seeder writes it next to the report so the
+ * load driver can pick valid ids and log in as seeded users; ids are dense
+ * ranges starting at 1 and roles are assigned deterministically by user id.
+ */
+final class Dataset {
+
+    static final String PASSWORD = "loadtest123";
+    static final List<String> CITIES = List.of(
+            "Ahmedabad", "Gandhinagar", "Vadodara", "Surat", "Rajkot",
+            "Mumbai", "Pune", "Bengaluru", "Hyderabad", "Delhi");
+
+    long users;
+    long pgs;
+    long hostels;
+    long items;
+    long messages;
+    long payments;
+
+    static String email(long userId) {
+        return "user" + userId + "@loadtest.local";
+    }
+
+    /** 70% students, 20% brokers, 10% hostel admins. */
+    static String role(long userId) {
+        long bucket = userId % 10;
+        if (bucket < 7) {
+            return "student";
+        }
+        return bucket < 9 ? "broker" : "hostelAdmin";
+    }
+
+    static String city(long id) {
+        return CITIES.get((int) (id % CITIES.size()));
+    }
+
+    /** Nearest user id at or after {@code from} with the given role. */
+    static long withRole(long from, String role, long users) {
+        for (long id = from; id < from + 10; id++) {
+            long candidate = (id - 1) % users + 1;
+            if (role(candidate).equals(role)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No " + role + " near user " + from);
+    }
+
+    /** Broker that owns a seeded PG; chat threads and payments follow the same mapping. */
+    static long brokerOfPg(long pgId, long users) {
+        return withRole(pgId * 7 % users + 1, "broker", users);
+    }
+
+    /** PG a seeded student has been chatting about (one of three per student). */
+    static long pgDiscussedBy(long studentId, int nth, long pgs) {
+        return (studentId * 31 + nth) % Math.max(pgs, 1) + 1;
+    }
+
+    void write(Path file) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("users", Long.toString(users));
+        p.setProperty("pgs", Long.toString(pgs));
+        p.setProperty("hostels", Long.toString(hostels));
+        p.setProperty("items", Long.toString(items));
+        p.setProperty("messages", Long.toString(messages));
+        p.setProperty("payments", Long.toString(payments));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            p.store(writer, "Seeded by LoadTestMain seed");
+        }
+    }
+
+    static Dataset read(Path file) throws IOException {
+        Properties p = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            p.load(reader);
+        }
+        Dataset dataset = new Dataset();
+        dataset.users = Long.parseLong(p.getProperty("users"));
+        dataset.pgs = Long.parseLong(p.getProperty("pgs"));
+        dataset.hostels = Long.parseLong(p.getProperty("hostels"));
+        dataset.items = Long.parseLong(p.getProperty("items"));
+        dataset.messages = Long.parseLong(p.getProperty("messages"));
+        dataset.payments = Long.parseLong(p.getProperty("payments"));
+        return dataset;
+    }
+}
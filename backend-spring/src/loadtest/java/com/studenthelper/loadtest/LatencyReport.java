@@ -0,0 +1,153 @@
+package com.studenthelper.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request-name latency histograms (microsecond resolution) plus error
+ * counts, rendered as a console table, Markdown and JSON.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = 120_000_000L;
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(String name, long micros, boolean ok) {
+        Series s = series.computeIfAbsent(name, n -> new Series());
+        s.histogram.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+        if (!ok) {
+            s.errors.increment();
+        }
+    }
+
+    double elapsedSeconds() {
+        return (endNanos - startNanos) / 1e9;
+    }
+
+    List<Row> rows() {
+        double seconds = elapsedSeconds();
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(MAX_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Histogram h = entry.getValue().histogram.copy();
+            long errors = entry.getValue().errors.sum();
+            total.add(h);
+            totalErrors += errors;
+            rows.add(new Row(entry.getKey(), h, errors, seconds));
+        }
+        rows.add(new Row("TOTAL", total, totalErrors, seconds));
+        return rows;
+    }
+
+    /** Endpoints whose p95/p99 exceed the SLO (0 disables a check). */
+    List<String> violations(double p95Ms, double p99Ms, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        for (Row row : rows()) {
+            if (row.name.startsWith("scenario.") || row.name.equals("auth.login")) {
+                continue;
+            }
+            if (p95Ms > 0 && row.p95 > p95Ms) {
+                violations.add(String.format("%s p95 %.1fms > %.0fms", row.name, row.p95, p95Ms));
+            }
+            if (p99Ms > 0 && row.p99 > p99Ms) {
+                violations.add(String.format("%s p99 %.1fms > %.0fms", row.name, row.p99, p99Ms));
+            }
+            if (row.count > 0 && (double) row.errors / row.count > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%", row.name,
+                        100.0 * row.errors / row.count, 100 * maxErrorRate));
+            }
+        }
+        return violations;
+    }
+
+    void print() {
+        System.out.printf("%n%-24s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row r : rows()) {
+            System.out.printf("%-24s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.name, r.count, r.errors, r.throughput, r.p50, r.p95, r.p99, r.p999, r.max);
+        }
+    }
+
+    void write(Path dir, Map<String, String> settings) throws IOException {
+        Files.createDirectories(dir);
+        List<Row> rows = rows();
+
+        StringBuilder md = new StringBuilder("# Load test report\n\n");
+        settings.forEach((k, v) -> md.append("- **").append(k).append("**: ").append(v).append('\n'));
+        md.append(String.format("- **measured window**: %.1fs%n%n", elapsedSeconds()));
+        md.append("| request | count | errors | req/s | p50 ms | p95 ms | p99 ms | p99.9 ms | max ms |\n");
+        md.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Row r : rows) {
+            md.append(String.format("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %.2f |%n",
+                    r.name, r.count, r.errors, r.throughput, r.p50, r.p95, r.p99, r.p999, r.max));
+        }
+        Files.writeString(dir.resolve("report.md"), md);
+
+        StringBuilder json = new StringBuilder("{\n  \"settings\": {");
+        List<String> pairs = new ArrayList<>();
+        settings.forEach((k, v) -> pairs.add("\"" + k + "\": \"" + v.replace("\"", "'") + "\""));
+        json.append(String.join(", ", pairs)).append("},\n");
+        json.append(String.format("  \"elapsedSeconds\": %.3f,%n  \"requests\": [%n", elapsedSeconds()));
+        for (int i = 0; i < rows.size(); i++) {
+            Row r = rows.get(i);
+            json.append(String.format("    {\"name\": \"%s\", \"count\": %d, \"errors\": %d, \"throughput\": %.2f, "
+                            + "\"p50\": %.3f, \"p95\": %.3f, \"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}%s%n",
+                    r.name, r.count, r.errors, r.throughput, r.p50, r.p95, r.p99, r.p999, r.max,
+                    i < rows.size() - 1 ? "," : ""));
+        }
+        json.append("  ]\n}\n");
+        Files.writeString(dir.resolve("report.json"), json);
+    }
+
+    private static final class Series {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    static final class Row {
+        final String name;
+        final long count;
+        final long errors;
+        final double throughput;
+        final double p50;
+        final double p95;
+        final double p99;
+        final double p999;
+        final double max;
+
+        Row(String name, Histogram h, long errors, double seconds) {
+            this.name = name;
+            this.count = h.getTotalCount();
+            this.errors = errors;
+            this.throughput = seconds > 0 ? count / seconds : 0;
+            this.p50 = h.getValueAtPercentile(50) / 1000.0;
+            this.p95 = h.getValueAtPercentile(95) / 1000.0;
+            this.p99 = h.getValueAtPercentile(99) / 1000.0;
+            this.p999 = h.getValueAtPercentile(99.9) / 1000.0;
+            this.max = h.getMaxValue() / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.studenthelper.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the browse / search / chat / upload flows against a running backend.
+ *
+ * <p>Closed loop by default: {@code --vus} virtual users each run scenarios back
+ * to back (plus optional think time). With {@code --rate} the driver runs open
+ * loop instead, starting scenarios at a fixed arrival rate and measuring each
+ * scenario from its scheduled start, so a stalled server shows up as latency
+ * rather than as fewer requests (no coordinated omission).
+ */
+final class LoadDriver {
+
+    private static final List<String> SCENARIOS = List.of("browse", "search", "chat", "upload", "geo");
+
+    private final String baseUrl;
+    private final int vus;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long thinkMs;
+    private final Duration timeout;
+    private final int[] weights;
+    private final int imageBytes;
+    private final Dataset dataset;
+    private final LatencyReport report = new LatencyReport();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final byte[] image;
+
+    private volatile boolean measuring;
+
+    LoadDriver(Args args, Dataset dataset) {
+        this.baseUrl = args.get("base-url", "http://localhost:5000");
+        this.vus = args.getInt("vus", 50);
+        this.rate = args.getDouble("rate", 0);
+        this.warmup = args.getDuration("warmup", Duration.ofSeconds(15));
+        this.duration = args.getDuration("duration", Duration.ofSeconds(60));
+        this.thinkMs = args.getLong("think-ms", 0);
+        this.timeout = args.getDuration("timeout", Duration.ofSeconds(30));
+        this.weights = parseMix(args.get("mix", "browse=50,search=30,chat=15,upload=5"));
+        this.imageBytes = args.getInt("image-kb", 64) * 1024;
+        this.dataset = dataset;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.image = new byte[imageBytes];
+        new SplittableRandom(7).nextBytes(image);
+    }
+
+    LatencyReport run() throws InterruptedException {
+        System.out.printf("Logging in %d sessions against %s%n", vus, baseUrl);
+        List<Session> sessions = login();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        Thread.ofVirtual().start(() -> {
+            sleepUntil(warmupEnd);
+            report.start();
+            measuring = true;
+            System.out.println("Warm-up done, measuring for " + duration.toSeconds() + "s");
+        });
+
+        if (rate > 0) {
+            runOpenLoop(sessions, end);
+        } else {
+            runClosedLoop(sessions, end);
+        }
+        measuring = false;
+        report.stop();
+        return report;
+    }
+
+    Map<String, String> settings() {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("mode", rate > 0 ? "open loop @ " + rate + " scenarios/s" : "closed loop");
+        settings.put("vus", Integer.toString(vus));
+        settings.put("warmup", warmup.toSeconds() + "s");
+        settings.put("duration", duration.toSeconds() + "s");
+        List<String> mix = new ArrayList<>();
+        for (int i = 0; i < SCENARIOS.size(); i++) {
+            mix.add(SCENARIOS.get(i) + "=" + weights[i]);
+        }
+        settings.put("mix", String.join(",", mix));
+        settings.put("dataset", dataset.users + " users, " + dataset.pgs + " pgs, " + dataset.hostels + " hostels, "
+                + dataset.items + " items, " + dataset.messages + " messages");
+        return settings;
+    }
+
+    private void runClosedLoop(List<Session> sessions, long end) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Session session : sessions) {
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(session.studentId);
+                    while (System.nanoTime() < end) {
+                        runScenario(pick(random), session, random, System.nanoTime());
+                        if (thinkMs > 0) {
+                            sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkMs));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(end - System.nanoTime() + timeout.toNanos() * 4, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void runOpenLoop(List<Session> sessions, long end) throws InterruptedException {
+        long intervalNanos = (long) (1e9 / rate);
+        AtomicInteger next = new AtomicInteger();
+        SplittableRandom scheduler = new SplittableRandom(11);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = System.nanoTime(); intended < end; intended += intervalNanos) {
+                sleepUntil(intended);
+                long scheduledAt = intended;
+                String scenario = pick(scheduler);
+                SplittableRandom random = scheduler.split();
+                Session session = sessions.get(Math.floorMod(next.getAndIncrement(), sessions.size()));
+                executor.submit(() -> runScenario(scenario, session, random, scheduledAt));
+            }
+            executor.shutdown();
+            executor.awaitTermination(timeout.toNanos() * 4, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void runScenario(String scenario, Session session, SplittableRandom random, long scheduledAt) {
+        boolean ok;
+        try {
+            ok = switch (scenario) {
+                case "browse" -> browse(random);
+                case "search" -> search(session, random);
+                case "chat" -> chat(session, random);
+                case "upload" -> upload(session, random);
+                case "geo" -> geo(session, random);
+                default -> throw new IllegalArgumentException(scenario);
+            };
+        } catch (Exception e) {
+            ok = false;
+        }
+        if (measuring) {
+            report.record("scenario." + scenario, (System.nanoTime() - scheduledAt) / 1000, ok);
+        }
+    }
+
+    // --- scenarios ---------------------------------------------------------
+
+    private boolean browse(SplittableRandom random) {
+        String city = Dataset.city(random.nextInt(Dataset.CITIES.size()));
+        return get("browse.pg.list", "/api/pg?page=" + random.nextInt(5) + "&size=10", null)
+                & get("browse.pg.detail", "/api/pg/" + id(random, dataset.pgs), null)
+                & get("browse.hostel.list", "/api/hostel?city=" + encode(city), null)
+                & get("browse.item.detail", "/api/item/" + id(random, dataset.items), null);
+    }
+
+    private boolean search(Session session, SplittableRandom random) {
+        String city = encode(Dataset.city(random.nextInt(Dataset.CITIES.size())));
+        int minPrice = 3000 + random.nextInt(50) * 100;
+        boolean ok = get("search.pg", "/api/pg?city=" + city + "&minPrice=" + minPrice + "&maxPrice=" + (minPrice + 6000)
+                        + "&ac=" + random.nextBoolean() + "&page=" + random.nextInt(3) + "&size=10", null)
+                & get("search.hostel", "/api/hostel?city=" + city + "&gender=girls&maxFees=" + (4000 + random.nextInt(60) * 100), null)
+                & get("search.item", "/api/item?city=" + city + "&category=books&search=used", null);
+
+        String body = "{\"address\":\"Sector " + random.nextInt(30) + ", " + Dataset.city(random.nextInt(10)) + "\","
+                + "\"destinationCoordinates\":{\"lat\":" + (18 + random.nextDouble() * 10) + ",\"lng\":" + (72 + random.nextDouble() * 6) + "}}";
+        return ok & send("search.distance", json("/api/distance/calculate", body, session.studentToken));
+    }
+
+    private boolean chat(Session session, SplittableRandom random) {
+        long pg = Dataset.pgDiscussedBy(session.studentId, random.nextInt(3), dataset.pgs);
+        long broker = Dataset.brokerOfPg(pg, dataset.users);
+        String body = "{\"receiverId\":" + broker + ",\"content\":\"Is PG #" + pg + " still available?\","
+                + "\"relatedTo\":{\"type\":\"pg\",\"id\":" + pg + "}}";
+        return send("chat.send", json("/api/message", body, session.studentToken))
+                & get("chat.thread", "/api/message/" + broker, session.studentToken)
+                & get("chat.conversations", "/api/message/conversations", session.studentToken)
+                & get("chat.unread", "/api/message/unread-count", session.studentToken);
+    }
+
+    // Geo endpoints (geocode and route block on Nominatim/OSRM, validate-location
+    // only outside geo.water.coverage); not in the default mix. Use e.g. --mix geo=100 with a high
+    // --stub-latency-ms to saturate request threads.
+    private boolean geo(Session session, SplittableRandom random) {
+        String city = Dataset.city(random.nextInt(Dataset.CITIES.size()));
+        double lat = 18 + random.nextDouble() * 10;
+        double lng = 72 + random.nextDouble() * 6;
+        String address = "{\"address\":\"Sector " + random.nextInt(30) + "\",\"city\":\"" + city + "\"}";
+        String point = "{\"lat\":" + lat + ",\"lng\":" + lng + "}";
+        String route = "{\"originCoordinates\":" + point + ",\"destinationCoordinates\":{\"lat\":" + (lat + 0.05)
+                + ",\"lng\":" + (lng + 0.05) + "}}";
+        return send("geo.geocode", json("/api/distance/geocode", address, session.studentToken))
+                & send("geo.validate", json("/api/distance/validate-location", point, session.studentToken))
+                & send("geo.route", json("/api/distance/calculate", route, session.studentToken));
+    }
+
+    private boolean upload(Session session, SplittableRandom random) throws IOException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(imageBytes + 2048);
+        String city = Dataset.city(random.nextInt(Dataset.CITIES.size()));
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", "Load test PG " + random.nextInt(1_000_000));
+        fields.put("location", "Sector " + random.nextInt(30) + ", " + city);
+        fields.put("city", city);
+        fields.put("collegeName", city + " Institute of Technology");
+        fields.put("sharingType", "double");
+        fields.put("bedrooms", "2");
+        fields.put("bathrooms", "1");
+        fields.put("price", Integer.toString(4000 + random.nextInt(60) * 100));
+        fields.put("latitude", Double.toString(18 + random.nextDouble() * 10));
+        fields.put("longitude", Double.toString(72 + random.nextDouble() * 6));
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+                    + "\"\r\n\r\n" + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"images\"; filename=\"room.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(image);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/pg"))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + session.brokerToken)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return send("upload.pg", request);
+    }
+
+    // --- plumbing ----------------------------------------------------------
+
+    private List<Session> login() {
+        List<Session> sessions = new ArrayList<>(vus);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Session>> futures = new ArrayList<>();
+            for (int i = 0; i < vus; i++) {
+                long seed = (long) i * 7919 % dataset.users + 1;
+                futures.add(executor.submit(() -> {
+                    long student = Dataset.withRole(seed, "student", dataset.users);
+                    long broker = Dataset.withRole(seed + 3, "broker", dataset.users);
+                    return new Session(student, token(student), token(broker));
+                }));
+            }
+            for (Future<Session> future : futures) {
+                sessions.add(future.get());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Login failed; is the dataset seeded and the backend running with "
+                    + "the loadtest profile? " + e.getMessage(), e);
+        }
+        return sessions;
+    }
+
+    private String token(long userId) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + Dataset.email(userId) + "\",\"password\":\"" + Dataset.PASSWORD + "\"}";
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(json("/api/auth/login", body, null), HttpResponse.BodyHandlers.ofString());
+        report.record("auth.login", (System.nanoTime() - start) / 1000, response.statusCode() == 200);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login for " + Dataset.email(userId) + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.path("token").asText();
+    }
+
+    private boolean get(String name, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return send(name, builder.build());
+    }
+
+    private HttpRequest json(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private boolean send(String name, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (measuring) {
+            report.record(name, (System.nanoTime() - start) / 1000, ok);
+        }
+        return ok;
+    }
+
+    private String pick(SplittableRandom random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int r = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            if (r < weights[i]) {
+                return SCENARIOS.get(i);
+            }
+            r -= weights[i];
+        }
+        return SCENARIOS.get(0);
+    }
+
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[SCENARIOS.size()];
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            int index = SCENARIOS.indexOf(kv[0]);
+            if (index < 0 || kv.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry '" + part + "', expected e.g. browse=50,search=30,chat=15,upload=5");
+            }
+            weights[index] = Integer.parseInt(kv[1]);
+        }
+        return weights;
+    }
+
+    private static long id(SplittableRandom random, long max) {
+        return random.nextLong(Math.max(max, 1)) + 1;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private record Session(long studentId, String studentToken, String brokerToken) {}
+}
@@ -0,0 +1,93 @@
+package com.studenthelper.loadtest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Entry point for the load-test harness.
+ *
+ * <pre>
+ * # 1. start stubs for Nominatim, OSRM, Google, Cloudinary and SMTP (leave running)
+ * mvn -Ploadtest verify -Dloadtest.args="stubs --stub-latency-ms 40"
+ *
+ * # 2. start the backend against the stubs and the loadtest database (creates the schema)
+ * SPRING_PROFILES_ACTIVE=loadtest mvn spring-boot:run
+ *
+ * # 3. seed, e.g. 100k listings and 1M messages
+ * mvn -Ploadtest verify -Dloadtest.args="seed --listings 100000 --messages 1000000 --db-password secret"
+ *
+ * # 4. run and report p50/p95/p99 + throughput to target/loadtest/report.{md,json}
+ * mvn -Ploadtest verify -Dloadtest.args="run --vus 100 --duration 120s --slo-p99-ms 800"
+ * </pre>
+ *
+ * Exit code 2 means an SLO was violated, so the run can gate a pipeline.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] argv) throws Exception {
+        String command = argv.length > 0 ? argv[0] : "help";
+        Args args = new Args(argv, Math.min(1, argv.length));
+        Path dir = Path.of(args.get("report-dir", "target/loadtest"));
+        Path manifest = Path.of(args.get("dataset", dir.resolve("dataset.properties").toString()));
+
+        switch (command) {
+            case "seed" -> new DataSeeder(args).run(manifest);
+            case "stubs" -> {
+                StubServers stubs = new StubServers(args);
+                stubs.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(stubs::stop));
+                Thread.currentThread().join();
+            }
+            case "run" -> System.exit(run(args, dir, manifest));
+            default -> usage();
+        }
+    }
+
+    private static int run(Args args, Path dir, Path manifest) throws Exception {
+        StubServers stubs = null;
+        if (args.has("with-stubs")) {
+            stubs = new StubServers(args);
+            stubs.start();
+        }
+        try {
+            LoadDriver driver = new LoadDriver(args, Dataset.read(manifest));
+            LatencyReport report = driver.run();
+            report.print();
+            report.write(dir, driver.settings());
+            System.out.println("\nReport written to " + dir.toAbsolutePath().resolve("report.md"));
+
+            List<String> violations = report.violations(
+                    args.getDouble("slo-p95-ms", 0),
+                    args.getDouble("slo-p99-ms", 0),
+                    args.getDouble("max-error-rate", 0.01));
+            if (!violations.isEmpty()) {
+                System.out.println("\nSLO violations:");
+                violations.forEach(v -> System.out.println("  " + v));
+                return 2;
+            }
+            return 0;
+        } finally {
+            if (stubs != null) {
+                stubs.stop();
+            }
+        }
+    }
+
+    private static void usage() {
+        System.out.println("""
+                Usage: LoadTestMain <command> [options]
+
+                  seed   --jdbc-url URL --db-user U --db-password P --users N --listings N
+                         [--pgs N --hostels N --items N] --messages N --payments N --batch N --seed N [--force]
+                  stubs  --stub-port 8089 --smtp-port 2525 --stub-latency-ms 40
+                  run    --base-url http://localhost:5000 --vus 50 [--rate SCENARIOS_PER_SEC]
+                         --warmup 15s --duration 60s --think-ms 0 --timeout 30s --image-kb 64
+                         --mix browse=50,search=30,chat=15,upload=5,geo=0
+                         --slo-p95-ms MS --slo-p99-ms MS --max-error-rate 0.01 [--with-stubs]
+
+                  Common: --report-dir target/loadtest --dataset target/loadtest/dataset.properties
+                """);
+    }
+}
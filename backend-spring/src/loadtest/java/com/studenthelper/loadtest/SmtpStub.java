@@ -0,0 +1,103 @@
+package com.studenthelper.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accept-everything SMTP server: speaks just enough of RFC 5321 for JavaMail
+ * (EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT) and discards the messages.
+ */
+final class SmtpStub {
+
+    private final int port;
+    private final AtomicLong messages = new AtomicLong();
+    private ServerSocket server;
+
+    SmtpStub(int port) {
+        this.port = port;
+    }
+
+    void start() {
+        try {
+            server = new ServerSocket(port);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot bind SMTP stub to port " + port, e);
+        }
+        Thread.ofVirtual().name("smtp-stub-accept").start(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread.ofVirtual().start(() -> session(socket));
+                } catch (IOException e) {
+                    if (!server.isClosed()) {
+                        System.err.println("SMTP stub accept failed: " + e);
+                    }
+                }
+            }
+        });
+    }
+
+    void stop() {
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException ignored) {
+            // shutting down
+        }
+    }
+
+    int getPort() {
+        return server != null ? server.getLocalPort() : port;
+    }
+
+    long getMessageCount() {
+        return messages.get();
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            reply(out, "220 loadtest ESMTP stub");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO" -> {
+                        out.print("250-loadtest\r\n");
+                        reply(out, "250 8BITMIME");
+                    }
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard body
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
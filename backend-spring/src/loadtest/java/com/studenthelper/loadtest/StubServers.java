@@ -0,0 +1,221 @@
+package com.studenthelper.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-ins for every third-party API the backend calls, served from one port:
+ * <ul>
+ *   <li>{@code /nominatim/search}, {@code /nominatim/reverse}</li>
+ *   <li>{@code /osrm/route/v1/driving/...}</li>
+ *   <li>{@code /google/oauth2/v3/certs}: the JWKS for a key pair generated at
+ *       startup; {@code /google/token?email=...} mints an ID token signed with
+ *       it, for exercising Google sign-in by hand</li>
+ *   <li>{@code /cloudinary/v1_1/{cloud}/{resource}/upload}</li>
+ * </ul>
+ * Each response is delayed by a configurable latency with jitter so blocking
+ * calls in the backend hold threads the way the real services would.
+ */
+final class StubServers {
+
+    private final HttpServer http;
+    private final SmtpStub smtp;
+    private final long latencyMs;
+    private final Map<String, AtomicLong> counts = new HashMap<>();
+    private final KeyPair googleKey;
+
+    StubServers(Args args) throws IOException {
+        int port = args.getInt("stub-port", 8089);
+        this.latencyMs = args.getLong("stub-latency-ms", 40);
+        this.http = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.smtp = new SmtpStub(args.getInt("smtp-port", 2525));
+        this.googleKey = generateRsaKey();
+
+        route("/nominatim/search", this::search);
+        route("/nominatim/reverse", this::reverse);
+        route("/osrm/route/v1/driving/", this::route);
+        route("/google/oauth2/v3/certs", this::certs);
+        route("/google/token", this::token);
+        route("/cloudinary/", this::upload);
+    }
+
+    void start() {
+        http.start();
+        smtp.start();
+        System.out.printf("Stub HTTP on :%d (latency %dms), SMTP on :%d%n",
+                http.getAddress().getPort(), latencyMs, smtp.getPort());
+    }
+
+    void stop() {
+        http.stop(0);
+        smtp.stop();
+        counts.forEach((path, count) -> System.out.printf("  %-32s %,d calls%n", path, count.get()));
+        System.out.printf("  %-32s %,d messages%n", "smtp", smtp.getMessageCount());
+    }
+
+    private void route(String path, Handler handler) {
+        AtomicLong count = new AtomicLong();
+        counts.put(path, count);
+        http.createContext(path, exchange -> {
+            try (exchange) {
+                count.incrementAndGet();
+                drain(exchange.getRequestBody());
+                simulateLatency();
+                byte[] body = handler.handle(exchange).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (Exception e) {
+                System.err.println("Stub " + path + " failed: " + e);
+            }
+        });
+    }
+
+    private String search(HttpExchange exchange) {
+        String query = query(exchange).getOrDefault("q", "Ahmedabad");
+        double[] point = pointFor(query);
+        return "[{\"lat\":\"" + point[0] + "\",\"lon\":\"" + point[1] + "\",\"display_name\":\""
+                + escape(query) + ", Gujarat, India\"}]";
+    }
+
+    private String reverse(HttpExchange exchange) {
+        Map<String, String> params = query(exchange);
+        return "{\"display_name\":\"Stub Road, near " + params.get("lat") + "," + params.get("lon") + ", India\"}";
+    }
+
+    private String route(HttpExchange exchange) {
+        // /osrm/route/v1/driving/{lng1},{lat1};{lng2},{lat2}
+        String path = exchange.getRequestURI().getPath();
+        String[] points = path.substring(path.lastIndexOf('/') + 1).split(";");
+        String[] a = points[0].split(",");
+        String[] b = points[1].split(",");
+        double meters = haversineMeters(Double.parseDouble(a[1]), Double.parseDouble(a[0]),
+                Double.parseDouble(b[1]), Double.parseDouble(b[0])) * 1.3;
+        double seconds = meters / 8.0;
+        return "{\"code\":\"Ok\",\"routes\":[{\"distance\":" + meters + ",\"duration\":" + seconds + "}]}";
+    }
+
+    private String certs(HttpExchange exchange) {
+        exchange.getResponseHeaders().set("Cache-Control", "public, max-age=21600, must-revalidate, no-transform");
+        RSAPublicKey key = (RSAPublicKey) googleKey.getPublic();
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"loadtest\",\"n\":\""
+                + base64.encodeToString(unsigned(key.getModulus())) + "\",\"e\":\""
+                + base64.encodeToString(unsigned(key.getPublicExponent())) + "\"}]}";
+    }
+
+    private String token(HttpExchange exchange) {
+        String email = query(exchange).getOrDefault("email", "google-user@loadtest.local");
+        Instant now = Instant.now();
+        String idToken = Jwts.builder()
+                .header().keyId("loadtest").and()
+                .issuer("https://accounts.google.com")
+                .audience().add("loadtest").and()
+                .subject(String.valueOf(Math.abs(email.hashCode())))
+                .claim("email", email)
+                .claim("email_verified", true)
+                .claim("name", "Google Load User")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith(googleKey.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+        return "{\"id_token\":\"" + idToken + "\"}";
+    }
+
+    private String upload(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String resource = path.contains("/video/") ? "video" : "image";
+        String publicId = "student-helper/loadtest/" + UUID.randomUUID();
+        return "{\"public_id\":\"" + publicId + "\",\"resource_type\":\"" + resource
+                + "\",\"secure_url\":\"https://res.cloudinary.com/loadtest/" + resource + "/upload/" + publicId + ".jpg\"}";
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMs > 0) {
+            long jitter = ThreadLocalRandom.current().nextLong(Math.max(latencyMs / 2, 1));
+            Thread.sleep(latencyMs - latencyMs / 4 + jitter);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static double[] pointFor(String text) {
+        int h = text.hashCode();
+        return new double[] {18 + Math.floorMod(h, 1000) / 100.0, 72 + Math.floorMod(h >> 10, 600) / 100.0};
+    }
+
+    private static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 6_371_000 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static KeyPair generateRsaKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        String handle(HttpExchange exchange) throws IOException;
+    }
+}
@@ -0,0 +1,38 @@
+package com.studenthelper.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single invalidation broadcast to every node: the cache region (listing type
+ * or {@code user}), the entity id and, for listings, the cities whose search
+ * results must be dropped. Revocations also carry the time they were made, so
+ * every node applies the same cutoff rather than the time the message arrived.
+ */
+public class CacheInvalidation {
+
+    private String region;
+    private Long id;
+    private List<String> cities = new ArrayList<>();
+    private Long timestamp;
+    private String origin;
+
+    public CacheInvalidation() {}
+
+    public CacheInvalidation(String region, Long id, List<String> cities) {
+        this.region = region;
+        this.id = id;
+        this.cities = cities;
+    }
+
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public List<String> getCities() { return cities; }
+    public void setCities(List<String> cities) { this.cities = cities; }
+    public Long getTimestamp() { return timestamp; }
+    public void setTimestamp(Long timestamp) { this.timestamp = timestamp; }
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+}
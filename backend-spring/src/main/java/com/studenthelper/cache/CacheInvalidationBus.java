@@ -0,0 +1,12 @@
+package com.studenthelper.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel that fans cache invalidations out to every backend instance.
+ * Publishing always applies the invalidation locally first.
+ */
+public interface CacheInvalidationBus {
+    void publish(CacheInvalidation invalidation);
+    void register(String region, Consumer<CacheInvalidation> handler);
+}
@@ -0,0 +1,194 @@
+package com.studenthelper.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studenthelper.dto.HostelResponse;
+import com.studenthelper.dto.ItemResponse;
+import com.studenthelper.dto.PGResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of mapped listing DTOs keyed by id. Writes go through
+ * {@link #invalidate(String, Long, String...)} which also drops the serialized
+ * detail response held by {@link ResponseCache} and bumps the search result
+ * version for the affected cities. Invalidations travel over the
+ * {@link CacheInvalidationBus} so every instance drops its copy.
+ *
+ * <p>Search results are written through with a {@link #stamp()} taken before
+ * the query; if any listing was invalidated since, the written DTOs are taken
+ * back out, as they may predate the write.
+ */
+@Component
+public class ListingCache implements MeterBinder {
+
+    private final ResponseCache responseCache;
+    private final SearchResultCache searchResultCache;
+
+    private final Cache<Long, PGResponse> pgs;
+    private final Cache<Long, HostelResponse> hostels;
+    private final Cache<Long, ItemResponse> items;
+
+    private final CacheInvalidationBus bus;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ListingCache(
+            ResponseCache responseCache,
+            SearchResultCache searchResultCache,
+            CacheInvalidationBus bus,
+            @Value("${cache.listing.max-entries:10000}") long maxEntries,
+            @Value("${cache.listing.ttl-seconds:300}") long ttlSeconds) {
+        this.responseCache = responseCache;
+        this.searchResultCache = searchResultCache;
+        this.pgs = build(maxEntries, ttlSeconds);
+        this.hostels = build(maxEntries, ttlSeconds);
+        this.items = build(maxEntries, ttlSeconds);
+        this.bus = bus;
+        for (String type : List.of(ResponseCache.PG, ResponseCache.HOSTEL, ResponseCache.ITEM)) {
+            bus.register(type, this::apply);
+        }
+    }
+
+    public PGResponse getPG(Long id, Function<Long, PGResponse> loader) {
+        return pgs.get(id, loader);
+    }
+
+    public HostelResponse getHostel(Long id, Function<Long, HostelResponse> loader) {
+        return hostels.get(id, loader);
+    }
+
+    // Loader may return null (unknown id); Caffeine does not store null values.
+    public ItemResponse getItem(Long id, Function<Long, ItemResponse> loader) {
+        return items.get(id, loader);
+    }
+
+    public List<PGResponse> getPGs(List<Long> ids, Function<List<Long>, Map<Long, PGResponse>> loader) {
+        return inOrder(ids, pgs.getAll(ids, missing -> loader.apply(List.copyOf(missing))));
+    }
+
+    public List<HostelResponse> getHostels(List<Long> ids, Function<List<Long>, Map<Long, HostelResponse>> loader) {
+        return inOrder(ids, hostels.getAll(ids, missing -> loader.apply(List.copyOf(missing))));
+    }
+
+    public List<ItemResponse> getItems(List<Long> ids, Function<List<Long>, Map<Long, ItemResponse>> loader) {
+        return inOrder(ids, items.getAll(ids, missing -> loader.apply(List.copyOf(missing))));
+    }
+
+    /** Take before running a query whose results are passed to a put method. */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void putPGs(long stamp, List<PGResponse> responses) {
+        putAll(pgs, stamp, responses, PGResponse::getId);
+    }
+
+    public void putHostels(long stamp, List<HostelResponse> responses) {
+        putAll(hostels, stamp, responses, HostelResponse::getId);
+    }
+
+    public void putItems(long stamp, List<ItemResponse> responses) {
+        putAll(items, stamp, responses, ItemResponse::getId);
+    }
+
+    private <V> void putAll(Cache<Long, V> cache, long stamp, List<V> responses, Function<V, Long> id) {
+        if (invalidations.get() != stamp) {
+            return;
+        }
+        responses.forEach(r -> cache.put(id.apply(r), r));
+        // apply() counts before it invalidates: either we see its count here,
+        // or its invalidate runs after our puts and removes them itself
+        if (invalidations.get() != stamp) {
+            responses.forEach(r -> cache.asMap().remove(id.apply(r), r));
+        }
+    }
+
+    /**
+     * Drops the cached DTO and detail response for a listing and invalidates
+     * searches in the given cities (pass both old and new city on updates).
+     */
+    public void invalidate(String type, Long id, String... cities) {
+        List<String> affected = new ArrayList<>(cities.length);
+        for (String city : cities) {
+            if (city != null && !city.isBlank()) {
+                affected.add(city);
+            }
+        }
+        bus.publish(new CacheInvalidation(type, id, affected));
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        String type = invalidation.getRegion();
+        Long id = invalidation.getId();
+        if (id != null) {
+            invalidations.incrementAndGet();
+            switch (type) {
+                case ResponseCache.PG -> pgs.invalidate(id);
+                case ResponseCache.HOSTEL -> hostels.invalidate(id);
+                case ResponseCache.ITEM -> items.invalidate(id);
+                default -> throw new IllegalArgumentException("Unknown listing type: " + type);
+            }
+            responseCache.evict(type, id);
+        }
+        searchResultCache.bump(type, invalidation.getCities().toArray(new String[0]));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pgs, "listing.pg");
+        CaffeineCacheMetrics.monitor(registry, hostels, "listing.hostel");
+        CaffeineCacheMetrics.monitor(registry, items, "listing.item");
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(ResponseCache.PG, describe(pgs));
+        stats.put(ResponseCache.HOSTEL, describe(hostels));
+        stats.put(ResponseCache.ITEM, describe(items));
+        stats.put("responses", responseCache.stats());
+        stats.put("searches", searchResultCache.stats());
+        return stats;
+    }
+
+    private static <V> List<V> inOrder(List<Long> ids, Map<Long, V> found) {
+        List<V> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            V value = found.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+
+    private static <V> Cache<Long, V> build(long maxEntries, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.studenthelper.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM bus for single-instance deployments; also the dispatcher the network
+ * bus delegates to when applying invalidations received from peers.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+    private final Map<String, List<Consumer<CacheInvalidation>>> handlers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        apply(invalidation);
+    }
+
+    @Override
+    public void register(String region, Consumer<CacheInvalidation> handler) {
+        handlers.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        List<Consumer<CacheInvalidation>> regionHandlers = handlers.get(invalidation.getRegion());
+        if (regionHandlers == null) {
+            logger.debug("No cache registered for region {}", invalidation.getRegion());
+            return;
+        }
+        for (Consumer<CacheInvalidation> handler : regionHandlers) {
+            handler.accept(invalidation);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.studenthelper.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studenthelper.dto.ApiResponse;
+import com.studenthelper.util.ResponseFormats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON body of listing detail responses (PG, hostel, item)
+ * together with a strong ETag and Last-Modified value derived from id + updatedAt.
+ * Entries are evicted by the services whenever a listing is updated, deleted or
+ * changes status. Loading goes through the cache's atomic compute, so an
+ * eviction issued while a load is in flight waits for it and then removes the
+ * result; a reader that fetched the listing before an update can't put the old
+ * bytes back afterwards. CBOR and Smile bodies for clients that ask for them are
+ * transcoded from the JSON on first use and kept on the entry, as is a gzipped
+ * copy of each encoding: Tomcat's server.compression leaves responses with a
+ * strong ETag alone, so these are compressed here, once per entry.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+    public static final String PG = "pg";
+    public static final String HOSTEL = "hostel";
+    public static final String ITEM = "item";
+
+    private final ObjectMapper objectMapper;
+    private final ResponseFormats responseFormats;
+    private final Cache<String, CachedResponse> cache;
+    // -1 when server.compression is off
+    private final long minGzipSize;
+
+    public ResponseCache(
+            ObjectMapper objectMapper,
+            ResponseFormats responseFormats,
+            @Value("${cache.response.max-entries:5000}") long maxEntries,
+            @Value("${cache.response.ttl-seconds:600}") long ttlSeconds,
+            @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.objectMapper = objectMapper;
+        this.responseFormats = responseFormats;
+        this.minGzipSize = compressionEnabled ? minResponseSize.toBytes() : -1;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached response, serializing what {@code loader} returns on a
+     * miss. Null when the loader returns null (unknown id); nothing is cached then.
+     */
+    public <T> CachedResponse get(String type, Long id, Function<Long, T> loader,
+                                  Function<T, LocalDateTime> updatedAt) {
+        return cache.get(key(type, id), key -> {
+            T data = loader.apply(id);
+            return data != null ? serialize(type, id, data, updatedAt.apply(data)) : null;
+        });
+    }
+
+    private CachedResponse serialize(String type, Long id, Object data, LocalDateTime updatedAt) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + type + " " + id, e);
+        }
+
+        long lastModified = updatedAt != null
+                ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        String etag = "\"" + type + "-" + id + "-" + Long.toHexString(Math.max(lastModified, 0)) + "\"";
+
+        return new CachedResponse(body, etag, lastModified);
+    }
+
+    public void evict(String type, Long id) {
+        if (id != null) {
+            cache.invalidate(key(type, id));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "listing.responses");
+    }
+
+    public Map<String, Object> stats() {
+        return ListingCache.describe(cache);
+    }
+
+    /**
+     * Answers a conditional GET with 304 when the client already holds the current
+     * representation, otherwise writes the pre-serialized bytes in the encoding
+     * the Accept header asks for, gzipped when the client accepts it and the body
+     * reaches server.compression.min-response-size.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, CachedResponse entry) {
+        ResponseFormats.Format format = responseFormats.select(request);
+        byte[] body = body(entry, format);
+        boolean gzip = minGzipSize >= 0 && body.length >= minGzipSize && acceptsGzip(request);
+        String etag = entry.getEtag(format, gzip);
+        boolean notModified = entry.getLastModified() > 0
+                ? request.checkNotModified(etag, entry.getLastModified())
+                : request.checkNotModified(etag);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache());
+        if (entry.getLastModified() > 0) {
+            builder.lastModified(entry.getLastModified());
+        }
+        if (notModified) {
+            return builder.build();
+        }
+        builder.contentType(format.getMediaType());
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped(entry, format, body));
+        }
+        return builder.body(body);
+    }
+
+    private byte[] body(CachedResponse entry, ResponseFormats.Format format) {
+        byte[] body = entry.encoded.get(format.ordinal());
+        if (body == null) {
+            // Racing requests may both transcode; the results are identical
+            body = responseFormats.transcode(entry.getBody(), format);
+            entry.encoded.set(format.ordinal(), body);
+        }
+        return body;
+    }
+
+    private byte[] gzipped(CachedResponse entry, ResponseFormats.Format format, byte[] body) {
+        byte[] gzipped = entry.gzipped.get(format.ordinal());
+        if (gzipped == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to compress cached response", e);
+            }
+            gzipped = out.toByteArray();
+            entry.gzipped.set(format.ordinal(), gzipped);
+        }
+        return gzipped;
+    }
+
+    // Same rule as Tomcat's compression: a gzip coding that isn't refused with q=0
+    private static boolean acceptsGzip(WebRequest request) {
+        String[] values = request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String[] params = coding.split(";");
+                String name = params[0].trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equalsIgnoreCase("x-gzip")) {
+                    continue;
+                }
+                boolean refused = false;
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                        try {
+                            refused = Double.parseDouble(param.substring(2)) <= 0;
+                        } catch (NumberFormatException e) {
+                            refused = true;
+                        }
+                    }
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    public static class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+        private final long lastModified;
+        private final AtomicReferenceArray<byte[]> encoded = new AtomicReferenceArray<>(ResponseFormats.Format.values().length);
+        private final AtomicReferenceArray<byte[]> gzipped = new AtomicReferenceArray<>(ResponseFormats.Format.values().length);
+
+        public CachedResponse(byte[] body, String etag, long lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            encoded.set(ResponseFormats.Format.JSON.ordinal(), body);
+        }
+
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+        public long getLastModified() { return lastModified; }
+
+        /** A gzipped body is another representation too, so it gets its own strong ETag ("...-gzip"). */
+        public String getEtag(ResponseFormats.Format format, boolean gzip) {
+            String suffix = gzip ? format.getEtagSuffix() + "-gzip" : format.getEtagSuffix();
+            return suffix.isEmpty()
+                    ? etag
+                    : etag.substring(0, etag.length() - 1) + suffix + "\"";
+        }
+    }
+}
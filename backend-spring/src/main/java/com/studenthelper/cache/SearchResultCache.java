@@ -0,0 +1,109 @@
+package com.studenthelper.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the ids and total count of listing search pages. Every key embeds a
+ * version stamp for the searched city (or the type-wide stamp when no city is
+ * given), so a write in a city only needs to bump two counters; stale pages
+ * become unreachable and age out of the bounded cache. Counters are created
+ * by writes only: searching a city nobody has written to reads version 0
+ * without adding an entry, so arbitrary city strings can't grow the map.
+ */
+@Component
+public class SearchResultCache implements MeterBinder {
+
+    private static final String ANY_CITY = "*";
+
+    private final Cache<String, CachedPage> cache;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public SearchResultCache(
+            @Value("${cache.search.max-ids:200000}") long maxIds,
+            @Value("${cache.search.ttl-seconds:120}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxIds)
+                .weigher((String key, CachedPage page) -> page.getIds().size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Builds the cache key. Must be called before running the query so that a
+     * write racing with the query stores its result under an already-stale stamp.
+     */
+    public String key(String type, String city, String normalizedFilters, Pageable pageable) {
+        String stampKey = stampKey(type, city);
+        AtomicLong counter = versions.get(stampKey);
+        long version = counter == null ? 0 : counter.get();
+        return stampKey + "@" + version + "|" + normalizedFilters
+                + "|p=" + pageable.getPageNumber()
+                + "|s=" + pageable.getPageSize()
+                + "|o=" + pageable.getSort();
+    }
+
+    public CachedPage get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, List<Long> ids, long total) {
+        cache.put(key, new CachedPage(List.copyOf(ids), total));
+    }
+
+    /**
+     * Invalidates every cached search for the given cities plus all searches
+     * that were not restricted to a city.
+     */
+    public void bump(String type, String... cities) {
+        versions.computeIfAbsent(stampKey(type, null), k -> new AtomicLong()).incrementAndGet();
+        for (String city : cities) {
+            if (city != null && !city.isBlank()) {
+                versions.computeIfAbsent(stampKey(type, city), k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "listing.searches");
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = ListingCache.describe(cache);
+        stats.put("versions", versions.size());
+        return stats;
+    }
+
+    private String stampKey(String type, String city) {
+        String normalizedCity = city == null || city.isBlank() ? ANY_CITY : city.trim().toLowerCase(Locale.ROOT);
+        return type + ":" + normalizedCity;
+    }
+
+    public static class CachedPage {
+        private final List<Long> ids;
+        private final long total;
+
+        public CachedPage(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public long getTotal() { return total; }
+    }
+}
@@ -0,0 +1,208 @@
+package com.studenthelper.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Network bus for multi-instance deployments. Each node listens on
+ * {@code cache.invalidation.bind-address}:{@code cache.invalidation.port} and
+ * sends every invalidation as a small JSON datagram to the configured peers
+ * (host:port list, may include itself). Datagrams are fire-and-forget; cache
+ * TTLs remain the safety net for a lost packet. Runs fine on loopback with
+ * several ports for local testing.
+ *
+ * <p>Token revocations travel on this bus too, so a datagram is only applied
+ * when it comes from a peer's address and carries a valid HMAC-SHA256 of the
+ * JSON under {@code cache.invalidation.secret}, prepended as the first 32 bytes.
+ * Anything else is counted as rejected and dropped. The bind address should be
+ * this instance's private-network address. The secret is shared by every
+ * instance and is required in udp mode.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "udp")
+public class UdpCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UdpCacheInvalidationBus.class);
+    private static final int MAX_PACKET_SIZE = 8192;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int TAG_LENGTH = 32;
+
+    private final LocalCacheInvalidationBus local = new LocalCacheInvalidationBus();
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InetAddress bindAddress;
+    private final int port;
+    private final List<InetSocketAddress> peers = new ArrayList<>();
+    private final Set<InetAddress> peerAddresses = new HashSet<>();
+    private final SecretKeySpec key;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private DatagramSocket socket;
+    private Thread receiver;
+
+    public UdpCacheInvalidationBus(
+            ObjectMapper objectMapper,
+            @Value("${cache.invalidation.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${cache.invalidation.port:5701}") int port,
+            @Value("${cache.invalidation.peers:}") String peers,
+            @Value("${cache.invalidation.secret:}") String secret) throws IOException {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("cache.invalidation.secret must be set when cache.invalidation.mode=udp");
+        }
+        this.objectMapper = objectMapper;
+        this.bindAddress = InetAddress.getByName(bindAddress);
+        this.port = port;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        if (StringUtils.hasText(peers)) {
+            for (String peer : peers.split(",")) {
+                String trimmed = peer.trim();
+                int colon = trimmed.lastIndexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("Invalid cache.invalidation.peers entry: " + trimmed);
+                }
+                InetSocketAddress address = new InetSocketAddress(trimmed.substring(0, colon),
+                        Integer.parseInt(trimmed.substring(colon + 1)));
+                if (address.isUnresolved()) {
+                    throw new IllegalArgumentException("Unknown host in cache.invalidation.peers: " + trimmed);
+                }
+                this.peers.add(address);
+                this.peerAddresses.add(address.getAddress());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() throws SocketException {
+        socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        receiver = new Thread(this::receiveLoop, "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        logger.info("Cache invalidation bus listening on UDP {}:{} with {} peer(s)",
+                bindAddress.getHostAddress(), socket.getLocalPort(), peers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        local.apply(invalidation);
+
+        invalidation.setOrigin(nodeId);
+        byte[] payload;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(invalidation);
+            payload = new byte[TAG_LENGTH + json.length];
+            System.arraycopy(sign(json, 0, json.length), 0, payload, 0, TAG_LENGTH);
+            System.arraycopy(json, 0, payload, TAG_LENGTH, json.length);
+        } catch (IOException e) {
+            logger.error("Could not serialize cache invalidation for {}", invalidation.getRegion(), e);
+            return;
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+                sent.incrementAndGet();
+            } catch (IOException e) {
+                logger.warn("Failed to send cache invalidation to {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void register(String region, Consumer<CacheInvalidation> handler) {
+        local.register(region, handler);
+    }
+
+    public int getPort() {
+        return socket != null ? socket.getLocalPort() : port;
+    }
+
+    public long getSentCount() { return sent.get(); }
+    public long getReceivedCount() { return received.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (!authentic(packet)) {
+                    rejected.incrementAndGet();
+                    logger.debug("Rejected cache invalidation datagram from {}", packet.getSocketAddress());
+                    continue;
+                }
+                CacheInvalidation invalidation = objectMapper.readValue(packet.getData(),
+                        packet.getOffset() + TAG_LENGTH, packet.getLength() - TAG_LENGTH, CacheInvalidation.class);
+                if (nodeId.equals(invalidation.getOrigin())) {
+                    continue;
+                }
+                received.incrementAndGet();
+                local.apply(invalidation);
+            } catch (SocketException e) {
+                if (!socket.isClosed()) {
+                    logger.error("Cache invalidation socket error", e);
+                }
+            } catch (Exception e) {
+                logger.warn("Dropping malformed cache invalidation from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean authentic(DatagramPacket packet) {
+        if (!peerAddresses.contains(packet.getAddress()) || packet.getLength() <= TAG_LENGTH) {
+            return false;
+        }
+        byte[] data = packet.getData();
+        int offset = packet.getOffset();
+        byte[] expected = sign(data, offset + TAG_LENGTH, packet.getLength() - TAG_LENGTH);
+        return MessageDigest.isEqual(expected, Arrays.copyOfRange(data, offset, offset + TAG_LENGTH));
+    }
+
+    // Mac instances aren't thread-safe; invalidations are rare enough to make one per call
+    private byte[] sign(byte[] data, int offset, int length) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(data, offset, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
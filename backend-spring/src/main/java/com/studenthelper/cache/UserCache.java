@@ -0,0 +1,61 @@
+package com.studenthelper.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studenthelper.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals so JwtAuthenticationFilter does
+ * not load the user row on every request. Profile writes invalidate the entry
+ * on every node through the {@link CacheInvalidationBus}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    public static final String REGION = "user";
+
+    private final CacheInvalidationBus bus;
+    private final Cache<Long, User> users;
+
+    public UserCache(
+            CacheInvalidationBus bus,
+            @Value("${cache.user.max-entries:20000}") long maxEntries,
+            @Value("${cache.user.ttl-seconds:60}") long ttlSeconds) {
+        this.bus = bus;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        bus.register(REGION, invalidation -> users.invalidate(invalidation.getId()));
+    }
+
+    public User get(Long userId, Function<Long, User> loader) {
+        return users.get(userId, loader);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            bus.publish(new CacheInvalidation(REGION, userId, List.of()));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "users");
+    }
+
+    public Map<String, Object> stats() {
+        return ListingCache.describe(users);
+    }
+}
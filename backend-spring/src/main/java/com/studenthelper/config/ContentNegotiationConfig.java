@@ -0,0 +1,69 @@
+package com.studenthelper.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Binary encodings of the same response bodies for clients that ask for them
+ * (mobile apps): {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile}. JSON stays first in the converter
+ * list, so browsers and clients sending {@code *}{@code /*} or no Accept header
+ * are unaffected.
+ *
+ * <p>Spring MVC would register these converters by itself once the dataformat
+ * jars are present, but with a plain mapper; building them from Boot's
+ * Jackson2ObjectMapperBuilder keeps spring.jackson.* settings and modules (dates
+ * as ISO strings) identical across all three encodings.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * The body written by a Jackson converter now depends on Accept, so shared
+     * caches and the browser must key on it too. ResponseCache and StreamingJson
+     * set this themselves; this covers everything that returns a DTO.
+     */
+    @ControllerAdvice
+    static class VaryOnAccept implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            HttpHeaders headers = response.getHeaders();
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            return body;
+        }
+    }
+}
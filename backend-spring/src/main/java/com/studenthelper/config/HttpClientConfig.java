@@ -0,0 +1,122 @@
+package com.studenthelper.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Outbound HTTP for every integration. The Reactor Netty connector defined here
+ * is what Spring Boot's {@code WebClient.Builder} is built on, so the clients
+ * for Nominatim, OSRM and Google share one set of event-loop threads and one
+ * connection provider: pooled keep-alive connections per remote host, HTTP/2
+ * where the server negotiates it, connect and response timeouts, and pool
+ * metrics (reactor.netty.connection.provider.*) tagged by remote address.
+ * Response bodies are capped by {@code spring.codec.max-in-memory-size}.
+ *
+ * <p>Cloudinary's SDK only speaks Apache HttpClient 4, so it gets a pooled
+ * connection manager of its own (httpcomponents.httpclient.pool.*). Micrometer's
+ * binder for that pool is deprecated and its hc5 replacement only accepts an
+ * HttpClient 5 manager, which cloudinary-http44 can't use, so the same gauges
+ * are registered here from the pool's stats.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(Environment env) {
+        ConnectionProvider.Builder builder = pool(ConnectionProvider.builder("outbound"), env,
+                env.getProperty("http.client.max-connections", Integer.class, 100))
+                .metrics(true);
+
+        // Never hold more connections to an upstream than its policy lets calls run at once
+        perHost(builder, env, env.getProperty("geocoding.base-url", "https://nominatim.openstreetmap.org"),
+                env.getProperty("geocoding.max-concurrent", Integer.class, 16));
+        perHost(builder, env, env.getProperty("osrm.base-url", "http://router.project-osrm.org"),
+                env.getProperty("osrm.max-concurrent", Integer.class, 64));
+        return builder.build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector clientHttpConnector(ConnectionProvider outboundConnectionProvider, Environment env) {
+        HttpClient client = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, env.getProperty("http.client.connect-timeout-ms", Integer.class, 2000))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(env.getProperty("http.client.response-timeout-ms", Long.class, 10000L)))
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .compress(true)
+                // Only the first path segment (/search, /route, /oauth2) so coordinates don't become tags
+                .metrics(true, uri -> uri.replaceFirst("^(/[^/?]*).*", "$1"));
+        return new ReactorClientHttpConnector(client);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager cloudinaryConnectionManager(Environment env) {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
+                env.getProperty("http.client.max-idle-seconds", Long.class, 30L), TimeUnit.SECONDS);
+        int maxConnections = env.getProperty("cloudinary.max-connections", Integer.class, 20);
+        manager.setMaxTotal(maxConnections);
+        manager.setDefaultMaxPerRoute(maxConnections);
+        manager.setValidateAfterInactivity(2000);
+        return manager;
+    }
+
+    @Bean
+    public MeterBinder cloudinaryConnectionPoolMetrics(PoolingHttpClientConnectionManager cloudinaryConnectionManager) {
+        return registry -> {
+            poolGauge(registry, "httpcomponents.httpclient.pool.total.max", "The configured maximum number of allowed persistent connections for all routes.",
+                    cloudinaryConnectionManager, m -> m.getTotalStats().getMax(), null);
+            poolGauge(registry, "httpcomponents.httpclient.pool.total.connections", "The number of persistent and available connections for all routes.",
+                    cloudinaryConnectionManager, m -> m.getTotalStats().getAvailable(), "available");
+            poolGauge(registry, "httpcomponents.httpclient.pool.total.connections", "The number of persistent and leased connections for all routes.",
+                    cloudinaryConnectionManager, m -> m.getTotalStats().getLeased(), "leased");
+            poolGauge(registry, "httpcomponents.httpclient.pool.total.pending", "The number of connection requests being blocked awaiting a free connection for all routes.",
+                    cloudinaryConnectionManager, m -> m.getTotalStats().getPending(), null);
+            poolGauge(registry, "httpcomponents.httpclient.pool.route.max.default", "The configured default maximum number of allowed persistent connections per route.",
+                    cloudinaryConnectionManager, PoolingHttpClientConnectionManager::getDefaultMaxPerRoute, null);
+        };
+    }
+
+    private static void poolGauge(MeterRegistry registry, String name, String description,
+                                  PoolingHttpClientConnectionManager manager,
+                                  ToDoubleFunction<PoolingHttpClientConnectionManager> value, String state) {
+        Gauge.Builder<PoolingHttpClientConnectionManager> gauge = Gauge.builder(name, manager, value)
+                .description(description)
+                .tag("httpclient", "cloudinary");
+        if (state != null) {
+            gauge.tag("state", state);
+        }
+        gauge.register(registry);
+    }
+
+    /** Host-specific pools start from Reactor Netty's defaults, so every setting is applied to each. */
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> S pool(S spec, Environment env, int maxConnections) {
+        return spec.maxConnections(maxConnections)
+                .pendingAcquireMaxCount(env.getProperty("http.client.max-pending-acquires", Integer.class, 1000))
+                .pendingAcquireTimeout(Duration.ofMillis(env.getProperty("http.client.acquire-timeout-ms", Long.class, 5000L)))
+                .maxIdleTime(Duration.ofSeconds(env.getProperty("http.client.max-idle-seconds", Long.class, 30L)))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(30));
+    }
+
+    private static void perHost(ConnectionProvider.Builder builder, Environment env, String baseUrl, int maxConnections) {
+        URI uri = URI.create(baseUrl);
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80;
+        builder.forRemoteHost(InetSocketAddress.createUnresolved(uri.getHost(), port),
+                spec -> pool(spec, env, maxConnections));
+    }
+}
@@ -0,0 +1,21 @@
+package com.studenthelper.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on the Cloudinary client. OSRM and Nominatim
+     * requests are timed by {@code ExternalCallTimer} instead, as their callers
+     * may be answered from a cache or a fallback. Controllers are timed by
+     * Spring MVC's http.server.requests.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -1,8 +1,11 @@
 package com.studenthelper.config;
 
+import com.studenthelper.security.AdmissionControlFilter;
+import com.studenthelper.security.ApiRoutes;
 import com.studenthelper.security.JwtAuthenticationFilter;
 import com.studenthelper.security.CustomAuthenticationEntryPoint;
 import com.studenthelper.security.CustomAccessDeniedHandler;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,19 +13,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -32,6 +38,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AdmissionControlFilter admissionControlFilter;
+
+    @Autowired
+    private ApiRoutes apiRoutes;
+
     @Autowired
     private CustomAuthenticationEntryPoint authenticationEntryPoint;
 
@@ -41,9 +53,35 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:5173,http://localhost:3001}")
     private String allowedOrigins;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    /**
+     * Hashes new passwords with {@code security.password.algorithm} and stores
+     * them as {@code {id}hash}, so the algorithm or its cost can change without
+     * invalidating existing hashes; PasswordHasher upgrades them on login.
+     * Hashes written before the prefix existed are plain bcrypt.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${security.password.bcrypt.strength:10}") int bcryptStrength,
+            @Value("${security.password.argon2.memory-kb:19456}") int argon2MemoryKb,
+            @Value("${security.password.argon2.iterations:2}") int argon2Iterations,
+            @Value("${security.password.argon2.parallelism:1}") int argon2Parallelism) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKb, argon2Iterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("security.password.algorithm must be one of " + encoders.keySet());
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -58,28 +96,39 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/health").permitAll()
-                .requestMatchers("/api/distance/geocode").permitAll()
-                .requestMatchers("/api/distance/validate-location").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/pg").permitAll() // Allow public access to list PGs
-                .requestMatchers(HttpMethod.GET, "/api/pg/*").permitAll() // Allow public access to view individual PG
-                .requestMatchers(HttpMethod.GET, "/api/hostel").permitAll() // Allow public access to list hostels
-                .requestMatchers(HttpMethod.GET, "/api/hostel/*").permitAll() // Allow public access to view individual hostel
-                .requestMatchers(HttpMethod.GET, "/api/item").permitAll() // Allow public access to list items
-                .requestMatchers(HttpMethod.GET, "/api/item/**").permitAll() // Allow public access to view individual item and any sub-paths
-                .requestMatchers("/api/payment/verify").permitAll() // Allow payment webhook verification
+                // Mono/Flux and streaming responses complete on an ASYNC dispatch; the REQUEST dispatch was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Public and optional-token routes, from the same table JwtAuthenticationFilter reads
+                .requestMatchers(apiRoutes.permitted()).permitAll()
+                .requestMatchers(actuatorOnManagementPort()).permitAll()
                 .anyRequest().authenticated()
             )
             .exceptionHandling(exceptions -> exceptions
                 .authenticationEntryPoint(authenticationEntryPoint)
                 .accessDeniedHandler(accessDeniedHandler)
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rate and concurrency limits, once the JWT filter has identified the caller
+            .addFilterAfter(admissionControlFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Actuator requests arriving on management.server.port, which is bound to an
+     * internal address (MANAGEMENT_ADDRESS, the interface the scraper reaches)
+     * and never published through the load balancer. Matches nothing when
+     * actuator shares the application port, so its endpoints are never
+     * anonymous there.
+     */
+    private RequestMatcher actuatorOnManagementPort() {
+        if (managementPort <= 0 || managementPort == serverPort) {
+            return request -> false;
+        }
+        return request -> request.getLocalPort() == managementPort
+                && ApiRoutes.path(request).startsWith("/actuator/");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
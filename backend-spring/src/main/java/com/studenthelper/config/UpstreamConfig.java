@@ -0,0 +1,88 @@
+package com.studenthelper.config;
+
+import com.studenthelper.util.UpstreamLimiter;
+import com.studenthelper.util.UpstreamPolicy;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Call policies for the third-party APIs behind GeocodingUtil (Nominatim) and
+ * DistanceUtil (OSRM). Each reads {@code <prefix>.max-concurrent},
+ * {@code .max-queued}, {@code .timeout-ms}, {@code .rate-limit.*} and
+ * {@code .circuit.*}; see application.properties.
+ */
+@Configuration
+public class UpstreamConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public RateLimiterRegistry rateLimiterRegistry() {
+        return RateLimiterRegistry.ofDefaults();
+    }
+
+    /**
+     * resilience4j.circuitbreaker.* (state, calls, not_permitted) and
+     * resilience4j.ratelimiter.* (available permissions, waiting threads).
+     */
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakers) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers);
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiterRegistry rateLimiters) {
+        return TaggedRateLimiterMetrics.ofRateLimiterRegistry(rateLimiters);
+    }
+
+    @Bean
+    public UpstreamPolicy nominatimPolicy(Environment env, CircuitBreakerRegistry circuitBreakers, RateLimiterRegistry rateLimiters) {
+        return policy("nominatim", "geocoding", env, circuitBreakers, rateLimiters);
+    }
+
+    @Bean
+    public UpstreamPolicy osrmPolicy(Environment env, CircuitBreakerRegistry circuitBreakers, RateLimiterRegistry rateLimiters) {
+        return policy("osrm", "osrm", env, circuitBreakers, rateLimiters);
+    }
+
+    private UpstreamPolicy policy(String name, String prefix, Environment env,
+                                  CircuitBreakerRegistry circuitBreakers, RateLimiterRegistry rateLimiters) {
+        UpstreamLimiter limiter = new UpstreamLimiter(name,
+                env.getProperty(prefix + ".max-concurrent", Integer.class, 16),
+                env.getProperty(prefix + ".max-queued", Integer.class, 1000),
+                Duration.ofMillis(env.getProperty(prefix + ".timeout-ms", Long.class, 5000L)));
+
+        RateLimiterConfig rateLimit = RateLimiterConfig.custom()
+                .limitForPeriod(env.getProperty(prefix + ".rate-limit.per-second", Integer.class, 10))
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMillis(env.getProperty(prefix + ".rate-limit.max-wait-ms", Long.class, 1000L)))
+                .build();
+
+        CircuitBreakerConfig circuit = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(env.getProperty(prefix + ".circuit.window", Integer.class, 20))
+                .minimumNumberOfCalls(env.getProperty(prefix + ".circuit.min-calls", Integer.class, 10))
+                .failureRateThreshold(env.getProperty(prefix + ".circuit.failure-rate-threshold", Float.class, 50f))
+                .waitDurationInOpenState(Duration.ofSeconds(env.getProperty(prefix + ".circuit.open-seconds", Long.class, 30L)))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordException(UpstreamPolicy::isUpstreamFailure)
+                .build();
+
+        return new UpstreamPolicy(name, limiter,
+                circuitBreakers.circuitBreaker(name, circuit),
+                rateLimiters.rateLimiter(name, rateLimit));
+    }
+}
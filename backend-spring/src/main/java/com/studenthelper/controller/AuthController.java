@@ -4,13 +4,18 @@ import com.studenthelper.dto.AuthRequest;
 import com.studenthelper.dto.AuthResponse;
 import com.studenthelper.dto.ForgotPasswordRequest;
 import com.studenthelper.dto.GoogleAuthRequest;
+import com.studenthelper.dto.RefreshTokenRequest;
 import com.studenthelper.dto.ResendVerificationRequest;
 import com.studenthelper.dto.ResetPasswordRequest;
 import com.studenthelper.dto.VerifyEmailRequest;
 import com.studenthelper.entity.User;
+import com.studenthelper.exception.ServerBusyException;
+import com.studenthelper.exception.TooManyRequestsException;
+import com.studenthelper.security.AuthThrottle;
 import com.studenthelper.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,11 +31,16 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AuthThrottle authThrottle;
+
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody AuthRequest request) {
         try {
             AuthResponse response = authService.signup(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ServerBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -45,7 +55,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+    public ResponseEntity<?> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
         try {
             if (request.getEmail() == null || request.getPassword() == null) {
                 Map<String, Object> response = new HashMap<>();
@@ -53,6 +63,7 @@ public class AuthController {
                 response.put("message", "Please provide email and password");
                 return ResponseEntity.badRequest().body(response);
             }
+            authThrottle.checkLogin(request.getEmail(), httpRequest.getRemoteAddr());
 
             AuthResponse response = authService.login(
                     request.getEmail(),
@@ -61,6 +72,10 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (TooManyRequestsException e) {
+            return throttled(e);
+        } catch (ServerBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -76,10 +91,13 @@ public class AuthController {
     }
 
     @PostMapping("/verify-email")
-    public ResponseEntity<?> verifyEmail(@RequestBody VerifyEmailRequest request) {
+    public ResponseEntity<?> verifyEmail(@RequestBody VerifyEmailRequest request, HttpServletRequest httpRequest) {
         try {
+            authThrottle.checkCode(request.getEmail(), httpRequest.getRemoteAddr());
             AuthResponse response = authService.verifyEmail(request.getEmail(), request.getCode());
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return throttled(e);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -130,10 +148,15 @@ public class AuthController {
     }
 
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@RequestBody ResetPasswordRequest request) {
+    public ResponseEntity<?> resetPassword(@RequestBody ResetPasswordRequest request, HttpServletRequest httpRequest) {
         try {
+            authThrottle.checkCode(request.getEmail(), httpRequest.getRemoteAddr());
             AuthResponse response = authService.resetPassword(request);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return throttled(e);
+        } catch (ServerBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -152,6 +175,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.googleAuth(request);
             return ResponseEntity.ok(response);
+        } catch (ServerBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -165,6 +190,39 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Server error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        try {
+            String authorization = httpRequest.getHeader(HttpHeaders.AUTHORIZATION);
+            String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+            AuthResponse response = authService.logout(request != null ? request.getRefreshToken() : null, accessToken);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Server error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> getMe(HttpServletRequest request) {
         try {
@@ -190,5 +248,23 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-}
 
+    private ResponseEntity<?> throttled(TooManyRequestsException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /** Password hashing is saturated: tell the client to back off briefly instead of failing the credentials. */
+    private ResponseEntity<?> busy(ServerBusyException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+}
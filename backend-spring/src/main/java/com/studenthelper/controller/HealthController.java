@@ -1,17 +1,33 @@
 package com.studenthelper.controller;
 
+import com.studenthelper.cache.ListingCache;
+import com.studenthelper.cache.UserCache;
+import com.studenthelper.util.UpstreamPolicy;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
 
+    @Autowired
+    private ListingCache listingCache;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private List<UpstreamPolicy> upstreamPolicies;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -33,5 +49,39 @@ public class HealthController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "OK");
+        Map<String, Object> caches = listingCache.stats();
+        caches.put("users", userCache.stats());
+        response.put("caches", caches);
+        response.put("timestamp", java.time.Instant.now().toString());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/upstreams")
+    public ResponseEntity<Map<String, Object>> upstreamStats() {
+        Map<String, Object> upstreams = new LinkedHashMap<>();
+        for (UpstreamPolicy policy : upstreamPolicies) {
+            CircuitBreaker.Metrics circuit = policy.getCircuitBreaker().getMetrics();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("circuit", policy.getCircuitBreaker().getState().name());
+            stats.put("failureRate", circuit.getFailureRate());
+            stats.put("notPermitted", circuit.getNumberOfNotPermittedCalls());
+            stats.put("availableTokens", policy.getRateLimiter().getMetrics().getAvailablePermissions());
+            stats.put("inFlight", policy.getLimiter().getInFlight());
+            stats.put("queued", policy.getLimiter().getQueued());
+            stats.put("rejected", policy.getLimiter().getRejectedCount());
+            stats.put("timedOut", policy.getLimiter().getTimedOutCount());
+            upstreams.put(policy.getName(), stats);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "OK");
+        response.put("upstreams", upstreams);
+        response.put("timestamp", java.time.Instant.now().toString());
+        return ResponseEntity.ok(response);
+    }
+
 }
 
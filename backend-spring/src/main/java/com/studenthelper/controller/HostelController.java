@@ -1,11 +1,13 @@
 package com.studenthelper.controller;
 
+import com.studenthelper.cache.ResponseCache;
 import com.studenthelper.dto.ApiResponse;
 import com.studenthelper.dto.HostelFilterRequest;
 import com.studenthelper.dto.HostelRequest;
 import com.studenthelper.dto.HostelResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.service.HostelService;
+import com.studenthelper.util.StreamingJson;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,10 +19,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -33,6 +36,12 @@ public class HostelController {
     @Autowired
     private HostelService hostelService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private StreamingJson streamingJson;
+
     @InitBinder
     public void initBinder(WebDataBinder binder) {
         // Register custom property editor for Boolean to handle form-data string values
@@ -56,9 +65,10 @@ public class HostelController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<HostelResponse>> getHostelById(@PathVariable Long id) {
-        HostelResponse hostel = hostelService.getHostelById(id);
-        return ResponseEntity.ok(ApiResponse.success(hostel));
+    public ResponseEntity<byte[]> getHostelById(@PathVariable Long id, WebRequest request) {
+        ResponseCache.CachedResponse cached =
+                responseCache.get(ResponseCache.HOSTEL, id, hostelService::getHostelById, HostelResponse::getUpdatedAt);
+        return responseCache.respond(request, cached);
     }
 
     @PostMapping
@@ -108,9 +118,9 @@ public class HostelController {
 
     @GetMapping("/my-hostels")
     @PreAuthorize("hasRole('HOSTELADMIN')")
-    public ResponseEntity<ApiResponse<List<HostelResponse>>> getMyHostels(@AuthenticationPrincipal User user) {
-        List<HostelResponse> hostels = hostelService.getMyHostels(user.getId());
-        return ResponseEntity.ok(ApiResponse.success(hostels, hostels.size()));
+    public ResponseEntity<StreamingResponseBody> getMyHostels(@AuthenticationPrincipal User user) {
+        Long adminId = user.getId();
+        return streamingJson.apiResponse(row -> hostelService.forEachMyHostel(adminId, row));
     }
 }
 
@@ -1,5 +1,6 @@
 package com.studenthelper.controller;
 
+import com.studenthelper.cache.ResponseCache;
 import com.studenthelper.dto.ApiResponse;
 import com.studenthelper.dto.ItemFilterRequest;
 import com.studenthelper.dto.ItemRequest;
@@ -7,6 +8,7 @@ import com.studenthelper.dto.ItemResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.service.CloudinaryService;
 import com.studenthelper.service.ItemService;
+import com.studenthelper.util.StreamingJson;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +20,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.*;
 
 @RestController
@@ -34,6 +38,12 @@ public class ItemController {
     @Autowired
     private CloudinaryService cloudinaryService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private StreamingJson streamingJson;
+
     @InitBinder
     public void initBinder(WebDataBinder binder) {
         binder.setDisallowedFields("images"); // Prevent Spring from binding images field
@@ -61,14 +71,15 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ItemResponse>> getItemById(@PathVariable Long id) {
+    public ResponseEntity<?> getItemById(@PathVariable Long id, WebRequest request) {
         try {
-            ItemResponse item = itemService.getItemById(id);
-            if (item == null) {
+            ResponseCache.CachedResponse cached =
+                    responseCache.get(ResponseCache.ITEM, id, itemService::getItemById, ItemResponse::getUpdatedAt);
+            if (cached == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Item not found"));
             }
-            return ResponseEntity.ok(ApiResponse.success(item));
+            return responseCache.respond(request, cached);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error fetching item", e.getMessage()));
@@ -137,27 +148,26 @@ public class ItemController {
     }
 
     @GetMapping("/my-items")
-    public ResponseEntity<ApiResponse<List<ItemResponse>>> getMyItems(HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> getMyItems(HttpServletRequest request) {
         try {
             User user = resolveCurrentUser(request);
             Long userId = user != null ? user.getId() : null;
 
             if (userId == null || user == null) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ApiResponse.error("Access denied. Authentication required."));
+                return streamingJson.status(HttpStatus.FORBIDDEN,
+                        ApiResponse.error("Access denied. Authentication required."));
             }
             
             if (user.getRole() != User.Role.student) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ApiResponse.error("Access denied. Student role required."));
+                return streamingJson.status(HttpStatus.FORBIDDEN,
+                        ApiResponse.error("Access denied. Student role required."));
             }
 
-            List<ItemResponse> items = itemService.getMyItems(userId);
-            return ResponseEntity.ok(ApiResponse.success(items, items.size()));
+            return streamingJson.apiResponse(row -> itemService.forEachMyItem(userId, row));
         } catch (Exception e) {
             logger.error("Error fetching my items", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Error fetching items", e.getMessage()));
+            return streamingJson.status(HttpStatus.INTERNAL_SERVER_ERROR,
+                    ApiResponse.error("Error fetching items", e.getMessage()));
         }
     }
 
@@ -4,6 +4,7 @@ import com.studenthelper.dto.MessageRequest;
 import com.studenthelper.dto.MessageResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.service.MessageService;
+import com.studenthelper.util.StreamingJson;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 
@@ -27,6 +29,9 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private StreamingJson streamingJson;
+
     @GetMapping("/conversations")
     public ResponseEntity<Map<String, Object>> getConversations(HttpServletRequest request) {
         try {
@@ -52,26 +57,21 @@ public class MessageController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Map<String, Object>> getMessages(@PathVariable Long userId, HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> getMessages(@PathVariable Long userId, HttpServletRequest request) {
         try {
             Long currentUserId = (Long) request.getAttribute("userId");
             if (currentUserId == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                return streamingJson.status(HttpStatus.UNAUTHORIZED, null);
             }
 
-            List<MessageResponse> messages = messageService.getMessages(currentUserId, userId);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("count", messages.size());
-            response.put("messages", messages);
-            return ResponseEntity.ok(response);
+            messageService.markConversationRead(currentUserId, userId);
+            return streamingJson.object("messages", true, row -> messageService.forEachMessage(currentUserId, userId, row));
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Error fetching messages");
             response.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return streamingJson.status(HttpStatus.INTERNAL_SERVER_ERROR, response);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.studenthelper.controller;
 
+import com.studenthelper.cache.ResponseCache;
 import com.studenthelper.dto.ApiResponse;
 import com.studenthelper.dto.PGFilterRequest;
 import com.studenthelper.dto.PGRequest;
@@ -7,6 +8,7 @@ import com.studenthelper.dto.PGResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.service.CloudinaryService;
 import com.studenthelper.service.PGService;
+import com.studenthelper.util.StreamingJson;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -21,7 +23,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -43,6 +47,12 @@ public class PGController {
     @Autowired
     private CloudinaryService cloudinaryService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private StreamingJson streamingJson;
+
     @InitBinder
     public void initBinder(WebDataBinder binder) {
         // Register custom property editor for Boolean to handle form-data string values
@@ -67,9 +77,10 @@ public class PGController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<PGResponse>> getPGById(@PathVariable Long id) {
-        PGResponse pg = pgService.getPGById(id);
-        return ResponseEntity.ok(ApiResponse.success(pg));
+    public ResponseEntity<byte[]> getPGById(@PathVariable Long id, WebRequest request) {
+        ResponseCache.CachedResponse cached =
+                responseCache.get(ResponseCache.PG, id, pgService::getPGById, PGResponse::getUpdatedAt);
+        return responseCache.respond(request, cached);
     }
 
     @PostMapping
@@ -171,9 +182,9 @@ public class PGController {
 
     @GetMapping("/my-pgs")
     @PreAuthorize("hasRole('BROKER')")
-    public ResponseEntity<ApiResponse<List<PGResponse>>> getMyPGs(@AuthenticationPrincipal User user) {
-        List<PGResponse> pgs = pgService.getMyPGs(user.getId());
-        return ResponseEntity.ok(ApiResponse.success(pgs, pgs.size()));
+    public ResponseEntity<StreamingResponseBody> getMyPGs(@AuthenticationPrincipal User user) {
+        Long brokerId = user.getId();
+        return streamingJson.apiResponse(row -> pgService.forEachMyPG(brokerId, row));
     }
 
     @PatchMapping("/{id}/status")
@@ -4,6 +4,7 @@ import com.studenthelper.dto.PaymentRequest;
 import com.studenthelper.dto.PaymentResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.service.PaymentService;
+import com.studenthelper.util.StreamingJson;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +31,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private StreamingJson streamingJson;
+
     @PostMapping("/create-order")
     public ResponseEntity<Map<String, Object>> createPaymentOrder(
             @Valid @RequestBody PaymentRequest paymentRequest,
@@ -105,7 +110,7 @@ public class PaymentController {
     }
 
     @GetMapping("/my-payments")
-    public ResponseEntity<Map<String, Object>> getMyPayments(HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> getMyPayments(HttpServletRequest request) {
         try {
             User user = (User) request.getAttribute("user");
             if (user == null) {
@@ -119,21 +124,17 @@ public class PaymentController {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "Authentication required");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                return streamingJson.status(HttpStatus.UNAUTHORIZED, response);
             }
 
-            List<PaymentResponse> paymentResponses = paymentService.getPaymentsByPayer(user.getId());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("payments", paymentResponses);
-            return ResponseEntity.ok(response);
+            Long payerId = user.getId();
+            return streamingJson.object("payments", false, row -> paymentService.forEachPaymentByPayer(payerId, row));
         } catch (Exception e) {
             logger.error("Error fetching payments", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to fetch payments");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return streamingJson.status(HttpStatus.INTERNAL_SERVER_ERROR, response);
         }
     }
 
@@ -0,0 +1,170 @@
+package com.studenthelper.controller;
+
+import com.studenthelper.exception.BadRequestException;
+import com.studenthelper.exception.UpstreamUnavailableException;
+import com.studenthelper.service.ReactiveDistanceService;
+import com.studenthelper.util.DistanceUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link DistanceController}. Handlers return Mono/Flux,
+ * so the servlet thread is released while Nominatim and OSRM answer. Request and
+ * response shapes match /api/distance. A busy or timed-out upstream gives 503.
+ */
+@RestController
+@RequestMapping("/api/v2/distance")
+public class ReactiveDistanceController {
+
+    @Autowired
+    private ReactiveDistanceService distanceService;
+
+    @PostMapping("/geocode")
+    public Mono<ResponseEntity<Map<String, Object>>> geocode(@RequestBody Map<String, String> request) {
+        String address = request.get("address");
+        String city = request.get("city");
+
+        if (address == null || address.trim().isEmpty()) {
+            return Mono.just(error(HttpStatus.BAD_REQUEST, "Address is required"));
+        }
+
+        return distanceService.geocode(address, city)
+                .map(result -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("lat", result.getLat());
+                    data.put("lng", result.getLng());
+                    data.put("display_name", result.getDisplayName());
+                    return success(data);
+                })
+                .onErrorResume(e -> Mono.just(error(statusFor(e), e.getMessage())));
+    }
+
+    @PostMapping("/validate-location")
+    public Mono<ResponseEntity<Map<String, Object>>> validateLocation(@RequestBody Map<String, Object> request) {
+        DistanceUtil.Coordinates point = coordinates(request);
+        if (point == null) {
+            ResponseEntity<Map<String, Object>> response = error(HttpStatus.BAD_REQUEST, "Invalid coordinates provided");
+            response.getBody().put("valid", false);
+            return Mono.just(response);
+        }
+
+        return distanceService.validateLocation(point.getLat(), point.getLng())
+                .map(validationResult -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.putAll(validationResult);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    @PostMapping("/calculate")
+    public Mono<ResponseEntity<Map<String, Object>>> calculateDistance(@RequestBody Map<String, Object> request) {
+        DistanceUtil.Coordinates destination = coordinates(request.get("destinationCoordinates"));
+        if (destination == null) {
+            return Mono.just(error(HttpStatus.BAD_REQUEST, "Destination coordinates are required"));
+        }
+
+        DistanceUtil.Coordinates origin = coordinates(request.get("originCoordinates"));
+        String address = (String) request.get("address");
+
+        Mono<DistanceUtil.DistanceResult> result;
+        if (origin != null) {
+            result = distanceService.calculateDistance(origin, destination);
+        } else if (address != null && !address.trim().isEmpty()) {
+            result = distanceService.calculateDistance(address, destination);
+        } else {
+            return Mono.just(error(HttpStatus.BAD_REQUEST, "Either originCoordinates or address must be provided"));
+        }
+
+        return result
+                .map(distance -> success(toMap(distance)))
+                .onErrorResume(e -> Mono.just(error(statusFor(e), "Error calculating distance: " + e.getMessage())));
+    }
+
+    /**
+     * Distances from one origin to many destinations (e.g. a page of listings),
+     * streamed as newline-delimited JSON in request order.
+     */
+    @PostMapping(value = "/calculate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> calculateDistances(@RequestBody Map<String, Object> request) {
+        DistanceUtil.Coordinates origin = coordinates(request.get("originCoordinates"));
+        if (origin == null) {
+            return Flux.error(new BadRequestException("originCoordinates are required"));
+        }
+        if (!(request.get("destinations") instanceof List<?> rawDestinations) || rawDestinations.isEmpty()) {
+            return Flux.error(new BadRequestException("destinations must be a non-empty list of {lat, lng}"));
+        }
+
+        List<DistanceUtil.Coordinates> destinations = new ArrayList<>(rawDestinations.size());
+        for (Object raw : rawDestinations) {
+            DistanceUtil.Coordinates destination = coordinates(raw);
+            if (destination == null) {
+                return Flux.error(new BadRequestException("Every destination needs lat and lng"));
+            }
+            destinations.add(destination);
+        }
+
+        return distanceService.calculateDistances(origin, destinations)
+                .index()
+                .map(indexed -> {
+                    Map<String, Object> data = toMap(indexed.getT2());
+                    data.put("index", indexed.getT1());
+                    return data;
+                });
+    }
+
+    private static Map<String, Object> toMap(DistanceUtil.DistanceResult result) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("distance", result.getDistance());
+        data.put("duration", result.getDuration());
+        data.put("method", result.getMethod());
+        return data;
+    }
+
+    private static DistanceUtil.Coordinates coordinates(Object value) {
+        if (!(value instanceof Map<?, ?> map) || map.get("lat") == null || map.get("lng") == null) {
+            return null;
+        }
+        try {
+            return new DistanceUtil.Coordinates(
+                    Double.parseDouble(map.get("lat").toString()),
+                    Double.parseDouble(map.get("lng").toString()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static HttpStatus statusFor(Throwable e) {
+        if (e instanceof BadRequestException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (e instanceof UpstreamUnavailableException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static ResponseEntity<Map<String, Object>> success(Map<String, Object> data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -1,8 +1,12 @@
 package com.studenthelper.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.studenthelper.security.UserTokenRevoker;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserTokenRevoker.class)
 @Data
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Handle Hibernate proxy serialization
 public class User {
@@ -77,6 +82,19 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // The role as read from the database, so UserTokenRevoker can tell a role change from other updates
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Role persistedRole;
+
+    @PostLoad
+    @PostPersist
+    void rememberPersistedRole() {
+        persistedRole = role;
+    }
+
     public enum Role {
         student, broker, hostelAdmin
     }
@@ -0,0 +1,12 @@
+package com.studenthelper.exception;
+
+/**
+ * Thrown when local work (e.g. password hashing) is shed because its bounded
+ * queue is full or the wait for it ran out. The client should retry shortly.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.studenthelper.exception;
+
+/**
+ * Thrown when a caller exceeded a rate limit. Answered with 429 and a
+ * Retry-After of {@link #getRetryAfterSeconds()}.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
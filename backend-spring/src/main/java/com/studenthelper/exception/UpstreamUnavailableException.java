@@ -0,0 +1,16 @@
+package com.studenthelper.exception;
+
+/**
+ * Thrown when a third-party API call is rejected locally (too many calls in
+ * flight or queued) or does not answer within its timeout.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,345 @@
+package com.studenthelper.geo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped gazetteer index. Nothing is copied onto the heap:
+ * lookups read the mapped file directly, so a country-sized gazetteer costs
+ * page cache rather than heap.
+ *
+ * <pre>
+ * header   magic, version, source CRC, place count, key count       (32 bytes)
+ * places   lat f64, lng f64, display offset i32, display length i32, kind i32
+ * keys     key offset i32, key length i32, place i32   (sorted by key bytes)
+ * kd-tree  place i32 per node, implicit balanced tree (median of each range)
+ * strings  UTF-8 pool for keys and display names
+ * </pre>
+ *
+ * Keys are normalized names and aliases ({@link #normalize(String)}) kept in
+ * sorted order, so an exact lookup is a binary search over the key table and
+ * a prefix lookup is the contiguous range that starts at the same position.
+ * Reverse lookups walk the k-d tree, splitting on latitude then longitude.
+ */
+final class GazetteerIndex {
+
+    private static final int MAGIC = 0x475A5452; // "GZTR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int PLACE_BYTES = 28;
+    private static final int KEY_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final long sourceCrc;
+    private final int placeCount;
+    private final int keyCount;
+    private final int keysStart;
+    private final int kdStart;
+    private final int stringsStart;
+
+    private GazetteerIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a gazetteer index (or an older version)");
+        }
+        this.sourceCrc = buffer.getLong(8);
+        this.placeCount = buffer.getInt(16);
+        this.keyCount = buffer.getInt(20);
+        this.keysStart = HEADER_BYTES + placeCount * PLACE_BYTES;
+        this.kdStart = keysStart + keyCount * KEY_BYTES;
+        this.stringsStart = kdStart + placeCount * 4;
+    }
+
+    static GazetteerIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return new GazetteerIndex(mapped);
+        }
+    }
+
+    /**
+     * Writes the index for the given places to {@code file} (atomically, via a
+     * temporary file next to it).
+     */
+    static void build(List<Place> places, long sourceCrc, Path file) throws IOException {
+        List<String> keys = new ArrayList<>();
+        List<Integer> keyPlaces = new ArrayList<>();
+        for (int i = 0; i < places.size(); i++) {
+            Place place = places.get(i);
+            List<String> names = new ArrayList<>();
+            names.add(place.name());
+            names.add(place.name() + " " + place.context());
+            names.addAll(place.aliases());
+            for (String name : names) {
+                String key = normalize(name);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                    keyPlaces.add(i);
+                }
+            }
+        }
+
+        byte[][] keyBytes = new byte[keys.size()][];
+        Integer[] keyOrder = new Integer[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            keyBytes[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+            keyOrder[i] = i;
+        }
+        // Unsigned byte order (matches compareKey), ties broken by place order
+        Comparator<Integer> byKey = (a, b) -> Arrays.compareUnsigned(keyBytes[a], keyBytes[b]);
+        Arrays.sort(keyOrder, byKey.thenComparingInt(keyPlaces::get));
+
+        int[] kdOrder = new int[places.size()];
+        for (int i = 0; i < kdOrder.length; i++) {
+            kdOrder[i] = i;
+        }
+        buildKdTree(places, kdOrder, 0, kdOrder.length, 0);
+
+        byte[][] displays = new byte[places.size()][];
+        int stringBytes = 0;
+        for (int i = 0; i < places.size(); i++) {
+            displays[i] = places.get(i).display().getBytes(StandardCharsets.UTF_8);
+            stringBytes += displays[i].length;
+        }
+        for (byte[] key : keyBytes) {
+            stringBytes += key.length;
+        }
+
+        int size = HEADER_BYTES + places.size() * PLACE_BYTES + keys.size() * KEY_BYTES + places.size() * 4 + stringBytes;
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putLong(sourceCrc).putInt(places.size()).putInt(keys.size()).putLong(0);
+
+        int stringOffset = 0;
+        for (int i = 0; i < places.size(); i++) {
+            Place place = places.get(i);
+            out.putDouble(place.lat()).putDouble(place.lng())
+                    .putInt(stringOffset).putInt(displays[i].length).putInt(place.kind().ordinal());
+            stringOffset += displays[i].length;
+        }
+        for (Integer k : keyOrder) {
+            out.putInt(stringOffset).putInt(keyBytes[k].length).putInt(keyPlaces.get(k));
+            stringOffset += keyBytes[k].length;
+        }
+        for (int place : kdOrder) {
+            out.putInt(place);
+        }
+        for (byte[] display : displays) {
+            out.put(display);
+        }
+        for (Integer k : keyOrder) {
+            out.put(keyBytes[k]);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(tmp, out.array());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    long sourceCrc() { return sourceCrc; }
+    int placeCount() { return placeCount; }
+    int keyCount() { return keyCount; }
+
+    double lat(int place) { return buffer.getDouble(HEADER_BYTES + place * PLACE_BYTES); }
+    double lng(int place) { return buffer.getDouble(HEADER_BYTES + place * PLACE_BYTES + 8); }
+
+    Place.Kind kind(int place) {
+        return Place.Kind.values()[buffer.getInt(HEADER_BYTES + place * PLACE_BYTES + 24)];
+    }
+
+    String display(int place) {
+        int base = HEADER_BYTES + place * PLACE_BYTES;
+        return string(buffer.getInt(base + 16), buffer.getInt(base + 20));
+    }
+
+    /** Places whose key equals {@code key}, in index order. */
+    List<Integer> exact(String key) {
+        byte[] target = key.getBytes(StandardCharsets.UTF_8);
+        List<Integer> matches = new ArrayList<>(2);
+        for (int i = lowerBound(target); i < keyCount && compareKey(i, target) == 0; i++) {
+            int place = keyPlace(i);
+            if (!matches.contains(place)) {
+                matches.add(place);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Places with a key that starts with {@code prefix} on a word boundary
+     * ("nirma" matches "nirma university", not "nirmal nagar"), in key order.
+     * Empty when more than {@code maxKeys} keys match, so short prefixes cost a
+     * bounded scan and read as ambiguous.
+     */
+    List<Integer> prefix(String prefix, int maxKeys) {
+        byte[] target = prefix.getBytes(StandardCharsets.UTF_8);
+        List<Integer> matches = new ArrayList<>(2);
+        int scanned = 0;
+        for (int i = lowerBound(target); i < keyCount && startsWith(i, target); i++) {
+            if (++scanned > maxKeys) {
+                matches.clear();
+                return matches;
+            }
+            int length = buffer.getInt(keysStart + i * KEY_BYTES + 4);
+            if (length > target.length && keyByte(i, target.length) != ' ') {
+                continue;
+            }
+            int place = keyPlace(i);
+            if (!matches.contains(place)) {
+                matches.add(place);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Place closest to the point, using an equirectangular distance (exact
+     * enough at city scale), or -1 when the index is empty.
+     */
+    int nearest(double lat, double lng) {
+        if (placeCount == 0) {
+            return -1;
+        }
+        double[] best = {Double.MAX_VALUE, -1};
+        nearest(lat, lng, Math.cos(Math.toRadians(lat)), 0, placeCount, 0, best);
+        return (int) best[1];
+    }
+
+    private void nearest(double lat, double lng, double lngScale, int lo, int hi, int depth, double[] best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int place = buffer.getInt(kdStart + mid * 4);
+        double dLat = lat - lat(place);
+        double dLng = (lng - lng(place)) * lngScale;
+        double distance = dLat * dLat + dLng * dLng;
+        if (distance < best[0]) {
+            best[0] = distance;
+            best[1] = place;
+        }
+
+        double delta = depth % 2 == 0 ? dLat : dLng;
+        boolean left = delta < 0;
+        nearest(lat, lng, lngScale, left ? lo : mid + 1, left ? mid : hi, depth + 1, best);
+        if (delta * delta < best[0]) {
+            nearest(lat, lng, lngScale, left ? mid + 1 : lo, left ? hi : mid, depth + 1, best);
+        }
+    }
+
+    private int lowerBound(byte[] target) {
+        int lo = 0;
+        int hi = keyCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(mid, target) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int compareKey(int index, byte[] target) {
+        int base = keysStart + index * KEY_BYTES;
+        int offset = stringsStart + buffer.getInt(base);
+        int length = buffer.getInt(base + 4);
+        int n = Math.min(length, target.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = Integer.compare(buffer.get(offset + i) & 0xff, target[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, target.length);
+    }
+
+    private boolean startsWith(int index, byte[] target) {
+        int length = buffer.getInt(keysStart + index * KEY_BYTES + 4);
+        if (length < target.length) {
+            return false;
+        }
+        for (int i = 0; i < target.length; i++) {
+            if (keyByte(index, i) != target[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte keyByte(int index, int position) {
+        return buffer.get(stringsStart + buffer.getInt(keysStart + index * KEY_BYTES) + position);
+    }
+
+    private int keyPlace(int index) {
+        return buffer.getInt(keysStart + index * KEY_BYTES + 8);
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(stringsStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void buildKdTree(List<Place> places, int[] order, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        Comparator<Integer> axis = depth % 2 == 0
+                ? Comparator.comparingDouble(i -> places.get(i).lat())
+                : Comparator.comparingDouble(i -> places.get(i).lng());
+        Integer[] range = new Integer[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            range[i - lo] = order[i];
+        }
+        Arrays.sort(range, axis);
+        for (int i = lo; i < hi; i++) {
+            order[i] = range[i - lo];
+        }
+        int mid = (lo + hi) >>> 1;
+        buildKdTree(places, order, lo, mid, depth + 1);
+        buildKdTree(places, order, mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * Lower-cases, strips accents and turns punctuation into single spaces, so
+     * "L.D. College" and "l d  college" produce the same key.
+     */
+    static String normalize(String text) {
+        String decomposed = java.text.Normalizer.normalize(text, java.text.Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                out.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == ' ') {
+            out.setLength(end - 1);
+        }
+        return out.toString();
+    }
+}
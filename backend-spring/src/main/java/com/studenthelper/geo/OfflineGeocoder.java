@@ -0,0 +1,254 @@
+package com.studenthelper.geo;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * In-process geocoder over a local gazetteer of cities, colleges and
+ * localities, so the lookups students repeat most ("Nirma University,
+ * Ahmedabad", "Vadodara") never reach Nominatim.
+ *
+ * <p>The gazetteer is a TSV ({@code name, kind, lat, lng, context, aliases}).
+ * On startup it is compiled into a {@link GazetteerIndex} file, which is reused
+ * until the TSV changes, and memory-mapped. Lookups are conservative: anything
+ * that is not clearly a known place (a street address, an unknown name, an
+ * ambiguous abbreviation, a point far from every place) is a miss and the
+ * caller asks Nominatim.
+ */
+@Component
+public class OfflineGeocoder implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfflineGeocoder.class);
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    // Shortest name a prefix lookup accepts, and how many keys it may scan
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_KEYS = 16;
+
+    private final double reverseRadiusKm;
+    private final GazetteerIndex index;
+    private final Set<String> areas;
+
+    private final AtomicLong forwardHits = new AtomicLong();
+    private final AtomicLong forwardMisses = new AtomicLong();
+    private final AtomicLong reverseHits = new AtomicLong();
+    private final AtomicLong reverseMisses = new AtomicLong();
+
+    public OfflineGeocoder(
+            ResourceLoader resourceLoader,
+            @Value("${geocoding.offline.enabled:true}") boolean enabled,
+            @Value("${geocoding.offline.gazetteer:classpath:gazetteer/places.tsv}") String gazetteer,
+            @Value("${geocoding.offline.index-file:${java.io.tmpdir}/student-helper/gazetteer.idx}") String indexFile,
+            @Value("${geocoding.offline.reverse-radius-km:1.5}") double reverseRadiusKm) {
+        this.reverseRadiusKm = reverseRadiusKm;
+        this.index = enabled ? load(resourceLoader.getResource(gazetteer), Path.of(indexFile)) : null;
+        this.areas = index != null ? areas(index) : Set.of();
+    }
+
+    /** The place named by the query, or null when it is not clearly one of ours. */
+    public Match geocode(String address, String city) {
+        if (index == null) {
+            return null;
+        }
+        String query = city != null && !city.isEmpty() ? address + ", " + city : address;
+        Match match = lookup(query);
+        (match != null ? forwardHits : forwardMisses).incrementAndGet();
+        return match;
+    }
+
+    /** The nearest place within the reverse radius, or null. */
+    public Match reverse(double lat, double lng) {
+        if (index == null) {
+            return null;
+        }
+        int place = index.nearest(lat, lng);
+        if (place < 0 || distanceKm(lat, lng, index.lat(place), index.lng(place)) > reverseRadiusKm) {
+            reverseMisses.incrementAndGet();
+            return null;
+        }
+        reverseHits.incrementAndGet();
+        return match(place);
+    }
+
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /**
+     * Tries the whole query as one name first, then the first comma segment as
+     * the name and every other segment (pin codes aside) as something its
+     * context has to mention, e.g. "Navrangpura, Ahmedabad". When no name
+     * matches exactly, the first segment may abbreviate one ("Nirma" for Nirma
+     * University), but only if that leaves a single place and the segment isn't
+     * itself an area places sit in ("Gujarat" is the state, not Gujarat
+     * University).
+     */
+    private Match lookup(String query) {
+        List<String> segments = new ArrayList<>();
+        for (String part : query.split(",")) {
+            String segment = GazetteerIndex.normalize(part);
+            if (!segment.isEmpty() && !segment.chars().allMatch(Character::isDigit) && !segments.contains(segment)) {
+                segments.add(segment);
+            }
+        }
+        if (segments.isEmpty()) {
+            return null;
+        }
+
+        List<Integer> candidates = index.exact(String.join(" ", segments));
+        if (candidates.isEmpty()) {
+            candidates = index.exact(segments.get(0));
+        }
+        boolean byPrefix = false;
+        if (candidates.isEmpty()) {
+            String name = segments.get(0);
+            if (name.length() < MIN_PREFIX_LENGTH || areas.contains(name)) {
+                return null;
+            }
+            candidates = index.prefix(name, MAX_PREFIX_KEYS);
+            byPrefix = true;
+        }
+        candidates.sort(Comparator.comparing(index::kind));
+
+        List<String> qualifiers = segments.subList(1, segments.size());
+        List<Integer> matches = new ArrayList<>(1);
+        for (int place : candidates) {
+            String context = " " + GazetteerIndex.normalize(index.display(place)) + " ";
+            if (qualifiers.stream().allMatch(q -> context.contains(" " + q + " "))) {
+                if (!byPrefix) {
+                    return match(place);
+                }
+                matches.add(place);
+            }
+        }
+        return matches.size() == 1 ? match(matches.get(0)) : null;
+    }
+
+    /** Every comma segment of every place's context ("navrangpura", "ahmedabad", "gujarat", "india"). */
+    private static Set<String> areas(GazetteerIndex index) {
+        Set<String> areas = new HashSet<>();
+        for (int place = 0; place < index.placeCount(); place++) {
+            String[] parts = index.display(place).split(",");
+            for (int i = 1; i < parts.length; i++) {
+                String area = GazetteerIndex.normalize(parts[i]);
+                if (!area.isEmpty()) {
+                    areas.add(area);
+                }
+            }
+        }
+        return areas;
+    }
+
+    private Match match(int place) {
+        return new Match(index.lat(place), index.lng(place), index.display(place), index.kind(place).name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Opens the index file, rebuilding it first if it is missing, unreadable or
+     * was built from a different gazetteer. Failures disable offline lookups
+     * rather than startup.
+     */
+    private static GazetteerIndex load(Resource gazetteer, Path indexFile) {
+        try {
+            byte[] source;
+            try (InputStream in = gazetteer.getInputStream()) {
+                source = in.readAllBytes();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(source);
+
+            if (Files.exists(indexFile)) {
+                try {
+                    GazetteerIndex existing = GazetteerIndex.open(indexFile);
+                    if (existing.sourceCrc() == crc.getValue()) {
+                        logger.info("Offline gazetteer: {} places from {}", existing.placeCount(), indexFile);
+                        return existing;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.info("Rebuilding unreadable gazetteer index {}: {}", indexFile, e.getMessage());
+                }
+            }
+
+            List<Place> places = parse(new String(source, StandardCharsets.UTF_8));
+            GazetteerIndex.build(places, crc.getValue(), indexFile);
+            GazetteerIndex built = GazetteerIndex.open(indexFile);
+            logger.info("Offline gazetteer: indexed {} places ({} keys) into {}", built.placeCount(), built.keyCount(), indexFile);
+            return built;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Offline gazetteer unavailable, geocoding will use Nominatim only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    static List<Place> parse(String tsv) {
+        List<Place> places = new ArrayList<>();
+        String[] lines = tsv.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length < 5) {
+                throw new IllegalArgumentException("Gazetteer line " + (i + 1) + " needs name, kind, lat, lng and context");
+            }
+            List<String> aliases = columns.length > 5 && !columns[5].isBlank()
+                    ? Arrays.stream(columns[5].split("\\|")).map(String::trim).toList()
+                    : List.of();
+            places.add(new Place(
+                    columns[0].trim(),
+                    Place.Kind.valueOf(columns[1].trim().toUpperCase(Locale.ROOT)),
+                    Double.parseDouble(columns[2].trim()),
+                    Double.parseDouble(columns[3].trim()),
+                    columns[4].trim(),
+                    aliases));
+        }
+        return places;
+    }
+
+    private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "search", "hit", forwardHits);
+        register(registry, "search", "miss", forwardMisses);
+        register(registry, "reverse", "hit", reverseHits);
+        register(registry, "reverse", "miss", reverseMisses);
+    }
+
+    private static void register(MeterRegistry registry, String operation, String result, AtomicLong count) {
+        FunctionCounter.builder("geocoding.offline", count, AtomicLong::get)
+                .description("Offline gazetteer lookups; misses fall back to Nominatim")
+                .tags("operation", operation, "result", result).register(registry);
+    }
+
+    public record Match(double lat, double lng, String displayName, String kind) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.studenthelper.geo;
+
+import java.util.List;
+
+/**
+ * One gazetteer entry. Context is the enclosing area ("Ahmedabad, Gujarat,
+ * India") and is used both for display and to disambiguate same-named places.
+ */
+record Place(String name, Kind kind, double lat, double lng, String context, List<String> aliases) {
+
+    /** Declaration order is also the preference order when a name is ambiguous. */
+    enum Kind { CITY, COLLEGE, LOCALITY }
+
+    String display() {
+        return context.isEmpty() ? name : name + ", " + context;
+    }
+}
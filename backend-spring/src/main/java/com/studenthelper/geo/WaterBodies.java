@@ -0,0 +1,309 @@
+package com.studenthelper.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Point-in-water test against a GeoJSON set of sea and lake polygons, indexed
+ * in a uniform grid so a lookup costs one array read for most points.
+ *
+ * <p>Each cell is either fully inside one water body (answered directly), or
+ * crossed by polygon edges (only those polygons are ray-cast), or empty. A
+ * point outside every polygon, or outside the grid, is dry as far as the index
+ * knows. The bundled dataset errs towards land: coarse outlines of the seas
+ * and a few city lakes, no rivers, so a wet point can slip through but a real
+ * address is never rejected.
+ *
+ * <p>A miss is only taken as land inside {@code geo.water.coverage}, the box
+ * (minLng,minLat,maxLng,maxLat) in which the supplied extract is complete,
+ * e.g. an OSM water polygon extract clipped to the served region. Elsewhere,
+ * including everywhere when no coverage is set, callers should confirm a miss
+ * upstream; see {@link #covers(double, double)}.
+ */
+@Component
+public class WaterBodies implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaterBodies.class);
+
+    private static final int[] NONE = new int[0];
+
+    private final List<String> names = new ArrayList<>();
+    // Per water body: rings as flat [lng0, lat0, lng1, lat1, ...] arrays (outer and holes alike)
+    private final List<double[][]> rings = new ArrayList<>();
+
+    private final double cellDegrees;
+    private double minLng;
+    private double minLat;
+    private int cols;
+    private int rows;
+    // Water body covering the whole cell, or -1
+    private int[] fullCell = new int[0];
+    // Water bodies with an edge in the cell
+    private int[][] edgeCell = new int[0][];
+
+    // minLng, minLat, maxLng, maxLat; null when the extract is complete nowhere
+    private final double[] coverage;
+
+    private final AtomicLong waterHits = new AtomicLong();
+    private final AtomicLong landHits = new AtomicLong();
+    private final AtomicLong uncoveredHits = new AtomicLong();
+
+    public WaterBodies(
+            ResourceLoader resourceLoader,
+            @Value("${geo.water.polygons:classpath:geo/water.geojson}") String polygons,
+            @Value("${geo.water.cell-degrees:0.05}") double cellDegrees,
+            @Value("${geo.water.coverage:}") String coverage) {
+        this.cellDegrees = cellDegrees;
+        this.coverage = parseCoverage(coverage);
+        Resource resource = resourceLoader.getResource(polygons);
+        try (InputStream in = resource.getInputStream()) {
+            load(new ObjectMapper().readTree(in));
+            index();
+            logger.info("Water index: {} bodies in a {}x{} grid of {} degree cells", names.size(), cols, rows, cellDegrees);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Water polygons unavailable, every point will be treated as land: {}", e.getMessage());
+            names.clear();
+            rings.clear();
+            cols = 0;
+            rows = 0;
+        }
+    }
+
+    /**
+     * Name of the water body containing the point, or null if no polygon does.
+     * Null means land only where {@link #covers(double, double)} holds.
+     */
+    public String waterBodyAt(double lat, double lng) {
+        String name = lookup(lat, lng);
+        (name != null ? waterHits : covers(lat, lng) ? landHits : uncoveredHits).incrementAndGet();
+        return name;
+    }
+
+    /** Whether the polygons are complete at this point, so that a miss means land. */
+    public boolean covers(double lat, double lng) {
+        return coverage != null && !names.isEmpty()
+                && lng >= coverage[0] && lat >= coverage[1] && lng <= coverage[2] && lat <= coverage[3];
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private String lookup(double lat, double lng) {
+        int col = (int) Math.floor((lng - minLng) / cellDegrees);
+        int row = (int) Math.floor((lat - minLat) / cellDegrees);
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            return null;
+        }
+        int cell = row * cols + col;
+        int body = fullCell[cell];
+        if (body < 0) {
+            for (int candidate : edgeCell[cell]) {
+                if (contains(rings.get(candidate), lng, lat)) {
+                    body = candidate;
+                    break;
+                }
+            }
+        }
+        return body >= 0 ? names.get(body) : null;
+    }
+
+    private static double[] parseCoverage(String coverage) {
+        if (coverage == null || coverage.isBlank()) {
+            return null;
+        }
+        String[] parts = coverage.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("geo.water.coverage must be minLng,minLat,maxLng,maxLat: " + coverage);
+        }
+        double[] box = new double[4];
+        for (int i = 0; i < 4; i++) {
+            box[i] = Double.parseDouble(parts[i].trim());
+        }
+        return box;
+    }
+
+    private void load(JsonNode collection) {
+        for (JsonNode feature : collection.path("features")) {
+            JsonNode geometry = feature.path("geometry");
+            String type = geometry.path("type").asText();
+            List<double[]> bodyRings = new ArrayList<>();
+            if ("Polygon".equals(type)) {
+                addRings(geometry.path("coordinates"), bodyRings);
+            } else if ("MultiPolygon".equals(type)) {
+                for (JsonNode polygon : geometry.path("coordinates")) {
+                    addRings(polygon, bodyRings);
+                }
+            } else {
+                continue;
+            }
+            names.add(feature.path("properties").path("name").asText("water"));
+            rings.add(bodyRings.toArray(new double[0][]));
+        }
+    }
+
+    private static void addRings(JsonNode polygon, List<double[]> out) {
+        for (JsonNode ring : polygon) {
+            double[] flat = new double[ring.size() * 2];
+            for (int i = 0; i < ring.size(); i++) {
+                flat[2 * i] = ring.get(i).get(0).asDouble();
+                flat[2 * i + 1] = ring.get(i).get(1).asDouble();
+            }
+            out.add(flat);
+        }
+    }
+
+    private void index() {
+        if (rings.isEmpty()) {
+            return;
+        }
+        double maxLng = -Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        minLng = Double.MAX_VALUE;
+        minLat = Double.MAX_VALUE;
+        for (double[][] body : rings) {
+            for (double[] ring : body) {
+                for (int i = 0; i < ring.length; i += 2) {
+                    minLng = Math.min(minLng, ring[i]);
+                    maxLng = Math.max(maxLng, ring[i]);
+                    minLat = Math.min(minLat, ring[i + 1]);
+                    maxLat = Math.max(maxLat, ring[i + 1]);
+                }
+            }
+        }
+        cols = (int) Math.ceil((maxLng - minLng) / cellDegrees) + 1;
+        rows = (int) Math.ceil((maxLat - minLat) / cellDegrees) + 1;
+
+        fullCell = new int[cols * rows];
+        Arrays.fill(fullCell, -1);
+        edgeCell = new int[cols * rows][];
+        Arrays.fill(edgeCell, NONE);
+
+        for (int body = 0; body < rings.size(); body++) {
+            int firstRow = rows;
+            int lastRow = 0;
+            // Cells an edge may pass through (its bounding box; a superset is fine)
+            for (double[] ring : rings.get(body)) {
+                for (int i = 0; i + 3 < ring.length; i += 2) {
+                    int c0 = col(Math.min(ring[i], ring[i + 2]));
+                    int c1 = col(Math.max(ring[i], ring[i + 2]));
+                    int r0 = row(Math.min(ring[i + 1], ring[i + 3]));
+                    int r1 = row(Math.max(ring[i + 1], ring[i + 3]));
+                    firstRow = Math.min(firstRow, r0);
+                    lastRow = Math.max(lastRow, r1);
+                    for (int r = r0; r <= r1; r++) {
+                        for (int c = c0; c <= c1; c++) {
+                            addEdge(r * cols + c, body);
+                        }
+                    }
+                }
+            }
+            // Scanline over cell centres: an inside cell without edges of this body is inside entirely
+            for (int r = firstRow; r <= lastRow; r++) {
+                double lat = minLat + (r + 0.5) * cellDegrees;
+                double[] crossings = crossings(rings.get(body), lat);
+                for (int k = 0; k + 1 < crossings.length; k += 2) {
+                    int from = Math.max(0, (int) Math.ceil((crossings[k] - minLng) / cellDegrees - 0.5));
+                    int to = Math.min(cols - 1, (int) Math.floor((crossings[k + 1] - minLng) / cellDegrees - 0.5));
+                    for (int c = from; c <= to; c++) {
+                        int cell = r * cols + c;
+                        int[] edges = edgeCell[cell];
+                        if (edges.length == 0) {
+                            if (fullCell[cell] < 0) {
+                                fullCell[cell] = body;
+                            }
+                        } else if (edges[edges.length - 1] != body) {
+                            // Crossed only by other bodies' edges: this one must still be tried
+                            addEdge(cell, body);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addEdge(int cell, int body) {
+        int[] bodies = edgeCell[cell];
+        if (bodies.length > 0 && bodies[bodies.length - 1] == body) {
+            return;
+        }
+        int[] grown = Arrays.copyOf(bodies, bodies.length + 1);
+        grown[bodies.length] = body;
+        edgeCell[cell] = grown;
+    }
+
+    private int col(double lng) {
+        return Math.min(cols - 1, (int) Math.floor((lng - minLng) / cellDegrees));
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, (int) Math.floor((lat - minLat) / cellDegrees));
+    }
+
+    /** Sorted longitudes where the horizontal line at {@code lat} crosses the rings. */
+    private static double[] crossings(double[][] body, double lat) {
+        double[] xs = new double[8];
+        int n = 0;
+        for (double[] ring : body) {
+            for (int i = 0; i + 3 < ring.length; i += 2) {
+                double y1 = ring[i + 1];
+                double y2 = ring[i + 3];
+                if ((y1 > lat) != (y2 > lat)) {
+                    if (n == xs.length) {
+                        xs = Arrays.copyOf(xs, n * 2);
+                    }
+                    xs[n++] = ring[i] + (lat - y1) * (ring[i + 2] - ring[i]) / (y2 - y1);
+                }
+            }
+        }
+        double[] sorted = Arrays.copyOf(xs, n);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /** Even-odd ray cast over every ring, so holes (islands) count as land. */
+    private static boolean contains(double[][] body, double x, double y) {
+        boolean inside = false;
+        for (double[] ring : body) {
+            for (int i = 0; i + 3 < ring.length; i += 2) {
+                double x1 = ring[i];
+                double y1 = ring[i + 1];
+                double x2 = ring[i + 2];
+                double y2 = ring[i + 3];
+                if ((y1 > y) != (y2 > y) && x < x1 + (y - y1) * (x2 - x1) / (y2 - y1)) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("geo.water.checks", waterHits, AtomicLong::get)
+                .description("Location checks against the water index")
+                .tag("result", "water").register(registry);
+        FunctionCounter.builder("geo.water.checks", landHits, AtomicLong::get)
+                .description("Location checks against the water index")
+                .tag("result", "land").register(registry);
+        FunctionCounter.builder("geo.water.checks", uncoveredHits, AtomicLong::get)
+                .description("Location checks against the water index")
+                .tag("result", "uncovered").register(registry);
+    }
+}
@@ -1,13 +1,28 @@
 package com.studenthelper.mapper;
 
 import com.studenthelper.dto.MessageRequest;
+import com.studenthelper.dto.MessageResponse;
 import com.studenthelper.entity.Message;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.Map;
 
-@Component
-public class MessageMapper {
+/**
+ * Message conversions. {@link #toMessageResponse(Message)} is generated at
+ * compile time by MapStruct (see MessageMapperImpl); it runs for every message
+ * in a conversation listing, so it avoids reflective mapping.
+ */
+@Mapper(componentModel = "spring")
+public abstract class MessageMapper {
+
+    @Mapping(target = "senderId", source = "sender.id")
+    @Mapping(target = "senderName", source = "sender.name")
+    @Mapping(target = "receiverId", source = "receiver.id")
+    @Mapping(target = "receiverName", source = "receiver.name")
+    public abstract MessageResponse toMessageResponse(Message message);
+
+    public abstract MessageResponse.RelatedToResponse toRelatedToResponse(Message.RelatedTo relatedTo);
 
     public MessageRequest.RelatedToRequest toRelatedToRequest(Message.RelatedTo relatedTo) {
         if (relatedTo == null) {
@@ -48,4 +63,3 @@ public class MessageMapper {
         return relatedTo;
     }
 }
-
@@ -1,54 +1,36 @@
 package com.studenthelper.mapper;
 
+import com.studenthelper.dto.PaymentRequest;
 import com.studenthelper.dto.PaymentResponse;
 import com.studenthelper.entity.Payment;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-
-@Component
-public class PaymentMapper {
-
-    @Autowired
-    private ModelMapper modelMapper;
-
-    public PaymentResponse toPaymentResponse(Payment payment) {
-        if (payment == null) {
-            return null;
-        }
-
-        PaymentResponse response = modelMapper.map(payment, PaymentResponse.class);
-        
-        // Map enums to strings
-        if (payment.getPaymentType() != null) {
-            response.setPaymentType(payment.getPaymentType().name());
-        }
-        if (payment.getStatus() != null) {
-            response.setStatus(payment.getStatus().name());
-        }
-
-        // Map payer
-        if (payment.getPayer() != null) {
-            PaymentResponse.UserSummary payer = new PaymentResponse.UserSummary();
-            payer.setId(payment.getPayer().getId());
-            payer.setName(payment.getPayer().getName());
-            payer.setEmail(payment.getPayer().getEmail());
-            payer.setPhoneNumber(payment.getPayer().getPhoneNumber());
-            response.setPayer(payer);
-        }
-
-        // Map receiver
-        if (payment.getReceiver() != null) {
-            PaymentResponse.UserSummary receiver = new PaymentResponse.UserSummary();
-            receiver.setId(payment.getReceiver().getId());
-            receiver.setName(payment.getReceiver().getName());
-            receiver.setEmail(payment.getReceiver().getEmail());
-            receiver.setPhoneNumber(payment.getReceiver().getPhoneNumber());
-            response.setReceiver(receiver);
-        }
-
-        return response;
-    }
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Payment conversions generated by MapStruct (PaymentMapperImpl). The listing,
+ * payer and receiver associations are resolved by PaymentServiceImpl.
+ */
+@Mapper(componentModel = "spring")
+public abstract class PaymentMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "razorpayOrderId", ignore = true)
+    @Mapping(target = "razorpayPaymentId", ignore = true)
+    @Mapping(target = "razorpaySignature", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "currency", source = "currency", defaultValue = "INR")
+    @Mapping(target = "pg", ignore = true)
+    @Mapping(target = "hostel", ignore = true)
+    @Mapping(target = "item", ignore = true)
+    @Mapping(target = "payer", ignore = true)
+    @Mapping(target = "receiver", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    public abstract Payment toPayment(PaymentRequest request);
+
+    public abstract PaymentResponse toPaymentResponse(Payment payment);
+
+    public abstract PaymentResponse.UserSummary toUserSummary(com.studenthelper.entity.User user);
 
     public Payment.PaymentType toPaymentType(String paymentTypeStr) {
         if (paymentTypeStr == null) {
@@ -2,33 +2,22 @@ package com.studenthelper.mapper;
 
 import com.studenthelper.dto.AuthResponse;
 import com.studenthelper.dto.UpdateUserProfileRequest;
+import com.studenthelper.dto.UserResponse;
 import com.studenthelper.entity.User;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
 import java.util.Map;
 
-@Component
-public class UserMapper {
+/**
+ * User conversions. The entity-to-DTO methods are generated by MapStruct
+ * (UserMapperImpl); role is written as the enum name.
+ */
+@Mapper(componentModel = "spring")
+public abstract class UserMapper {
 
-    @Autowired
-    private ModelMapper modelMapper;
+    public abstract AuthResponse.UserData toUserData(User user);
 
-    public AuthResponse.UserData toUserData(User user) {
-        if (user == null) {
-            return null;
-        }
-
-        AuthResponse.UserData userData = modelMapper.map(user, AuthResponse.UserData.class);
-        
-        // Map enum to string
-        if (user.getRole() != null) {
-            userData.setRole(user.getRole().name());
-        }
-
-        return userData;
-    }
+    public abstract UserResponse toUserResponse(User user);
 
     public void updateUserFromRequest(User user, UpdateUserProfileRequest request) {
         if (request == null || user == null) {
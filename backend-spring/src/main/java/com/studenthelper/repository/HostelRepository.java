@@ -1,15 +1,19 @@
 package com.studenthelper.repository;
 
 import com.studenthelper.entity.Hostel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface HostelRepository extends JpaRepository<Hostel, Long>, JpaSpecificationExecutor<Hostel> {
     // Use admin.id to query by admin's ID (since admin is a ManyToOne relationship)
-    List<Hostel> findByAdmin_Id(Long adminId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Hostel> streamByAdmin_Id(Long adminId);
 }
 
@@ -1,16 +1,35 @@
 package com.studenthelper.repository;
 
 import com.studenthelper.entity.Message;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findBySenderIdOrReceiverId(Long senderId, Long receiverId);
-    List<Message> findBySenderIdAndReceiverIdOrSenderIdAndReceiverId(
-        Long senderId1, Long receiverId1, Long senderId2, Long receiverId2);
     long countByReceiverIdAndReadFalse(Long receiverId);
-}
 
+    /** Both directions of a conversation, oldest first. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT m FROM Message m WHERE (m.sender.id = :userId AND m.receiver.id = :otherUserId)"
+            + " OR (m.sender.id = :otherUserId AND m.receiver.id = :userId) ORDER BY m.createdAt, m.id")
+    Stream<Message> streamConversation(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
+
+    /** Marks everything senderId sent to receiverId as read in one statement. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Message m SET m.read = true, m.readAt = :readAt"
+            + " WHERE m.receiver.id = :receiverId AND m.sender.id = :senderId AND m.read = false")
+    int markRead(@Param("receiverId") Long receiverId, @Param("senderId") Long senderId, @Param("readAt") LocalDateTime readAt);
+}
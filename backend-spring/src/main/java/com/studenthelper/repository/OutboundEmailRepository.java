@@ -0,0 +1,39 @@
+package com.studenthelper.repository;
+
+import com.studenthelper.entity.OutboundEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    /**
+     * Due rows, oldest first, locked with SKIP LOCKED so concurrent pollers
+     * (other instances) claim disjoint batches instead of waiting on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDueForUpdate(@Param("statuses") Collection<OutboundEmail.Status> statuses,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable page);
+
+    long countByStatusIn(Collection<OutboundEmail.Status> statuses);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.status IN :statuses AND e.createdAt < :before")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<OutboundEmail.Status> statuses,
+                                           @Param("before") LocalDateTime before);
+}
@@ -1,15 +1,20 @@
 package com.studenthelper.repository;
 
 import com.studenthelper.entity.PG;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PGRepository extends JpaRepository<PG, Long>, JpaSpecificationExecutor<PG> {
     // Use broker.id to query by broker's ID (since broker is a ManyToOne relationship)
-    List<PG> findByBroker_Id(Long brokerId);
+    // Streamed into the response; see EntityStreams for the cursor fetch setting
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<PG> streamByBroker_Id(Long brokerId);
 }
 
@@ -1,20 +1,26 @@
 package com.studenthelper.repository;
 
 import com.studenthelper.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
-    List<Payment> findByPayer_Id(Long payerId);
     List<Payment> findByReceiver_Id(Long receiverId);
     List<Payment> findByPg_Id(Long pgId);
     List<Payment> findByHostel_Id(Long hostelId);
     List<Payment> findByItem_Id(Long itemId);
     List<Payment> findByStatus(Payment.PaymentStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Payment> streamByPayer_Id(Long payerId);
 }
 
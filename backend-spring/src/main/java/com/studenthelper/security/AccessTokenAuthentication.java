@@ -0,0 +1,72 @@
+package com.studenthelper.security;
+
+import com.studenthelper.entity.User;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Authentication built from a verified access token: the user id and role
+ * come from the claims. The {@link User} principal is loaded once, through
+ * UserCache; JwtAuthenticationFilter only installs the authentication when
+ * that user still exists, so controllers never see a null principal.
+ */
+public class AccessTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final Long userId;
+    private final transient Function<Long, User> loader;
+    private transient volatile User user;
+    private transient volatile boolean loaded;
+
+    public AccessTokenAuthentication(Long userId, Collection<? extends GrantedAuthority> authorities,
+                                     Function<Long, User> loader) {
+        super(authorities);
+        this.userId = userId;
+        this.loader = loader;
+        setAuthenticated(true);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        if (!loaded) {
+            user = loader.apply(userId);
+            loaded = true;
+        }
+        return user;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    // The defaults go through getPrincipal(); keep logging and comparisons off the database
+    @Override
+    public String getName() {
+        return userId.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AccessTokenAuthentication that
+                && userId.equals(that.userId)
+                && getAuthorities().equals(that.getAuthorities());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, getAuthorities());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [userId=" + userId + ", authorities=" + getAuthorities() + "]";
+    }
+}
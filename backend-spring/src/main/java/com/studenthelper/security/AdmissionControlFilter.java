@@ -0,0 +1,372 @@
+package com.studenthelper.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studenthelper.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Admission control for the whole API, run right after the JWT filter so the
+ * caller is known. Two gates, both answering 429 with Retry-After:
+ *
+ * <ul>
+ *   <li>Rate: a token bucket per user (or per client IP for anonymous
+ *   callers), with a separate budget for listing search, distance/geocoding
+ *   and uploads so a scraper on /api/pg runs dry long before ordinary
+ *   browsing does ({@code admission.<budget>.*}).</li>
+ *   <li>Concurrency: an adaptive cap on requests in flight for search and
+ *   everything else. It shrinks when responses get slower than
+ *   {@code admission.concurrency.latency-target-ms} or come back 503/504 and
+ *   creeps back up while they stay fast, so excess load is shed at the door
+ *   instead of queueing on the MySQL pool. Distance and uploads are left to
+ *   their own upstream limits and connection pools.</li>
+ * </ul>
+ *
+ * <p>Buckets live in fixed striped tables like {@link AuthThrottle}'s: each
+ * slot holds a theoretical arrival time (GCRA), a key takes the more lenient
+ * of its two slots, and updates are CAS-only.
+ *
+ * <p>Anonymous callers, like {@link AuthThrottle}'s per-IP limits, are keyed
+ * on {@code request.getRemoteAddr()}. With
+ * {@code server.forward-headers-strategy=native}, Tomcat's RemoteIpValve sets
+ * it from X-Forwarded-For, but only on connections from a trusted proxy, so a
+ * client can't pick its own address by sending the header. Trusted proxies are
+ * Spring Boot's default {@code server.tomcat.remoteip.internal-proxies}, the
+ * loopback and private ranges. Narrow them to the balancer's subnet where
+ * other hosts share that network.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    enum Budget {
+        DEFAULT, SEARCH, DISTANCE, UPLOAD;
+
+        private static final RouteTable<Budget> ROUTES = new RouteTable<>(DEFAULT)
+                .add(null, "/api/distance/**", DISTANCE)
+                .add(null, "/api/v2/distance/**", DISTANCE)
+                .add("GET", "/api/pg", SEARCH)
+                .add("GET", "/api/hostel", SEARCH)
+                .add("GET", "/api/item", SEARCH);
+
+        static Budget of(HttpServletRequest request) {
+            String contentType = request.getContentType();
+            if (contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+                return UPLOAD;
+            }
+            return ROUTES.lookup(request.getMethod(), ApiRoutes.path(request));
+        }
+
+        String property() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final JwtUtil jwtUtil;
+    private final KeyHasher hasher = new KeyHasher();
+    private final boolean rateLimitEnabled;
+    private final boolean concurrencyEnabled;
+    private final Map<Budget, TokenBuckets> byUser = new EnumMap<>(Budget.class);
+    private final Map<Budget, TokenBuckets> byIp = new EnumMap<>(Budget.class);
+    private final ConcurrencyLimit concurrency;
+    private final Map<Budget, AtomicLong> shed = new EnumMap<>(Budget.class);
+
+    public AdmissionControlFilter(JwtUtil jwtUtil, Environment env) {
+        this.jwtUtil = jwtUtil;
+        this.rateLimitEnabled = env.getProperty("admission.rate-limit.enabled", Boolean.class, true);
+        this.concurrencyEnabled = env.getProperty("admission.concurrency.enabled", Boolean.class, true);
+
+        int slots = env.getProperty("admission.slots", Integer.class, 16384);
+        budget(env, Budget.DEFAULT, slots, 20, 20, 3);
+        budget(env, Budget.SEARCH, slots, 5, 5, 4);
+        budget(env, Budget.DISTANCE, slots, 2, 2, 5);
+        budget(env, Budget.UPLOAD, slots, 0.2, 0.2, 50);
+
+        this.concurrency = new ConcurrencyLimit(
+                env.getProperty("admission.concurrency.initial-limit", Integer.class, 100),
+                env.getProperty("admission.concurrency.min-limit", Integer.class, 10),
+                env.getProperty("admission.concurrency.max-limit", Integer.class, 400),
+                TimeUnit.MILLISECONDS.toNanos(env.getProperty("admission.concurrency.latency-target-ms", Long.class, 500L)));
+        shed.put(Budget.DEFAULT, new AtomicLong());
+        shed.put(Budget.SEARCH, new AtomicLong());
+    }
+
+    private void budget(Environment env, Budget budget, int slots, double userRate, double ipRate, double burstSeconds) {
+        String prefix = "admission." + budget.property() + ".";
+        double burst = env.getProperty(prefix + "burst-seconds", Double.class, burstSeconds);
+        byUser.put(budget, new TokenBuckets(slots, env.getProperty(prefix + "user-per-second", Double.class, userRate), burst));
+        byIp.put(budget, new TokenBuckets(slots, env.getProperty(prefix + "ip-per-second", Double.class, ipRate), burst));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return "OPTIONS".equalsIgnoreCase(request.getMethod())
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Budget budget = Budget.of(request);
+
+        if (rateLimitEnabled) {
+            String userId = userId(request);
+            long waitNanos = userId != null
+                    ? byUser.get(budget).tryAcquire(hasher.hash(userId))
+                    : byIp.get(budget).tryAcquire(hasher.hash(request.getRemoteAddr()));
+            if (waitNanos > 0) {
+                reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1,
+                        "Too many requests. Please slow down and try again shortly.");
+                return;
+            }
+        }
+
+        if (!concurrencyEnabled || !shed.containsKey(budget)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            shed.get(budget).incrementAndGet();
+            reject(response, 1, "The server is busy right now. Please try again in a moment.");
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Mono and streaming responses finish on another thread; hold the permit until they do
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(startedAt, response);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release(startedAt, response);
+            }
+        }
+    }
+
+    private void release(long startedAt, HttpServletResponse response) {
+        int status = response.getStatus();
+        concurrency.release(System.nanoTime() - startedAt, status == 503 || status == 504);
+    }
+
+    /**
+     * The authenticated user, or for public GETs (which the JWT filter doesn't
+     * authenticate) the user named by a valid bearer token; null means the
+     * caller is budgeted by IP.
+     */
+    private String userId(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return userId.toString();
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.getUserIdFromToken(header.substring(7)).toString();
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or forged: the request is anonymous
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of("success", false, "message", message)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Budget budget : Budget.values()) {
+            register(registry, budget, "user", byUser.get(budget));
+            register(registry, budget, "ip", byIp.get(budget));
+        }
+        shed.forEach((budget, count) -> FunctionCounter.builder("admission.concurrency.rejected", count, AtomicLong::get)
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("budget", budget.property())
+                .register(registry));
+        Gauge.builder("admission.concurrency.limit", concurrency, ConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent API requests")
+                .register(registry);
+        Gauge.builder("admission.inflight", concurrency, ConcurrencyLimit::inflight)
+                .description("API requests currently holding a concurrency permit")
+                .register(registry);
+    }
+
+    private static void register(MeterRegistry registry, Budget budget, String key, TokenBuckets buckets) {
+        FunctionCounter.builder("admission.rate.rejected", buckets.rejected, AtomicLong::get)
+                .description("Requests rejected because the caller's token bucket was empty")
+                .tags("budget", budget.property(), "key", key)
+                .register(registry);
+    }
+
+    /**
+     * Token buckets as a generic cell rate algorithm: each slot stores the
+     * time (nanos since start) at which its bucket will be full again. A
+     * request is admitted while that time is at most {@code burst - 1}
+     * intervals ahead of now, and pushes it one interval further.
+     */
+    static final class TokenBuckets {
+
+        private final long origin = System.nanoTime();
+        private final AtomicLongArray tat;
+        private final int mask;
+        private final long interval;
+        private final long tolerance;
+        final AtomicLong rejected = new AtomicLong();
+
+        TokenBuckets(int slots, double perSecond, double burstSeconds) {
+            int size = KeyHasher.tableSize(slots);
+            this.tat = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.tolerance = (long) (interval * (Math.max(1, perSecond * burstSeconds) - 1));
+        }
+
+        /** Takes a token and returns 0, or returns the nanos until one is available. */
+        long tryAcquire(long hash) {
+            long now = System.nanoTime() - origin;
+            int a = KeyHasher.first(hash, mask);
+            int b = KeyHasher.second(hash, mask);
+
+            long wait = Math.min(wait(tat.get(a), now), wait(tat.get(b), now));
+            if (wait > 0) {
+                rejected.incrementAndGet();
+                return wait;
+            }
+            advance(a, now);
+            advance(b, now);
+            return 0;
+        }
+
+        private long wait(long slot, long now) {
+            return Math.max(slot, now) - tolerance - now;
+        }
+
+        private void advance(int slot, long now) {
+            long seen;
+            long next;
+            do {
+                seen = tat.get(slot);
+                // A slot shared with a busier key never runs more than a full burst ahead
+                next = Math.min(Math.max(seen, now) + interval, now + tolerance + interval);
+            } while (!tat.compareAndSet(slot, seen, next));
+        }
+    }
+
+    /**
+     * AIMD limit on concurrent requests: a slow or overloaded response cuts
+     * the limit by 10% (at most once per latency target, since requests
+     * already in flight saw the same load), a fast one adds 1/limit while the
+     * limit is actually being used.
+     */
+    static final class ConcurrencyLimit {
+
+        private static final double BACKOFF = 0.9;
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicLong limitBits;
+        private final AtomicLong lastDecrease;
+        private final double minLimit;
+        private final double maxLimit;
+        private final long latencyTargetNanos;
+
+        ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyTargetNanos = latencyTargetNanos;
+            this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+            this.lastDecrease = new AtomicLong(System.nanoTime() - latencyTargetNanos);
+        }
+
+        boolean tryAcquire() {
+            int current;
+            do {
+                current = inflight.get();
+                if (current >= (int) limit()) {
+                    return false;
+                }
+            } while (!inflight.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void release(long latencyNanos, boolean overloaded) {
+            int before = inflight.getAndDecrement();
+            if (overloaded || latencyNanos > latencyTargetNanos) {
+                long now = System.nanoTime();
+                long last = lastDecrease.get();
+                if (now - last >= latencyTargetNanos && lastDecrease.compareAndSet(last, now)) {
+                    update(limit -> Math.max(minLimit, limit * BACKOFF));
+                }
+            } else if (before * 2 >= limit()) {
+                update(limit -> Math.min(maxLimit, limit + 1 / limit));
+            }
+        }
+
+        double limit() {
+            return Double.longBitsToDouble(limitBits.get());
+        }
+
+        int inflight() {
+            return inflight.get();
+        }
+
+        private void update(DoubleUnaryOperator change) {
+            long seen;
+            long next;
+            do {
+                seen = limitBits.get();
+                next = Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(seen)));
+            } while (seen != next && !limitBits.compareAndSet(seen, next));
+        }
+    }
+}
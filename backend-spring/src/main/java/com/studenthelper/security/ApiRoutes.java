@@ -0,0 +1,70 @@
+package com.studenthelper.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * The one list of which routes need a signed-in user. SecurityConfig permits
+ * everything that isn't {@link Access#AUTHENTICATED}, and
+ * JwtAuthenticationFilter leaves the token unread on {@link Access#PUBLIC}
+ * routes, so the two can no longer disagree.
+ */
+@Component
+public class ApiRoutes {
+
+    public enum Access {
+        /** Anyone; the token is not read even if sent. */
+        PUBLIC,
+        /** Anyone; a valid token still identifies the caller. */
+        OPTIONAL,
+        /** A valid token is required. */
+        AUTHENTICATED
+    }
+
+    private static final String GET = "GET";
+
+    private final RouteTable<Access> routes = new RouteTable<>(Access.AUTHENTICATED)
+            .add(null, "/api/auth/**", Access.PUBLIC)
+            .add(null, "/api/auth", Access.OPTIONAL)
+            .add(GET, "/api/health/**", Access.PUBLIC)
+            .add(null, "/api/health/**", Access.OPTIONAL)
+            .add(GET, "/api/distance/geocode", Access.PUBLIC)
+            .add(null, "/api/distance/geocode", Access.OPTIONAL)
+            .add(GET, "/api/distance/validate-location", Access.PUBLIC)
+            .add(null, "/api/distance/validate-location", Access.OPTIONAL)
+            .add(null, "/api/v2/distance/geocode", Access.OPTIONAL)
+            .add(null, "/api/v2/distance/validate-location", Access.OPTIONAL)
+            // Listings are public to browse; the owner's own lists need the token
+            .add(GET, "/api/pg", Access.PUBLIC)
+            .add(GET, "/api/pg/*", Access.PUBLIC)
+            .add(GET, "/api/pg/my-pgs", Access.OPTIONAL)
+            .add(GET, "/api/hostel", Access.PUBLIC)
+            .add(GET, "/api/hostel/*", Access.PUBLIC)
+            .add(GET, "/api/hostel/my-hostels", Access.OPTIONAL)
+            .add(GET, "/api/item", Access.PUBLIC)
+            .add(GET, "/api/item/**", Access.PUBLIC)
+            .add(GET, "/api/item/my-items/**", Access.OPTIONAL)
+            // Payment webhook verification; a signed-in payer is still identified
+            .add(null, "/api/payment/verify", Access.OPTIONAL);
+
+    public Access access(HttpServletRequest request) {
+        return access(request.getMethod(), path(request));
+    }
+
+    public Access access(String method, String path) {
+        return routes.lookup(method, path);
+    }
+
+    /** For SecurityConfig: requests that may proceed without authentication. */
+    public RequestMatcher permitted() {
+        return request -> access(request) != Access.AUTHENTICATED;
+    }
+
+    /** The request path without the context path, as the controllers see it. */
+    public static String path(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+}
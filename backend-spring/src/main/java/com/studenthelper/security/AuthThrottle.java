@@ -0,0 +1,170 @@
+package com.studenthelper.security;
+
+import com.studenthelper.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Brute-force throttle for credential checks (login) and code checks (email
+ * verification, password reset), consulted before the user row is loaded or a
+ * hash is computed. Each policy limits attempts per email and per client IP
+ * over its own sliding window. The client IP is resolved as described on
+ * {@link AdmissionControlFilter}.
+ *
+ * <p>Counters live in fixed-size striped tables rather than a map, so memory
+ * stays constant however many distinct emails or IPs an attacker cycles
+ * through. A key hashes (with a per-process random seed) to two slots and is
+ * judged by the smaller of the two, count-min style: collisions can only make
+ * a key look busier, never let it through. Every slot is one packed long
+ * updated by CAS, so the hot path takes no locks.
+ */
+@Component
+public class AuthThrottle implements MeterBinder {
+
+    private final KeyHasher hasher = new KeyHasher();
+
+    private final SlidingWindow loginByEmail;
+    private final SlidingWindow loginByIp;
+    private final SlidingWindow codeByEmail;
+    private final SlidingWindow codeByIp;
+
+    public AuthThrottle(Environment env) {
+        int slots = env.getProperty("security.throttle.slots", Integer.class, 16384);
+        this.loginByEmail = window(env, "login.email", slots, 10, 900);
+        this.loginByIp = window(env, "login.ip", slots, 100, 60);
+        this.codeByEmail = window(env, "code.email", slots, 5, 900);
+        this.codeByIp = window(env, "code.ip", slots, 30, 60);
+    }
+
+    /** Password login attempt. */
+    public void checkLogin(String email, String clientIp) {
+        check(loginByIp, clientIp, "Too many login attempts from this network. Please try again later.");
+        check(loginByEmail, normalize(email), "Too many login attempts for this account. Please try again later.");
+    }
+
+    /** Attempt to redeem an emailed code (verify email, reset password). */
+    public void checkCode(String email, String clientIp) {
+        check(codeByIp, clientIp, "Too many verification attempts from this network. Please try again later.");
+        check(codeByEmail, normalize(email), "Too many verification attempts for this account. Please request a new code later.");
+    }
+
+    private void check(SlidingWindow window, String key, String message) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        long retryAfterMillis = window.tryAcquire(hasher.hash(key), System.currentTimeMillis());
+        if (retryAfterMillis > 0) {
+            throw new TooManyRequestsException(message, Math.max(1, (retryAfterMillis + 999) / 1000));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static SlidingWindow window(Environment env, String name, int slots, int limit, long windowSeconds) {
+        return new SlidingWindow(slots,
+                env.getProperty("security.throttle." + name + ".limit", Integer.class, limit),
+                env.getProperty("security.throttle." + name + ".window-seconds", Long.class, windowSeconds) * 1000);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "login", "email", loginByEmail);
+        register(registry, "login", "ip", loginByIp);
+        register(registry, "code", "email", codeByEmail);
+        register(registry, "code", "ip", codeByIp);
+    }
+
+    private static void register(MeterRegistry registry, String policy, String key, SlidingWindow window) {
+        FunctionCounter.builder("auth.throttle.rejected", window.rejected, AtomicLong::get)
+                .description("Authentication attempts rejected before touching the database")
+                .tags("policy", policy, "key", key)
+                .register(registry);
+    }
+
+    /**
+     * Sliding-window counter (previous window's count weighted by how much of
+     * it still overlaps, plus the current count) in a striped table. Slot
+     * layout: window number (24 bits) | previous count (20) | current count (20).
+     */
+    static final class SlidingWindow {
+
+        private static final long COUNT_MASK = (1L << 20) - 1;
+        private static final long WINDOW_MASK = (1L << 24) - 1;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final int limit;
+        private final long windowMillis;
+        final AtomicLong rejected = new AtomicLong();
+
+        SlidingWindow(int slots, int limit, long windowMillis) {
+            int size = KeyHasher.tableSize(slots);
+            this.slots = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.limit = limit;
+            this.windowMillis = windowMillis;
+        }
+
+        /** Counts the attempt and returns 0, or returns the millis until the window has room again. */
+        long tryAcquire(long hash, long now) {
+            if (estimate(hash, now) >= limit) {
+                rejected.incrementAndGet();
+                return windowMillis - now % windowMillis;
+            }
+            long window = (now / windowMillis) & WINDOW_MASK;
+            increment(KeyHasher.first(hash, mask), window);
+            increment(KeyHasher.second(hash, mask), window);
+            return 0;
+        }
+
+        /** Attempts counted against the key at {@code now}: the smaller of its two slots. */
+        double estimate(long hash, long now) {
+            long window = (now / windowMillis) & WINDOW_MASK;
+            double remaining = 1.0 - (double) (now % windowMillis) / windowMillis;
+            return Math.min(estimate(KeyHasher.first(hash, mask), window, remaining),
+                    estimate(KeyHasher.second(hash, mask), window, remaining));
+        }
+
+        private double estimate(int slot, long window, double remaining) {
+            long rolled = roll(slots.get(slot), window);
+            return previous(rolled) * remaining + current(rolled);
+        }
+
+        private void increment(int slot, long window) {
+            long seen;
+            long next;
+            do {
+                seen = slots.get(slot);
+                long rolled = roll(seen, window);
+                next = current(rolled) == COUNT_MASK ? rolled : rolled + 1;
+            } while (seen != next && !slots.compareAndSet(slot, seen, next));
+        }
+
+        /** The slot as it reads in {@code window}: shifted forward one window, or cleared if older. */
+        private static long roll(long slot, long window) {
+            long stored = slot >>> 40;
+            if (stored == window) {
+                return slot;
+            }
+            long previous = stored == ((window - 1) & WINDOW_MASK) ? current(slot) : 0;
+            return (window << 40) | (previous << 20);
+        }
+
+        private static long previous(long slot) {
+            return (slot >>> 20) & COUNT_MASK;
+        }
+
+        private static long current(long slot) {
+            return slot & COUNT_MASK;
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.studenthelper.security;
 
-import com.studenthelper.entity.User;
+import com.studenthelper.cache.UserCache;
 import com.studenthelper.repository.UserRepository;
 import com.studenthelper.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -20,6 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -32,6 +35,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private ApiRoutes apiRoutes;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -42,30 +54,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         try {
-            // Skip filter for OPTIONS requests (preflight)
-            if ("OPTIONS".equals(request.getMethod())) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            // Skip JWT validation for public endpoints (auth endpoints allow all methods)
+            // Public endpoints never read the token; see ApiRoutes for the route table
             String requestURI = request.getRequestURI();
-            String method = request.getMethod();
-            
-            // Allow all methods for auth endpoints (login, signup, etc.)
-            if (requestURI.startsWith("/api/auth/")) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            // Allow GET requests for other public endpoints
-            if ("GET".equals(method) && (
-                requestURI.equals("/api/health") ||
-                requestURI.startsWith("/api/distance/") ||
-                (requestURI.startsWith("/api/pg") && !requestURI.contains("/my-pgs")) ||
-                (requestURI.startsWith("/api/hostel") && !requestURI.contains("/my-hostels")) ||
-                (requestURI.startsWith("/api/item") && !requestURI.contains("/my-items"))
-            )) {
+            if (apiRoutes.access(request) == ApiRoutes.Access.PUBLIC) {
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -74,40 +65,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             
             if (jwt != null) {
-                boolean isValid = jwtUtil.validateToken(jwt);
-                
-                if (isValid) {
-                    try {
-                        Long userId = jwtUtil.getUserIdFromToken(jwt);
-                        
-                        try {
-                            User user = userRepository.findById(userId).orElse(null);
-                            
-                            if (user != null) {
-                                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                                String role = "ROLE_" + user.getRole().name().toUpperCase();
-                                authorities.add(new SimpleGrantedAuthority(role));
-                                
-                                UsernamePasswordAuthenticationToken authentication =
-                                        new UsernamePasswordAuthenticationToken(user, null, authorities);
-                                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                                
-                                SecurityContextHolder.getContext().setAuthentication(authentication);
-                                
-                                // Also set request attributes for backward compatibility
-                                request.setAttribute("userId", userId);
-                                request.setAttribute("user", user);
-                            } else {
-                                logger.error("User not found in DB for userId: " + userId);
-                            }
-                        } catch (Exception dbError) {
-                            logger.error("Database error while looking up user: " + dbError.getMessage(), dbError);
+                try {
+                    Claims claims = jwtUtil.parseAccessToken(jwt);
+
+                    if (tokenRevocationList.isRevoked(claims)) {
+                        logger.debug("Revoked JWT token provided for: " + requestURI);
+                    } else {
+                        Long userId = JwtUtil.getUserId(claims);
+                        String role = claims.get("role", String.class);
+                        if (role == null || role.isBlank()) {
+                            throw new JwtException("Access token has no role");
+                        }
+                        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                        authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT)));
+
+                        AccessTokenAuthentication authentication = new AccessTokenAuthentication(userId, authorities,
+                                id -> userCache.get(id, key -> userRepository.findById(key).orElse(null)));
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                        // A user deleted since the token was issued is anonymous, never a null principal
+                        if (authentication.getPrincipal() == null) {
+                            logger.debug("JWT for deleted user {} provided for: {}", userId, requestURI);
+                        } else {
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                            // Also set request attributes for backward compatibility
+                            request.setAttribute("userId", userId);
+                            request = new AuthenticatedRequest(request, authentication);
                         }
-                    } catch (Exception e) {
-                        logger.error("Error setting authentication: " + e.getMessage(), e);
                     }
-                } else {
-                    // Token is invalid - log but continue (Spring Security will handle authorization)
+                } catch (JwtException | IllegalArgumentException e) {
+                    // Token is invalid or expired - log but continue (Spring Security will handle authorization)
                     logger.debug("Invalid JWT token provided for: " + requestURI);
                 }
             } else {
@@ -121,6 +109,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /** Resolves the "user" attribute from the authentication's principal. */
+    private static final class AuthenticatedRequest extends HttpServletRequestWrapper {
+
+        private final AccessTokenAuthentication authentication;
+
+        AuthenticatedRequest(HttpServletRequest request, AccessTokenAuthentication authentication) {
+            super(request);
+            this.authentication = authentication;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            Object value = super.getAttribute(name);
+            if (value == null && "user".equals(name)) {
+                value = authentication.getPrincipal();
+            }
+            return value;
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,51 @@
+package com.studenthelper.security;
+
+import java.security.SecureRandom;
+
+/**
+ * 64-bit hash for the striped counter tables (auth throttle, admission
+ * control) and the token revocation filter. The seed is random per process
+ * so clients can't pick keys that collide on purpose.
+ */
+final class KeyHasher {
+
+    private final long seed = new SecureRandom().nextLong();
+
+    /** Seeded FNV-1a, finished with the murmur3 mixer. */
+    long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    long hash(long key) {
+        return mix(seed ^ key);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /** Table size for {@code slots}, rounded up to a power of two. */
+    static int tableSize(int slots) {
+        return Integer.highestOneBit(Math.max(2, slots - 1)) << 1;
+    }
+
+    /** First of the two slots a key occupies. */
+    static int first(long hash, int mask) {
+        return (int) hash & mask;
+    }
+
+    /** Second slot, always different from the first. */
+    static int second(long hash, int mask) {
+        int a = (int) hash & mask;
+        int b = (int) (hash >>> 32) & mask;
+        return b == a ? (a + 1) & mask : b;
+    }
+}
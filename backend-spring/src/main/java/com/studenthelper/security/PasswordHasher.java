@@ -0,0 +1,174 @@
+package com.studenthelper.security;
+
+import com.studenthelper.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing on a small dedicated pool instead of the request
+ * thread. bcrypt/Argon2 are deliberately CPU-bound, so the pool is sized well
+ * below the core count ({@code security.password.threads}) and its queue is
+ * bounded: a login burst waits its turn or is turned away with
+ * {@link ServerBusyException} rather than starving every other endpoint.
+ *
+ * <p>The algorithm and cost come from the {@link PasswordEncoder} bean; hashes
+ * made with older parameters are upgraded after a successful login via
+ * {@link #rehashInBackground}.
+ */
+@Component
+public class PasswordHasher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private volatile Timer queueWait;
+    private volatile Map<String, Timer> hashTimers = Map.of();
+    private volatile Counter rejected;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password.threads:0}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.timeout-ms:5000}") long timeoutMillis) {
+        this.encoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit("encode", () -> encoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit("verify", () -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /** True when the hash was made with another algorithm or a lower cost than configured. */
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-hashes with the current parameters off the request path and hands the
+     * new hash to {@code store}. Skipped when the pool is saturated; the next
+     * login tries again.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> store) {
+        try {
+            submit("rehash", () -> {
+                store.accept(encoder.encode(rawPassword));
+                return null;
+            });
+        } catch (ServerBusyException e) {
+            logger.debug("Skipping password rehash, hashing pool is saturated");
+        }
+    }
+
+    private <T> Future<T> submit(String operation, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueWait, startedAt - queuedAt);
+                try {
+                    return task.call();
+                } finally {
+                    record(hashTimers.get(operation), System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServerBusyException("Too many sign-in requests right now. Please try again in a moment.");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: drop it so the pool doesn't hash for a client that has gone
+            future.cancel(false);
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServerBusyException("Too many sign-in requests right now. Please try again in a moment.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new ServerBusyException("Password check was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hash", Tags.empty()).bindTo(registry);
+        queueWait = Timer.builder("password.hash.queue")
+                .description("Time a hashing task waited for a free hashing thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("password.hash.rejected")
+                .description("Hashing requests shed because the queue was full or the wait timed out")
+                .register(registry);
+        Map<String, Timer> timers = new HashMap<>();
+        for (String operation : List.of("encode", "verify", "rehash")) {
+            timers.put(operation, Timer.builder("password.hash")
+                    .description("Time to compute one password hash or verification")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        hashTimers = Map.copyOf(timers);
+    }
+}
@@ -0,0 +1,140 @@
+package com.studenthelper.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps method + path to a value with a trie over path segments, built once at
+ * startup. Patterns are literal segments, {@code *} (exactly one segment) and
+ * a trailing {@code **} (any number of segments, including none); a null
+ * method matches every method.
+ *
+ * <p>The most specific rule wins: at each segment a literal beats {@code *},
+ * which beats {@code **}, and a rule for the request's method beats one for
+ * any method on the same pattern. Lookups walk the path in place without
+ * splitting it, so they don't allocate.
+ */
+public final class RouteTable<T> {
+
+    private final Node<T> root = new Node<>();
+    private final T fallback;
+
+    public RouteTable(T fallback) {
+        this.fallback = fallback;
+    }
+
+    /** Adds a rule; a later rule for the same method and pattern replaces the earlier one. */
+    public RouteTable<T> add(String method, String pattern, T value) {
+        Node<T> node = root;
+        String[] segments = pattern.split("/");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("** must be the last segment: " + pattern);
+                }
+                if (node.rest == null) {
+                    node.rest = new Node<>();
+                }
+                node = node.rest;
+            } else if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.child(segment);
+            }
+        }
+        node.put(method, value);
+        return this;
+    }
+
+    public T lookup(String method, String path) {
+        T value = match(root, method, path, 0);
+        return value != null ? value : fallback;
+    }
+
+    private T match(Node<T> node, String method, String path, int from) {
+        int start = from;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start >= path.length()) {
+            T value = node.get(method);
+            if (value == null && node.rest != null) {
+                value = node.rest.get(method);
+            }
+            return value;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        for (Node<T> child : node.children) {
+            if (child.segment.length() == end - start && path.startsWith(child.segment, start)) {
+                T value = match(child, method, path, end);
+                if (value != null) {
+                    return value;
+                }
+                break;
+            }
+        }
+        if (node.wildcard != null) {
+            T value = match(node.wildcard, method, path, end);
+            if (value != null) {
+                return value;
+            }
+        }
+        return node.rest != null ? node.rest.get(method) : null;
+    }
+
+    private static final class Node<T> {
+
+        private final String segment;
+        private final List<Node<T>> children = new ArrayList<>();
+        private Node<T> wildcard;
+        private Node<T> rest;
+        private final Map<String, T> byMethod = new HashMap<>();
+        private T anyMethod;
+
+        Node() {
+            this(null);
+        }
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node<T> child(String segment) {
+            for (Node<T> child : children) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            Node<T> child = new Node<>(segment);
+            children.add(child);
+            return child;
+        }
+
+        void put(String method, T value) {
+            if (method == null) {
+                anyMethod = value;
+            } else {
+                byMethod.put(method, value);
+            }
+        }
+
+        T get(String method) {
+            T value = byMethod.isEmpty() ? null : byMethod.get(method);
+            return value != null ? value : anyMethod;
+        }
+    }
+}
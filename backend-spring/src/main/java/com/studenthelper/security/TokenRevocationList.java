@@ -0,0 +1,165 @@
+package com.studenthelper.security;
+
+import com.studenthelper.cache.CacheInvalidation;
+import com.studenthelper.cache.CacheInvalidationBus;
+import com.studenthelper.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access tokens revoked before they expire: single tokens on logout (by jti)
+ * and every token of a user issued up to a point in time (password reset).
+ * An entry only has to outlive the access token lifetime, so the set stays
+ * small and lives in memory; revocations reach the other nodes over the
+ * {@link CacheInvalidationBus}.
+ *
+ * <p>The per-request check is a Bloom filter probe, which answers "not
+ * revoked" for nearly every token without touching the exact map. The filter
+ * can't forget, so {@link #purge()} rebuilds it from the live entries.
+ */
+@Component
+public class TokenRevocationList implements MeterBinder {
+
+    public static final String TOKEN_REGION = "token";
+    public static final String USER_REGION = "token-user";
+
+    private static final int PROBES = 3;
+
+    private final CacheInvalidationBus bus;
+    private final long retainMillis;
+    private final KeyHasher hasher = new KeyHasher();
+    private final int bits;
+    private volatile AtomicLongArray bloom;
+
+    // jti -> when the entry may be forgotten
+    private final Map<Long, Long> revokedTokens = new ConcurrentHashMap<>();
+    // user id -> tokens issued at or before this epoch millisecond are revoked
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TokenRevocationList(
+            CacheInvalidationBus bus,
+            JwtUtil jwtUtil,
+            @Value("${security.revocation.bloom-bits:1048576}") int bloomBits) {
+        this.bus = bus;
+        this.retainMillis = jwtUtil.getAccessExpirationMillis();
+        this.bits = KeyHasher.tableSize(Math.max(64, bloomBits));
+        this.bloom = new AtomicLongArray(bits / 64);
+        bus.register(TOKEN_REGION, invalidation -> addToken(invalidation.getId()));
+        bus.register(USER_REGION, invalidation -> addUser(invalidation.getId(), invalidation.getTimestamp()));
+    }
+
+    public void revokeToken(long tokenId) {
+        bus.publish(new CacheInvalidation(TOKEN_REGION, tokenId, List.of()));
+    }
+
+    /**
+     * Revokes every access token the user was issued up to now. Call it after
+     * the change that invalidates them (the new password is saved), so a token
+     * minted against the old state can't be newer than the cutoff. The cutoff
+     * is stamped here, once, and broadcast with the revocation.
+     */
+    public void revokeUser(Long userId) {
+        if (userId != null) {
+            CacheInvalidation invalidation = new CacheInvalidation(USER_REGION, userId, List.of());
+            invalidation.setTimestamp(System.currentTimeMillis());
+            bus.publish(invalidation);
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        boolean revoked = isUserRevoked(JwtUtil.getUserId(claims), JwtUtil.getIssuedAtMillis(claims))
+                || isTokenRevoked(JwtUtil.getTokenId(claims));
+        if (revoked) {
+            rejected.incrementAndGet();
+        }
+        return revoked;
+    }
+
+    private boolean isUserRevoked(Long userId, long issuedAtMillis) {
+        if (revokedUsers.isEmpty()) {
+            return false;
+        }
+        Long cutoff = revokedUsers.get(userId);
+        return cutoff != null && issuedAtMillis <= cutoff;
+    }
+
+    private boolean isTokenRevoked(long tokenId) {
+        AtomicLongArray filter = bloom;
+        long hash = hasher.hash(tokenId);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = probe(hash, i);
+            if ((filter.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    private void addToken(Long tokenId) {
+        if (tokenId == null) {
+            return;
+        }
+        revokedTokens.put(tokenId, System.currentTimeMillis() + retainMillis);
+        set(bloom, tokenId);
+    }
+
+    private void addUser(Long userId, Long cutoff) {
+        if (userId != null) {
+            // Peers still on the previous message format send no timestamp
+            revokedUsers.merge(userId, cutoff != null ? cutoff : System.currentTimeMillis(), Math::max);
+        }
+    }
+
+    /** Drops entries whose tokens have expired anyway and rebuilds the filter without them. */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(forgetAt -> forgetAt <= now);
+        revokedUsers.values().removeIf(cutoff -> cutoff + retainMillis <= now);
+
+        AtomicLongArray fresh = new AtomicLongArray(bits / 64);
+        revokedTokens.keySet().forEach(tokenId -> set(fresh, tokenId));
+        bloom = fresh;
+        // Revocations that landed in the old filter while this one was filling
+        revokedTokens.keySet().forEach(tokenId -> set(fresh, tokenId));
+    }
+
+    private void set(AtomicLongArray filter, long tokenId) {
+        long hash = hasher.hash(tokenId);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = probe(hash, i);
+            long mask = 1L << bit;
+            filter.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+        }
+    }
+
+    /** Double hashing: bit i is h1 + i*h2 over the filter size. */
+    private int probe(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & (bits - 1);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("token.revocation.entries", this, list -> list.revokedTokens.size() + list.revokedUsers.size())
+                .description("Revoked access tokens and users still inside the access token lifetime")
+                .register(registry);
+        FunctionCounter.builder("token.revocation.rejected", rejected, AtomicLong::get)
+                .description("Requests carrying a revoked access token")
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.studenthelper.security;
+
+import com.studenthelper.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Revokes a user's access tokens when the user is deleted or their role
+ * changes. Access tokens carry the role and are trusted without a database
+ * read, so otherwise both would keep working until the tokens expire.
+ * Revocation runs after commit, so a login racing the change can't mint a
+ * token that is newer than the cutoff but still reflects the old row.
+ */
+@Component
+public class UserTokenRevoker {
+
+    @Autowired
+    @Lazy
+    private TokenRevocationList tokenRevocationList;
+
+    @PostUpdate
+    void roleChanged(User user) {
+        if (user.getPersistedRole() != null && user.getPersistedRole() != user.getRole()) {
+            user.setPersistedRole(user.getRole());
+            revokeAfterCommit(user.getId());
+        }
+    }
+
+    @PostRemove
+    void deleted(User user) {
+        revokeAfterCommit(user.getId());
+    }
+
+    private void revokeAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokenRevocationList.revokeUser(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationList.revokeUser(userId);
+            }
+        });
+    }
+}
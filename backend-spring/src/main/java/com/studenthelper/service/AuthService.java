@@ -14,6 +14,8 @@ public interface AuthService {
     AuthResponse forgotPassword(ForgotPasswordRequest request);
     AuthResponse resetPassword(ResetPasswordRequest request);
     AuthResponse googleAuth(GoogleAuthRequest request);
+    AuthResponse refresh(String refreshToken);
+    AuthResponse logout(String refreshToken, String accessToken);
     AuthResponse.UserData getMe(Long userId);
 }
 
@@ -8,11 +8,13 @@ import com.studenthelper.dto.ResetPasswordRequest;
 import com.studenthelper.entity.User;
 import com.studenthelper.mapper.UserMapper;
 import com.studenthelper.repository.UserRepository;
+import com.studenthelper.security.PasswordHasher;
+import com.studenthelper.security.TokenRevocationList;
 import com.studenthelper.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,7 +31,7 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -43,6 +45,12 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private GoogleTokenVerifierService googleTokenVerifierService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     @Override
@@ -62,7 +70,7 @@ public class AuthServiceImpl implements AuthService {
         User user = new User();
         user.setName(request.getName().trim());
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         user.setPhoneNumber(cleanPhone);
         user.setCity(request.getCity().trim());
         user.setRole(User.Role.valueOf(normalizedRole));
@@ -73,12 +81,7 @@ public class AuthServiceImpl implements AuthService {
         assignNewVerificationCode(user);
         userRepository.save(user);
 
-        try {
-            emailVerificationService.sendVerificationCode(user.getEmail(), user.getEmailVerificationCode());
-        } catch (Exception e) {
-            logger.error("Failed to send verification email to {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to send verification email. Configure MAIL_USERNAME and MAIL_PASSWORD (Gmail App Password), then try again.");
-        }
+        emailVerificationService.sendVerificationCode(user.getEmail(), user.getEmailVerificationCode());
 
         AuthResponse response = new AuthResponse();
         response.setSuccess(true);
@@ -105,10 +108,20 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Email is not verified. Please verify your email first.");
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            Long userId = user.getId();
+            String oldHash = user.getPassword();
+            passwordHasher.rehashInBackground(password, newHash -> {
+                if (userRepository.updatePasswordIfUnchanged(userId, oldHash, newHash) == 1) {
+                    logger.info("Upgraded password hash for user {}", userId);
+                }
+            });
+        }
+
         return buildAuthenticatedResponse(user, "Login successful");
     }
 
@@ -142,6 +155,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public AuthResponse resendVerificationCode(String email) {
         if (email == null || email.trim().isEmpty()) {
             throw new RuntimeException("Email is required");
@@ -162,12 +176,7 @@ public class AuthServiceImpl implements AuthService {
         assignNewVerificationCode(user);
         userRepository.save(user);
 
-        try {
-            emailVerificationService.sendVerificationCode(user.getEmail(), user.getEmailVerificationCode());
-        } catch (Exception e) {
-            logger.error("Failed to resend verification email to {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to resend verification email. Please try again.");
-        }
+        emailVerificationService.sendVerificationCode(user.getEmail(), user.getEmailVerificationCode());
 
         AuthResponse response = new AuthResponse();
         response.setSuccess(true);
@@ -178,6 +187,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public AuthResponse forgotPassword(ForgotPasswordRequest request) {
         if (request == null || request.getEmail() == null || request.getEmail().trim().isEmpty()) {
             throw new RuntimeException("Email is required");
@@ -198,12 +208,7 @@ public class AuthServiceImpl implements AuthService {
         assignNewVerificationCode(user);
         userRepository.save(user);
 
-        try {
-            emailVerificationService.sendPasswordResetCode(user.getEmail(), user.getEmailVerificationCode());
-        } catch (Exception e) {
-            logger.error("Failed to send password reset code to {}", user.getEmail(), e);
-            throw new RuntimeException("Failed to send password reset code. Please try again.");
-        }
+        emailVerificationService.sendPasswordResetCode(user.getEmail(), user.getEmailVerificationCode());
 
         AuthResponse response = new AuthResponse();
         response.setSuccess(true);
@@ -240,11 +245,15 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Password must be at least 8 characters with uppercase, lowercase, number, and special character");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHasher.encode(request.getNewPassword()));
         user.setEmailVerificationCode(null);
         user.setEmailVerificationExpiresAt(null);
         userRepository.save(user);
 
+        // Sign out every session that used the old password
+        refreshTokenService.revokeAll(user.getId());
+        tokenRevocationList.revokeUser(user.getId());
+
         AuthResponse response = new AuthResponse();
         response.setSuccess(true);
         response.setMessage("Password reset successful. Please login with your new password.");
@@ -295,7 +304,7 @@ public class AuthServiceImpl implements AuthService {
                 ? googleUserInfo.getName().trim()
                 : "Google User");
         newUser.setEmail(email);
-        newUser.setPassword(passwordEncoder.encode("GOOGLE_AUTH_" + googleUserInfo.getGoogleId()));
+        newUser.setPassword(passwordHasher.encode("GOOGLE_AUTH_" + googleUserInfo.getGoogleId()));
         newUser.setPhoneNumber(normalizePhone(request.getPhoneNumber()));
         newUser.setCity(request.getCity().trim());
         newUser.setRole(User.Role.valueOf(normalizedRole));
@@ -386,8 +395,51 @@ public class AuthServiceImpl implements AuthService {
         user.setEmailVerificationExpiresAt(LocalDateTime.now().plusMinutes(15));
     }
 
+    // Not @Transactional: a reused token's family must stay revoked even though the refresh fails
+    @Override
+    public AuthResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new RuntimeException("Refresh token is required");
+        }
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken.trim());
+        if (rotation == null) {
+            throw new RuntimeException("Session expired. Please login again.");
+        }
+
+        User user = userRepository.findById(rotation.userId()).orElse(null);
+        if (user == null) {
+            refreshTokenService.revokeAll(rotation.userId());
+            throw new RuntimeException("Session expired. Please login again.");
+        }
+        return buildAuthenticatedResponse(user, "Token refreshed", rotation.refreshToken());
+    }
+
+    @Override
+    public AuthResponse logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken.trim());
+        }
+        if (accessToken != null) {
+            try {
+                tokenRevocationList.revokeToken(JwtUtil.getTokenId(jwtUtil.parseAccessToken(accessToken)));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Already expired or not ours: nothing to revoke
+            }
+        }
+
+        AuthResponse response = new AuthResponse();
+        response.setSuccess(true);
+        response.setMessage("Logged out successfully");
+        return response;
+    }
+
     private AuthResponse buildAuthenticatedResponse(User user, String message) {
-        String token = jwtUtil.generateToken(user.getId());
+        return buildAuthenticatedResponse(user, message, refreshTokenService.issue(user.getId()));
+    }
+
+    private AuthResponse buildAuthenticatedResponse(User user, String message, String refreshToken) {
+        String token = jwtUtil.generateAccessToken(user);
 
         AuthResponse.UserData userData = userMapper.toUserData(user);
 
@@ -395,6 +447,8 @@ public class AuthServiceImpl implements AuthService {
         response.setSuccess(true);
         response.setMessage(message);
         response.setToken(token);
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn(jwtUtil.getAccessExpirationMillis() / 1000);
         response.setUser(userData);
         response.setEmail(user.getEmail());
         response.setRequiresVerification(false);
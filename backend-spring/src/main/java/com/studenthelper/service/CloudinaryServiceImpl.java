@@ -2,16 +2,20 @@ package com.studenthelper.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.core.annotation.Timed;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@Timed(value = "external.calls", extraTags = {"client", "cloudinary"}, histogram = true)
 public class CloudinaryServiceImpl implements CloudinaryService {
 
     private Cloudinary cloudinary;
@@ -19,24 +23,41 @@ public class CloudinaryServiceImpl implements CloudinaryService {
     private final String cloudName;
     private final String apiKey;
     private final String apiSecret;
+    private final String uploadPrefix;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final int connectTimeoutMs;
+    private final int timeoutMs;
 
     public CloudinaryServiceImpl(
             @Value("${cloudinary.cloud_name}") String cloudName,
             @Value("${cloudinary.api_key}") String apiKey,
-            @Value("${cloudinary.api_secret}") String apiSecret) {
+            @Value("${cloudinary.api_secret}") String apiSecret,
+            @Value("${cloudinary.upload_prefix:}") String uploadPrefix,
+            @Value("${http.client.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${cloudinary.timeout-ms:60000}") int timeoutMs,
+            PoolingHttpClientConnectionManager cloudinaryConnectionManager) {
 
         this.cloudName = cloudName;
         this.apiKey = apiKey;
         this.apiSecret = apiSecret;
+        this.uploadPrefix = uploadPrefix;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.timeoutMs = timeoutMs;
+        this.connectionManager = cloudinaryConnectionManager;
     }
 
     private Cloudinary getCloudinary() {
         if (cloudinary == null) {
-            Map<String, String> config = Map.of(
-                    "cloud_name", cloudName,
-                    "api_key", apiKey,
-                    "api_secret", apiSecret
-            );
+            Map<String, Object> config = new HashMap<>();
+            config.put("cloud_name", cloudName);
+            config.put("api_key", apiKey);
+            config.put("api_secret", apiSecret);
+            // Points uploads at a different API host (e.g. the load-test stub); empty means api.cloudinary.com
+            if (uploadPrefix != null && !uploadPrefix.isBlank()) {
+                config.put("upload_prefix", uploadPrefix);
+            }
+            // Keep-alive connections shared by all uploads (see HttpClientConfig)
+            config.put("properties", Map.of("connectionManager", connectionManager));
             cloudinary = new Cloudinary(config);
         }
         return cloudinary;
@@ -52,7 +73,9 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                         "width", 1200,
                         "height", 800,
                         "crop", "limit",
-                        "quality", "auto"
+                        "quality", "auto",
+                        "connect_timeout", connectTimeoutMs,
+                        "timeout", timeoutMs
                 )
         );
         return (String) uploadResult.get("secure_url");
@@ -65,7 +88,9 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                 ObjectUtils.asMap(
                         "resource_type", "video",
                         "folder", folder,
-                        "quality", "auto"
+                        "quality", "auto",
+                        "connect_timeout", connectTimeoutMs,
+                        "timeout", timeoutMs
                 )
         );
         return (String) uploadResult.get("secure_url");
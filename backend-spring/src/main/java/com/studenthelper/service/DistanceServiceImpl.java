@@ -1,26 +1,36 @@
 package com.studenthelper.service;
 
+import com.studenthelper.geo.WaterBodies;
 import com.studenthelper.util.DistanceUtil;
 import com.studenthelper.util.GeocodingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class DistanceServiceImpl implements DistanceService {
 
     private static final Logger logger = LoggerFactory.getLogger(DistanceServiceImpl.class);
 
+    // Whole words only, so "Seawoods" or "Waterfront Road" aren't taken for water
+    private static final Set<String> WATER_WORDS = Set.of("ocean", "sea", "water", "lake", "river", "bay", "gulf", "strait");
+
     @Autowired
     private GeocodingUtil geocodingUtil;
 
     @Autowired
     private DistanceUtil distanceUtil;
 
+    @Autowired
+    private WaterBodies waterBodies;
+
     @Override
     public GeocodingUtil.GeocodeResult geocode(String address, String city) {
         if (address == null || address.trim().isEmpty()) {
@@ -36,38 +46,51 @@ public class DistanceServiceImpl implements DistanceService {
 
     @Override
     public Map<String, Object> validateLocation(Double lat, Double lng) {
-        Map<String, Object> result = new HashMap<>();
-        
+        return validateLocation(waterBodies, geocodingUtil, lat, lng).block();
+    }
+
+    /**
+     * Land/water check. A point inside a local water polygon is rejected, and
+     * a miss inside the polygons' coverage is land, both without a network
+     * call. Anywhere else (rivers and lakes the local set doesn't have) the
+     * point is reverse geocoded and the address checked for water words; if
+     * that lookup fails the location is accepted.
+     */
+    static Mono<Map<String, Object>> validateLocation(WaterBodies waterBodies, GeocodingUtil geocodingUtil,
+                                                      Double lat, Double lng) {
         if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
-            result.put("valid", false);
-            result.put("message", "Coordinates are outside valid range");
-            return result;
+            return Mono.just(result(false, "Coordinates are outside valid range"));
         }
 
-        try {
-            String address = geocodingUtil.reverseGeocode(lat, lng);
-            String addressLower = address.toLowerCase();
-            String[] waterTerms = {"ocean", "sea", "water", "lake", "river", "bay", "gulf", "strait"};
-            boolean isWater = false;
-            for (String term : waterTerms) {
-                if (addressLower.contains(term)) {
-                    isWater = true;
-                    break;
-                }
-            }
+        String waterBody = waterBodies.waterBodyAt(lat, lng);
+        if (waterBody != null) {
+            return Mono.just(result(false, "This location appears to be in water (" + waterBody + "). Please select a location on land."));
+        }
+        if (waterBodies.covers(lat, lng)) {
+            return Mono.just(result(true, "Location is valid"));
+        }
+        return geocodingUtil.reverseGeocodeAsync(lat, lng)
+                .map(DistanceServiceImpl::describeLocation)
+                .onErrorResume(e -> {
+                    logger.debug("Reverse geocoding for location validation failed: {}", e.getMessage());
+                    return Mono.just(result(true, "Location validation completed"));
+                });
+    }
 
-            result.put("valid", !isWater);
-            if (isWater) {
-                result.put("message", "This location appears to be in water. Please select a location on land.");
-            } else {
-                result.put("message", "Location is valid");
-                result.put("address", address);
+    static Map<String, Object> describeLocation(String address) {
+        String addressLower = address.toLowerCase(Locale.ROOT);
+        for (String word : addressLower.split("[^\\p{L}]+")) {
+            if (WATER_WORDS.contains(word)) {
+                return result(false, "This location appears to be in water. Please select a location on land.");
             }
-        } catch (Exception e) {
-            result.put("valid", true);
-            result.put("message", "Location validation completed");
         }
+        return result(true, "Location is valid");
+    }
 
+    private static Map<String, Object> result(boolean valid, String message) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("valid", valid);
+        result.put("message", message);
         return result;
     }
 
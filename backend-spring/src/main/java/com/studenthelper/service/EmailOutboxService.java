@@ -0,0 +1,308 @@
+package com.studenthelper.service;
+
+import com.studenthelper.entity.OutboundEmail;
+import com.studenthelper.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable outbound mail queue. Callers {@link #enqueue} a row in their own
+ * transaction and return immediately; a poller claims due rows in batches and
+ * hands each batch to a worker, which delivers it over a single SMTP
+ * connection. Failed deliveries are retried with exponential backoff and
+ * marked FAILED after {@code mail.outbox.max-attempts}.
+ *
+ * <p>Claims lock rows with SKIP LOCKED and lease them for
+ * {@code mail.outbox.claim-seconds}, so several instances can poll the same
+ * table, and a row claimed by an instance that died is picked up again once
+ * its lease runs out. Delivery is therefore at-least-once.
+ *
+ * <p>Bodies carry verification and reset codes, so a row's body is blanked
+ * once it is SENT or FAILED; the rest of the row is kept for
+ * {@code mail.outbox.retention-days} as a delivery record.
+ */
+@Service
+public class EmailOutboxService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final Set<OutboundEmail.Status> QUEUED = Set.of(OutboundEmail.Status.PENDING, OutboundEmail.Status.SENDING);
+    private static final Set<OutboundEmail.Status> FINISHED = Set.of(OutboundEmail.Status.SENT, OutboundEmail.Status.FAILED);
+
+    static final String REDACTED_BODY = "";
+
+    private final OutboundEmailRepository repository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transaction;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration claimLease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration retention;
+    private final ExecutorService workerPool;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Timer batchTimer;
+
+    public EmailOutboxService(
+            OutboundEmailRepository repository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.mail.username:${MAIL_FROM:no-reply@studenthelper.local}}") String fromEmail,
+            @Value("${mail.outbox.batch-size:20}") int batchSize,
+            @Value("${mail.outbox.workers:2}") int workers,
+            @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${mail.outbox.claim-seconds:300}") long claimSeconds,
+            @Value("${mail.outbox.backoff-base-seconds:10}") long backoffBaseSeconds,
+            @Value("${mail.outbox.backoff-max-seconds:600}") long backoffMaxSeconds,
+            @Value("${mail.outbox.retention-days:7}") long retentionDays) {
+        this.repository = repository;
+        this.mailSender = mailSender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.fromEmail = StringUtils.hasText(fromEmail) ? fromEmail.trim() : "no-reply@studenthelper.local";
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.claimLease = Duration.ofSeconds(claimSeconds);
+        this.backoffBase = Duration.ofSeconds(backoffBaseSeconds);
+        this.backoffMax = Duration.ofSeconds(backoffMaxSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void normalizeCredentials() {
+        // Gmail app passwords are often copied with spaces; normalize once to avoid auth failures.
+        if (mailSender instanceof JavaMailSenderImpl senderImpl) {
+            if (senderImpl.getUsername() != null) {
+                senderImpl.setUsername(senderImpl.getUsername().trim());
+            }
+            if (senderImpl.getPassword() != null) {
+                senderImpl.setPassword(senderImpl.getPassword().replaceAll("\\s+", ""));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workerPool.shutdown();
+    }
+
+    /** Queues a plain-text mail; it is sent once the surrounding transaction commits. */
+    @Transactional
+    public void enqueue(String toEmail, String subject, String body) {
+        OutboundEmail email = new OutboundEmail();
+        email.setToAddress(toEmail);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setNextAttemptAt(LocalDateTime.now());
+        repository.save(email);
+    }
+
+    /**
+     * Claims up to one batch per worker, sends them in parallel and repeats
+     * while the queue keeps filling whole claims.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-ms:500}")
+    public void drain() {
+        try {
+            List<OutboundEmail> claimed;
+            do {
+                claimed = claim(batchSize * workers);
+                List<Callable<Void>> batches = new ArrayList<>();
+                for (int from = 0; from < claimed.size(); from += batchSize) {
+                    List<OutboundEmail> batch = claimed.subList(from, Math.min(claimed.size(), from + batchSize));
+                    batches.add(() -> {
+                        deliver(batch);
+                        return null;
+                    });
+                }
+                for (Future<Void> result : workerPool.invokeAll(batches)) {
+                    try {
+                        result.get();
+                    } catch (ExecutionException e) {
+                        // The batch stays SENDING and is retried when its claim lapses
+                        logger.error("Mail outbox batch failed", e.getCause());
+                    }
+                }
+            } while (claimed.size() == batchSize * workers);
+            depth.set(repository.countByStatusIn(QUEUED));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Mail outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-ms:3600000}", initialDelayString = "${mail.outbox.purge-ms:3600000}")
+    public void purgeFinished() {
+        Integer purged = transaction.execute(status -> repository.deleteByStatusInAndCreatedAtBefore(
+                FINISHED, LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} sent or failed mail(s) from the outbox", purged);
+        }
+    }
+
+    private List<OutboundEmail> claim(int limit) {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboundEmail> due = repository.findDueForUpdate(QUEUED, now, PageRequest.of(0, limit));
+            for (OutboundEmail email : due) {
+                email.setStatus(OutboundEmail.Status.SENDING);
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(claimLease));
+            }
+            return repository.saveAll(due);
+        });
+    }
+
+    /** Sends a batch over one SMTP connection and records each row's outcome. */
+    private void deliver(List<OutboundEmail> batch) {
+        Map<MimeMessage, OutboundEmail> messages = new IdentityHashMap<>();
+        Map<Long, String> errors = new HashMap<>();
+        for (OutboundEmail email : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                helper.setFrom(fromEmail);
+                helper.setTo(email.getToAddress());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody());
+                messages.put(message, email);
+            } catch (Exception e) {
+                errors.put(email.getId(), e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, error) -> {
+                    OutboundEmail email = messages.get(message);
+                    if (email != null) {
+                        errors.put(email.getId(), error.getMessage());
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    batch.forEach(email -> errors.putIfAbsent(email.getId(), e.getMessage()));
+                }
+            } catch (RuntimeException e) {
+                batch.forEach(email -> errors.putIfAbsent(email.getId(), e.getMessage()));
+            } finally {
+                Timer timer = batchTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        transaction.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboundEmail> rows = repository.findAllById(batch.stream().map(OutboundEmail::getId).toList());
+            for (OutboundEmail row : rows) {
+                String error = errors.get(row.getId());
+                if (error == null) {
+                    row.setStatus(OutboundEmail.Status.SENT);
+                    row.setSentAt(now);
+                    row.setLastError(null);
+                    row.setBody(REDACTED_BODY);
+                    sent.incrementAndGet();
+                } else if (row.getAttempts() >= maxAttempts) {
+                    row.setStatus(OutboundEmail.Status.FAILED);
+                    row.setLastError(truncate(error));
+                    row.setBody(REDACTED_BODY);
+                    failed.incrementAndGet();
+                    logger.error("Giving up on mail {} to {} after {} attempts: {}", row.getId(), row.getToAddress(), row.getAttempts(), error);
+                } else {
+                    row.setStatus(OutboundEmail.Status.PENDING);
+                    row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                    row.setLastError(truncate(error));
+                    retried.incrementAndGet();
+                    logger.warn("Mail {} to {} failed (attempt {}), will retry: {}", row.getId(), row.getToAddress(), row.getAttempts(), error);
+                }
+            }
+            repository.saveAll(rows);
+        });
+    }
+
+    /** base * 2^(attempt-1), capped, with +-20% jitter so a failed batch doesn't retry in lockstep. */
+    private Duration backoff(int attempt) {
+        long millis = backoffBase.toMillis() << Math.min(attempt - 1, 20);
+        millis = Math.min(millis, backoffMax.toMillis());
+        return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return "unknown error";
+        }
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get)
+                .description("Mails queued or being sent").register(registry);
+        FunctionCounter.builder("mail.outbox.sent", sent, AtomicLong::get)
+                .description("Mails delivered to the SMTP server").register(registry);
+        FunctionCounter.builder("mail.outbox.retries", retried, AtomicLong::get)
+                .description("Failed deliveries scheduled for another attempt").register(registry);
+        FunctionCounter.builder("mail.outbox.failed", failed, AtomicLong::get)
+                .description("Mails abandoned after the last attempt").register(registry);
+        batchTimer = Timer.builder("mail.smtp.batch")
+                .description("One SMTP connection delivering a batch of mails")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
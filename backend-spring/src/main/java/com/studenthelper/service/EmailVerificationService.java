@@ -1,63 +1,24 @@
 package com.studenthelper.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Service;
 
+/**
+ * Verification and password reset mails. Both are queued in the outbox and
+ * delivered in the background, so the calling request never waits on SMTP.
+ */
 @Service
 public class EmailVerificationService {
 
     @Autowired
-    private JavaMailSender mailSender;
-
-    @Value("${spring.mail.username:${MAIL_FROM:no-reply@studenthelper.local}}")
-    private String fromEmail;
+    private EmailOutboxService emailOutboxService;
 
     public void sendVerificationCode(String toEmail, String code) {
-        // Gmail app passwords are often copied with spaces; normalize to avoid auth failures.
-        if (mailSender instanceof JavaMailSenderImpl senderImpl) {
-            String username = senderImpl.getUsername();
-            String password = senderImpl.getPassword();
-
-            if (username != null) {
-                senderImpl.setUsername(username.trim());
-            }
-            if (password != null) {
-                senderImpl.setPassword(password.replaceAll("\\s+", ""));
-            }
-        }
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Student Helper Email Verification Code");
-        message.setText(buildMessage(code));
-        mailSender.send(message);
+        emailOutboxService.enqueue(toEmail, "Student Helper Email Verification Code", buildMessage(code));
     }
 
     public void sendPasswordResetCode(String toEmail, String code) {
-        // Gmail app passwords are often copied with spaces; normalize to avoid auth failures.
-        if (mailSender instanceof JavaMailSenderImpl senderImpl) {
-            String username = senderImpl.getUsername();
-            String password = senderImpl.getPassword();
-
-            if (username != null) {
-                senderImpl.setUsername(username.trim());
-            }
-            if (password != null) {
-                senderImpl.setPassword(password.replaceAll("\\s+", ""));
-            }
-        }
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Student Helper Password Reset Code");
-        message.setText(buildPasswordResetMessage(code));
-        mailSender.send(message);
+        emailOutboxService.enqueue(toEmail, "Student Helper Password Reset Code", buildPasswordResetMessage(code));
     }
 
     private String buildMessage(String code) {
@@ -0,0 +1,47 @@
+package com.studenthelper.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Maps the rows of a repository Stream one at a time for the streaming list
+ * endpoints. The persistence context is cleared every {@link #BATCH} rows so it
+ * holds at most one fetch's worth of entities (plus their lazy collections)
+ * rather than the whole result. Callers must be inside a transaction, which
+ * stays open, with the cursor, until the last row has been handed on.
+ *
+ * <p>On MySQL the fetch size only takes effect with {@code useCursorFetch} on
+ * the JDBC URL ({@code MYSQL_CURSOR_FETCH}). That can't be scoped to these
+ * queries: Connector/J then server-prepares every statement. Row-by-row
+ * streaming (fetch size {@code Integer.MIN_VALUE}) would avoid that, but it
+ * needs the connection to itself while the mappers lazy-load images mid-stream.
+ * {@code cachePrepStmts} keeps the prepares per connection, so each distinct
+ * SQL pays one COM_STMT_PREPARE. With cursor fetch off these lists are
+ * buffered in memory again. The README's load-test section shows how to
+ * compare the two.
+ */
+final class EntityStreams {
+
+    /** Matches the fetch size hint on the repository stream methods. */
+    static final int BATCH = 100;
+
+    private EntityStreams() {
+    }
+
+    static <E, R> void forEach(EntityManager entityManager, Stream<E> rows, Function<E, R> mapper, Consumer<? super R> action) {
+        try (rows) {
+            Iterator<E> it = rows.iterator();
+            int n = 0;
+            while (it.hasNext()) {
+                action.accept(mapper.apply(it.next()));
+                if (++n % BATCH == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
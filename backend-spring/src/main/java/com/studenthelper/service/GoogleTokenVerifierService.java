@@ -1,26 +1,86 @@
 package com.studenthelper.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Verifies Google ID tokens locally: RS256 signature against Google's published
+ * keys (JWKS), then issuer, audience, expiry and email verification. The keys
+ * are cached for as long as the JWKS response's Cache-Control max-age allows and
+ * refreshed in the background shortly before that, so a sign-in normally makes
+ * no network call. A token signed with a key we have not seen (Google rotated)
+ * triggers one refresh, at most once per {@code google.oauth.jwks-min-refresh-seconds}.
+ */
 @Service
-public class GoogleTokenVerifierService {
+public class GoogleTokenVerifierService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleTokenVerifierService.class);
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+    private static final ObjectMapper JSON = new ObjectMapper();
 
     private final WebClient webClient;
+    private final String jwksUrl;
+    private final Duration minRefreshInterval;
     private final Set<String> allowedClientIds;
+    private final JwtParser parser;
+
+    private volatile SigningKeys keys = SigningKeys.NONE;
+    private volatile Instant nextFetchAllowed = Instant.MIN;
+    private final AtomicBoolean backgroundRefresh = new AtomicBoolean();
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong fetchFailures = new AtomicLong();
 
     public GoogleTokenVerifierService(
             @Value("${google.oauth.client-ids:}") String googleClientIds,
+            @Value("${google.oauth.jwks-url:https://www.googleapis.com/oauth2/v3/certs}") String jwksUrl,
+            @Value("${google.oauth.jwks-min-refresh-seconds:60}") long minRefreshSeconds,
             WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl("https://oauth2.googleapis.com").build();
+        this.webClient = webClientBuilder.build();
+        this.jwksUrl = jwksUrl;
+        this.minRefreshInterval = Duration.ofSeconds(minRefreshSeconds);
         this.allowedClientIds = new HashSet<>();
         if (StringUtils.hasText(googleClientIds)) {
             Arrays.stream(googleClientIds.split(","))
@@ -28,6 +88,15 @@ public class GoogleTokenVerifierService {
                     .filter(StringUtils::hasText)
                     .forEach(allowedClientIds::add);
         }
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return signingKey(header);
+                    }
+                })
+                .clockSkewSeconds(60)
+                .build();
     }
 
     public GoogleUserInfo verify(String idToken) {
@@ -35,38 +104,164 @@ public class GoogleTokenVerifierService {
             throw new RuntimeException("Google token is required");
         }
 
-        Map<String, Object> payload = webClient.get()
-                .uri(uriBuilder -> uriBuilder.path("/tokeninfo").queryParam("id_token", idToken).build())
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .block();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(idToken).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid Google token: " + e.getMessage());
+        }
 
-        if (payload == null) {
-            throw new RuntimeException("Unable to verify Google token");
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            throw new RuntimeException("Google token issuer mismatch");
+        }
+        if (claims.getExpiration() == null) {
+            throw new RuntimeException("Google token has no expiry");
         }
 
-        String audience = toStringValue(payload.get("aud"));
-        if (!allowedClientIds.isEmpty() && !allowedClientIds.contains(audience)) {
+        Set<String> audience = claims.getAudience() != null ? claims.getAudience() : Set.of();
+        if (!allowedClientIds.isEmpty() && Collections.disjoint(allowedClientIds, audience)) {
             throw new RuntimeException("Google token audience mismatch");
         }
 
-        String emailVerified = toStringValue(payload.get("email_verified"));
+        String emailVerified = toStringValue(claims.get("email_verified"));
         if (!"true".equalsIgnoreCase(emailVerified)) {
             throw new RuntimeException("Google email is not verified");
         }
 
         GoogleUserInfo info = new GoogleUserInfo();
-        info.setGoogleId(toStringValue(payload.get("sub")));
-        info.setEmail(toStringValue(payload.get("email")));
-        info.setName(toStringValue(payload.get("name")));
+        info.setGoogleId(claims.getSubject());
+        info.setEmail(toStringValue(claims.get("email")));
+        info.setName(toStringValue(claims.get("name")));
         return info;
     }
 
+    private Key signingKey(JwsHeader header) {
+        if (!"RS256".equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Google tokens must be signed with RS256");
+        }
+        String kid = header.getKeyId();
+        SigningKeys current = keys;
+        Instant now = Instant.now();
+
+        if (current.byKid().isEmpty() || now.isAfter(current.expiresAt())) {
+            current = refresh();
+        } else if (now.isAfter(current.refreshAt())) {
+            refreshInBackground();
+        }
+
+        PublicKey key = current.byKid().get(kid);
+        if (key == null && kid != null) {
+            // Google rotated its keys before our copy expired
+            key = refresh().byKid().get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown Google signing key " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Fetches the JWKS unless another caller just did (or a fetch failed within
+     * the last minRefreshInterval). On failure the previous keys stay in use.
+     */
+    private synchronized SigningKeys refresh() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextFetchAllowed)) {
+            if (keys.byKid().isEmpty()) {
+                throw new RuntimeException("Google signing keys are unavailable, try again shortly");
+            }
+            return keys;
+        }
+        nextFetchAllowed = now.plus(minRefreshInterval);
+        try {
+            keys = fetch().block(FETCH_TIMEOUT);
+        } catch (RuntimeException e) {
+            fetchFailures.incrementAndGet();
+            if (keys.byKid().isEmpty()) {
+                throw new RuntimeException("Unable to fetch Google signing keys: " + e.getMessage(), e);
+            }
+            logger.warn("Google JWKS refresh failed, keeping keys fetched at {}: {}", keys.fetchedAt(), e.getMessage());
+        }
+        return keys;
+    }
+
+    private void refreshInBackground() {
+        if (!backgroundRefresh.compareAndSet(false, true)) {
+            return;
+        }
+        fetch()
+                .doFinally(signal -> backgroundRefresh.set(false))
+                .subscribe(fetched -> keys = fetched, e -> {
+                    fetchFailures.incrementAndGet();
+                    logger.warn("Background Google JWKS refresh failed: {}", e.getMessage());
+                });
+    }
+
+    private Mono<SigningKeys> fetch() {
+        return webClient.get()
+                .uri(jwksUrl)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toEntity(String.class)
+                .timeout(FETCH_TIMEOUT)
+                .map(response -> {
+                    fetches.incrementAndGet();
+                    return parse(response.getBody(), maxAge(response.getHeaders()));
+                });
+    }
+
+    private static Duration maxAge(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Math.max(60, Long.parseLong(matcher.group(1))));
+            }
+        }
+        return DEFAULT_MAX_AGE;
+    }
+
+    static SigningKeys parse(String jwks, Duration maxAge) {
+        try {
+            Map<String, PublicKey> byKid = new HashMap<>();
+            KeyFactory rsa = KeyFactory.getInstance("RSA");
+            for (JsonNode jwk : JSON.readTree(jwks).path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                byKid.put(jwk.path("kid").asText(), rsa.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+            if (byKid.isEmpty()) {
+                throw new IllegalStateException("JWKS contains no RSA keys");
+            }
+            Instant now = Instant.now();
+            // Refresh ahead of expiry so no sign-in waits for the fetch
+            return new SigningKeys(Map.copyOf(byKid), now, now.plus(maxAge.multipliedBy(9).dividedBy(10)), now.plus(maxAge));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable JWKS: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("google.jwks.fetches", fetches, AtomicLong::get)
+                .description("Google signing key downloads").register(registry);
+        FunctionCounter.builder("google.jwks.fetch.failures", fetchFailures, AtomicLong::get)
+                .description("Failed Google signing key downloads").register(registry);
+        Gauge.builder("google.jwks.keys", this, verifier -> verifier.keys.byKid().size())
+                .description("Google signing keys currently cached").register(registry);
+    }
+
     private String toStringValue(Object value) {
         return value == null ? null : value.toString();
     }
 
+    record SigningKeys(Map<String, PublicKey> byKid, Instant fetchedAt, Instant refreshAt, Instant expiresAt) {
+        static final SigningKeys NONE = new SigningKeys(Map.of(), Instant.MIN, Instant.MIN, Instant.MIN);
+    }
+
     public static class GoogleUserInfo {
         private String googleId;
         private String email;
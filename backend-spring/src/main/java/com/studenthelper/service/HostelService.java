@@ -7,7 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface HostelService {
         Page<HostelResponse> getAllHostels(HostelFilterRequest filters, Pageable pageable);
@@ -24,6 +24,6 @@ public interface HostelService {
             MultipartFile[] images,
             MultipartFile[] videos);
     void deleteHostel(Long id, Long adminId);
-    List<HostelResponse> getMyHostels(Long adminId);
+    void forEachMyHostel(Long adminId, Consumer<? super HostelResponse> action);
 }
 
@@ -1,5 +1,8 @@
 package com.studenthelper.service;
 
+import com.studenthelper.cache.ListingCache;
+import com.studenthelper.cache.ResponseCache;
+import com.studenthelper.cache.SearchResultCache;
 import com.studenthelper.dto.HostelFilterRequest;
 import com.studenthelper.dto.HostelRequest;
 import com.studenthelper.dto.HostelResponse;
@@ -10,13 +13,17 @@ import com.studenthelper.mapper.HostelMapper;
 import com.studenthelper.repository.HostelRepository;
 import com.studenthelper.repository.UserRepository;
 import com.studenthelper.service.CloudinaryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.persistence.criteria.Predicate;
@@ -25,6 +32,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,19 +52,45 @@ public class HostelServiceImpl implements HostelService {
     @Autowired
     private CloudinaryService cloudinaryService;
 
+    @Autowired
+    private ListingCache listingCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Page<HostelResponse> getAllHostels(HostelFilterRequest filters, Pageable pageable) {
         final HostelFilterRequest finalFilters = filters != null ? filters : new HostelFilterRequest();
+
+        String cacheKey = searchResultCache.key(ResponseCache.HOSTEL, finalFilters.getCity(), searchKey(finalFilters), pageable);
+        SearchResultCache.CachedPage cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            List<HostelResponse> content = listingCache.getHostels(cached.getIds(), ids ->
+                    hostelRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Hostel::getId, hostelMapper::toResponse)));
+            return new PageImpl<>(content, pageable, cached.getTotal());
+        }
+        long stamp = listingCache.stamp();
         
         Specification<Hostel> spec = buildSpecification(finalFilters);
-        return hostelRepository.findAll(spec, pageable).map(hostelMapper::toResponse);
+        Page<HostelResponse> page = hostelRepository.findAll(spec, pageable).map(hostelMapper::toResponse);
+        searchResultCache.put(cacheKey,
+                page.getContent().stream().map(HostelResponse::getId).collect(Collectors.toList()),
+                page.getTotalElements());
+        listingCache.putHostels(stamp, page.getContent());
+        return page;
     }
 
     @Override
     public HostelResponse getHostelById(Long id) {
-        Hostel hostel = hostelRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Hostel", "id", id));
-        return hostelMapper.toResponse(hostel);
+        return listingCache.getHostel(id, hostelId -> {
+            Hostel hostel = hostelRepository.findById(hostelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hostel", "id", hostelId));
+            return hostelMapper.toResponse(hostel);
+        });
     }
 
     @Override
@@ -94,6 +128,7 @@ public class HostelServiceImpl implements HostelService {
         hostel.setStatus(Hostel.HostelStatus.active);
         
         Hostel savedHostel = hostelRepository.save(hostel);
+        listingCache.invalidate(ResponseCache.HOSTEL, null, savedHostel.getCity());
         return hostelMapper.toResponse(savedHostel);
     }
 
@@ -141,8 +176,10 @@ public class HostelServiceImpl implements HostelService {
             }
         }
 
+        String previousCity = hostel.getCity();
         hostelMapper.updateEntityFromRequest(hostel, request);
         Hostel savedHostel = hostelRepository.save(hostel);
+        listingCache.invalidate(ResponseCache.HOSTEL, id, previousCity, savedHostel.getCity());
         return hostelMapper.toResponse(savedHostel);
     }
 
@@ -155,14 +192,26 @@ public class HostelServiceImpl implements HostelService {
             throw new RuntimeException("Not authorized to delete this hostel");
         }
         hostelRepository.delete(hostel);
+        listingCache.invalidate(ResponseCache.HOSTEL, id, hostel.getCity());
     }
 
     @Override
-    public List<HostelResponse> getMyHostels(Long adminId) {
-        List<Hostel> hostels = hostelRepository.findByAdmin_Id(adminId);
-        return hostels.stream()
-                .map(hostelMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachMyHostel(Long adminId, Consumer<? super HostelResponse> action) {
+        EntityStreams.forEach(entityManager, hostelRepository.streamByAdmin_Id(adminId), hostelMapper::toResponse, action);
+    }
+
+    // Normalized form of the filters; values the Specification treats alike map to the same key.
+    private String searchKey(HostelFilterRequest f) {
+        return "city=" + nullToEmpty(f.getCity())
+                + "&gender=" + nullToEmpty(f.getGender()).toLowerCase()
+                + "&min=" + nullToEmpty(f.getMinFees())
+                + "&max=" + nullToEmpty(f.getMaxFees())
+                + "&q=" + nullToEmpty(f.getSearch()).toLowerCase();
+    }
+
+    private String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
     }
 
     private Specification<Hostel> buildSpecification(final HostelFilterRequest filters) {
@@ -6,7 +6,7 @@ import com.studenthelper.dto.ItemResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     Page<ItemResponse> getAllItems(ItemFilterRequest filters, Pageable pageable);
@@ -15,6 +15,6 @@ public interface ItemService {
     ItemResponse updateItem(Long id, ItemRequest request, Long sellerId);
     ItemResponse updateItemStatus(Long id, String status, Long sellerId);
     void deleteItem(Long id, Long sellerId);
-    List<ItemResponse> getMyItems(Long sellerId);
+    void forEachMyItem(Long sellerId, Consumer<? super ItemResponse> action);
 }
 
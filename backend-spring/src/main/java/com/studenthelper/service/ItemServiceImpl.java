@@ -1,5 +1,8 @@
 package com.studenthelper.service;
 
+import com.studenthelper.cache.ListingCache;
+import com.studenthelper.cache.ResponseCache;
+import com.studenthelper.cache.SearchResultCache;
 import com.studenthelper.dto.ItemFilterRequest;
 import com.studenthelper.dto.ItemRequest;
 import com.studenthelper.dto.ItemResponse;
@@ -8,17 +11,22 @@ import com.studenthelper.entity.User;
 import com.studenthelper.mapper.ItemMapper;
 import com.studenthelper.repository.ItemRepository;
 import com.studenthelper.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,18 +43,44 @@ public class ItemServiceImpl implements ItemService {
     @Autowired
     private ItemMapper itemMapper;
 
+    @Autowired
+    private ListingCache listingCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Page<ItemResponse> getAllItems(ItemFilterRequest filters, Pageable pageable) {
         final ItemFilterRequest finalFilters = filters != null ? filters : new ItemFilterRequest();
+
+        String cacheKey = searchResultCache.key(ResponseCache.ITEM, finalFilters.getCity(), searchKey(finalFilters), pageable);
+        SearchResultCache.CachedPage cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            List<ItemResponse> content = listingCache.getItems(cached.getIds(), ids ->
+                    itemRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Item::getId, itemMapper::toResponse)));
+            return new PageImpl<>(content, pageable, cached.getTotal());
+        }
+        long stamp = listingCache.stamp();
         
         Specification<Item> spec = buildSpecification(finalFilters);
-        return itemRepository.findAll(spec, pageable).map(itemMapper::toResponse);
+        Page<ItemResponse> page = itemRepository.findAll(spec, pageable).map(itemMapper::toResponse);
+        searchResultCache.put(cacheKey,
+                page.getContent().stream().map(ItemResponse::getId).collect(Collectors.toList()),
+                page.getTotalElements());
+        listingCache.putItems(stamp, page.getContent());
+        return page;
     }
 
     @Override
     public ItemResponse getItemById(Long id) {
-        Item item = itemRepository.findById(id).orElse(null);
-        return item != null ? itemMapper.toResponse(item) : null;
+        return listingCache.getItem(id, itemId -> {
+            Item item = itemRepository.findById(itemId).orElse(null);
+            return item != null ? itemMapper.toResponse(item) : null;
+        });
     }
 
     @Override
@@ -59,6 +93,7 @@ public class ItemServiceImpl implements ItemService {
         item.setStatus(Item.ItemStatus.available);
         
         Item savedItem = itemRepository.save(item);
+        listingCache.invalidate(ResponseCache.ITEM, null, savedItem.getCity());
         return itemMapper.toResponse(savedItem);
     }
 
@@ -71,8 +106,10 @@ public class ItemServiceImpl implements ItemService {
             throw new RuntimeException("Not authorized to update this item");
         }
         
+        String previousCity = item.getCity();
         itemMapper.updateEntityFromRequest(item, request);
         Item savedItem = itemRepository.save(item);
+        listingCache.invalidate(ResponseCache.ITEM, id, previousCity, savedItem.getCity());
         return itemMapper.toResponse(savedItem);
     }
 
@@ -96,6 +133,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        listingCache.invalidate(ResponseCache.ITEM, id, savedItem.getCity());
         return itemMapper.toResponse(savedItem);
     }
 
@@ -108,14 +146,28 @@ public class ItemServiceImpl implements ItemService {
             throw new RuntimeException("Not authorized to delete this item");
         }
         itemRepository.delete(item);
+        listingCache.invalidate(ResponseCache.ITEM, id, item.getCity());
     }
 
     @Override
-    public List<ItemResponse> getMyItems(Long sellerId) {
-        List<Item> items = itemRepository.findBySeller_Id(sellerId);
-        return items.stream()
-                .map(itemMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachMyItem(Long sellerId, Consumer<? super ItemResponse> action) {
+        EntityStreams.forEach(entityManager, itemRepository.streamBySeller_Id(sellerId), itemMapper::toResponse, action);
+    }
+
+    // Normalized form of the filters; values the Specification treats alike map to the same key.
+    private String searchKey(ItemFilterRequest f) {
+        String status = f.getStatus() != null ? f.getStatus().toLowerCase() : "available";
+        return "status=" + status
+                + "&city=" + nullToEmpty(f.getCity())
+                + "&category=" + nullToEmpty(f.getCategory()).toLowerCase()
+                + "&min=" + nullToEmpty(f.getMinPrice())
+                + "&max=" + nullToEmpty(f.getMaxPrice())
+                + "&q=" + nullToEmpty(f.getSearch()).toLowerCase();
+    }
+
+    private String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
     }
 
     private Specification<Item> buildSpecification(final ItemFilterRequest filters) {
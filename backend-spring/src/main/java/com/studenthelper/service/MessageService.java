@@ -4,10 +4,13 @@ import com.studenthelper.dto.MessageRequest;
 import com.studenthelper.dto.MessageResponse;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface MessageService {
     List<Map<String, Object>> getConversations(Long userId);
-    List<MessageResponse> getMessages(Long currentUserId, Long otherUserId);
+    void markConversationRead(Long currentUserId, Long otherUserId);
+    /** The conversation oldest first; call markConversationRead first so the rows come back read. */
+    void forEachMessage(Long currentUserId, Long otherUserId, Consumer<? super MessageResponse> action);
     MessageResponse sendMessage(Long senderId, MessageRequest messageRequest);
     long getUnreadCount(Long userId);
     void deleteMessage(Long messageId, Long userId);
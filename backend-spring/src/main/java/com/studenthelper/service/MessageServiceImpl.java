@@ -7,15 +7,17 @@ import com.studenthelper.entity.User;
 import com.studenthelper.mapper.MessageMapper;
 import com.studenthelper.repository.MessageRepository;
 import com.studenthelper.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class MessageServiceImpl implements MessageService {
@@ -28,12 +30,12 @@ public class MessageServiceImpl implements MessageService {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     @Autowired
     private MessageMapper messageMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<Map<String, Object>> getConversations(Long userId) {
         List<Message> messages = messageRepository.findBySenderIdOrReceiverId(userId, userId);
@@ -77,26 +79,17 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    public List<MessageResponse> getMessages(Long currentUserId, Long otherUserId) {
-        List<Message> messages = messageRepository.findBySenderIdAndReceiverIdOrSenderIdAndReceiverId(
-            currentUserId, otherUserId, otherUserId, currentUserId);
-
-        // Sort messages by createdAt (oldest first) - like WhatsApp
-        messages.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
-
-        // Mark as read
-        for (Message msg : messages) {
-            if (msg.getReceiver().getId().equals(currentUserId) && !msg.getRead()) {
-                msg.setRead(true);
-                msg.setReadAt(LocalDateTime.now());
-                messageRepository.save(msg);
-            }
-        }
+    public void markConversationRead(Long currentUserId, Long otherUserId) {
+        // One UPDATE in its own transaction, so no row locks are held while the messages stream out
+        messageRepository.markRead(currentUserId, otherUserId, LocalDateTime.now());
+    }
 
-        // Convert Entity to DTO and return
-        return messages.stream()
-                .map(this::toMessageResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachMessage(Long currentUserId, Long otherUserId, Consumer<? super MessageResponse> action) {
+        // Oldest first - like WhatsApp
+        EntityStreams.forEach(entityManager, messageRepository.streamConversation(currentUserId, otherUserId),
+                messageMapper::toMessageResponse, action);
     }
 
     @Override
@@ -124,24 +117,7 @@ public class MessageServiceImpl implements MessageService {
         Message savedMessage = messageRepository.save(message);
         
         // Convert Entity to DTO and return
-        return toMessageResponse(savedMessage);
-    }
-
-    private MessageResponse toMessageResponse(Message message) {
-        MessageResponse response = modelMapper.map(message, MessageResponse.class);
-        response.setSenderId(message.getSender().getId());
-        response.setSenderName(message.getSender().getName());
-        response.setReceiverId(message.getReceiver().getId());
-        response.setReceiverName(message.getReceiver().getName());
-        
-        if (message.getRelatedTo() != null) {
-            MessageResponse.RelatedToResponse relatedToResponse = new MessageResponse.RelatedToResponse();
-            relatedToResponse.setType(message.getRelatedTo().getType().name());
-            relatedToResponse.setRelatedId(message.getRelatedTo().getRelatedId());
-            response.setRelatedTo(relatedToResponse);
-        }
-        
-        return response;
+        return messageMapper.toMessageResponse(savedMessage);
     }
 
     @Override
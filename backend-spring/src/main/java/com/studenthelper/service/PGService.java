@@ -6,8 +6,8 @@ import com.studenthelper.dto.PGResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface PGService {
     Page<PGResponse> getAllPGs(PGFilterRequest filters, Pageable pageable);
@@ -15,6 +15,6 @@ public interface PGService {
     PGResponse createPG(PGRequest request, Long brokerId);
     PGResponse updatePG(Long id, PGRequest request, Long brokerId);
     void deletePG(Long id, Long brokerId);
-    List<PGResponse> getMyPGs(Long brokerId);
+    void forEachMyPG(Long brokerId, Consumer<? super PGResponse> action);
     PGResponse updatePGStatus(Long id, String status, Long brokerId, Map<String, Object> statusData);
 }
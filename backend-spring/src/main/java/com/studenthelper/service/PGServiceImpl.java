@@ -1,5 +1,8 @@
 package com.studenthelper.service;
 
+import com.studenthelper.cache.ListingCache;
+import com.studenthelper.cache.ResponseCache;
+import com.studenthelper.cache.SearchResultCache;
 import com.studenthelper.dto.PGFilterRequest;
 import com.studenthelper.dto.PGRequest;
 import com.studenthelper.dto.PGResponse;
@@ -8,18 +11,23 @@ import com.studenthelper.entity.User;
 import com.studenthelper.mapper.PGMapper;
 import com.studenthelper.repository.PGRepository;
 import com.studenthelper.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +44,28 @@ public class PGServiceImpl implements PGService {
     @Autowired
     private PGMapper pgMapper;
 
+    @Autowired
+    private ListingCache listingCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Page<PGResponse> getAllPGs(PGFilterRequest filters, Pageable pageable) {
         final PGFilterRequest finalFilters = filters != null ? filters : new PGFilterRequest();
+
+        String cacheKey = searchResultCache.key(ResponseCache.PG, finalFilters.getCity(), searchKey(finalFilters), pageable);
+        SearchResultCache.CachedPage cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            List<PGResponse> content = listingCache.getPGs(cached.getIds(), ids ->
+                    pgRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(PG::getId, pgMapper::toResponse)));
+            return new PageImpl<>(content, pageable, cached.getTotal());
+        }
+        long stamp = listingCache.stamp();
         
         Specification<PG> spec = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -114,14 +141,39 @@ public class PGServiceImpl implements PGService {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
 
-        return pgRepository.findAll(spec, pageable).map(pgMapper::toResponse);
+        Page<PGResponse> page = pgRepository.findAll(spec, pageable).map(pgMapper::toResponse);
+        searchResultCache.put(cacheKey,
+                page.getContent().stream().map(PGResponse::getId).collect(Collectors.toList()),
+                page.getTotalElements());
+        listingCache.putPGs(stamp, page.getContent());
+        return page;
+    }
+
+    // Normalized form of the filters; values the Specification treats alike map to the same key.
+    private String searchKey(PGFilterRequest f) {
+        return "city=" + nullToEmpty(f.getCity())
+                + "&min=" + nullToEmpty(f.getMinPrice())
+                + "&max=" + nullToEmpty(f.getMaxPrice())
+                + "&sharing=" + nullToEmpty(f.getSharingType()).toLowerCase()
+                + "&ac=" + Boolean.TRUE.equals(f.getAc())
+                + "&furnished=" + Boolean.TRUE.equals(f.getFurnished())
+                + "&owner=" + Boolean.TRUE.equals(f.getOwnerOnFirstFloor())
+                + "&food=" + Boolean.TRUE.equals(f.getFoodAvailable())
+                + "&parking=" + Boolean.TRUE.equals(f.getParking())
+                + "&q=" + nullToEmpty(f.getSearch()).toLowerCase();
+    }
+
+    private String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
     }
 
     @Override
     public PGResponse getPGById(Long id) {
-        PG pg = pgRepository.findById(id)
-                .orElseThrow(() -> new com.studenthelper.exception.ResourceNotFoundException("PG", "id", id));
-        return pgMapper.toResponse(pg);
+        return listingCache.getPG(id, pgId -> {
+            PG pg = pgRepository.findById(pgId)
+                    .orElseThrow(() -> new com.studenthelper.exception.ResourceNotFoundException("PG", "id", pgId));
+            return pgMapper.toResponse(pg);
+        });
     }
 
     @Override
@@ -135,6 +187,7 @@ public class PGServiceImpl implements PGService {
         pg.setIsActive(true);
         
         PG savedPG = pgRepository.save(pg);
+        listingCache.invalidate(ResponseCache.PG, null, savedPG.getCity());
         return pgMapper.toResponse(savedPG);
     }
 
@@ -147,8 +200,10 @@ public class PGServiceImpl implements PGService {
             throw new RuntimeException("Not authorized to update this PG");
         }
         
+        String previousCity = pg.getCity();
         pgMapper.updateEntityFromRequest(pg, request);
         PG savedPG = pgRepository.save(pg);
+        listingCache.invalidate(ResponseCache.PG, id, previousCity, savedPG.getCity());
         return pgMapper.toResponse(savedPG);
     }
 
@@ -161,14 +216,13 @@ public class PGServiceImpl implements PGService {
             throw new RuntimeException("Not authorized to delete this PG");
         }
         pgRepository.delete(pg);
+        listingCache.invalidate(ResponseCache.PG, id, pg.getCity());
     }
 
     @Override
-    public List<PGResponse> getMyPGs(Long brokerId) {
-        List<PG> pgs = pgRepository.findByBroker_Id(brokerId);
-        return pgs.stream()
-                .map(pgMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachMyPG(Long brokerId, Consumer<? super PGResponse> action) {
+        EntityStreams.forEach(entityManager, pgRepository.streamByBroker_Id(brokerId), pgMapper::toResponse, action);
     }
 
     @Override
@@ -204,6 +258,7 @@ public class PGServiceImpl implements PGService {
         }
 
         PG savedPG = pgRepository.save(pg);
+        listingCache.invalidate(ResponseCache.PG, id, savedPG.getCity());
         return pgMapper.toResponse(savedPG);
     }
 }
@@ -3,11 +3,12 @@ package com.studenthelper.service;
 import com.studenthelper.dto.PaymentRequest;
 import com.studenthelper.dto.PaymentResponse;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PaymentService {
     PaymentResponse createPaymentOrder(Long payerId, PaymentRequest paymentRequest);
     PaymentResponse verifyPayment(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature);
-    List<PaymentResponse> getPaymentsByPayer(Long payerId);
+    void forEachPaymentByPayer(Long payerId, Consumer<? super PaymentResponse> action);
     List<PaymentResponse> getPaymentsByReceiver(Long receiverId);
     PaymentResponse getPaymentById(Long paymentId);
 }
@@ -1,17 +1,22 @@
 package com.studenthelper.service;
 
+import com.studenthelper.cache.ListingCache;
+import com.studenthelper.cache.ResponseCache;
 import com.studenthelper.dto.PaymentRequest;
 import com.studenthelper.dto.PaymentResponse;
 import com.studenthelper.entity.*;
 import com.studenthelper.mapper.PaymentMapper;
 import com.studenthelper.repository.*;
-import org.modelmapper.ModelMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,10 +40,13 @@ public class PaymentServiceImpl implements PaymentService {
     private ItemRepository itemRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PaymentMapper paymentMapper;
 
     @Autowired
-    private PaymentMapper paymentMapper;
+    private ListingCache listingCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public PaymentResponse createPaymentOrder(Long payerId, PaymentRequest paymentRequest) {
@@ -46,11 +54,9 @@ public class PaymentServiceImpl implements PaymentService {
             User payer = userRepository.findById(payerId)
                     .orElseThrow(() -> new RuntimeException("Payer not found"));
 
-            // Convert DTO to Entity using ModelMapper
-            Payment payment = modelMapper.map(paymentRequest, Payment.class);
+            // Convert DTO to Entity using mapper
+            Payment payment = paymentMapper.toPayment(paymentRequest);
             payment.setPayer(payer);
-            payment.setPaymentType(paymentMapper.toPaymentType(paymentRequest.getPaymentType()));
-            payment.setCurrency(paymentRequest.getCurrency() != null ? paymentRequest.getCurrency() : "INR");
 
             // Set entity and receiver based on payment type
             User receiver = null;
@@ -157,6 +163,7 @@ public class PaymentServiceImpl implements PaymentService {
                                 pg.setRentalEndDate(payment.getBookingEndDate());
                             }
                             pgRepository.save(pg);
+                            listingCache.invalidate(ResponseCache.PG, pg.getId(), pg.getCity());
                         }
                     }
                     break;
@@ -167,6 +174,7 @@ public class PaymentServiceImpl implements PaymentService {
                         if (hostel.getAvailableRooms() > 0) {
                             hostel.setAvailableRooms(hostel.getAvailableRooms() - 1);
                             hostelRepository.save(hostel);
+                            listingCache.invalidate(ResponseCache.HOSTEL, hostel.getId(), hostel.getCity());
                         }
                     }
                     break;
@@ -176,6 +184,7 @@ public class PaymentServiceImpl implements PaymentService {
                         Item item = payment.getItem();
                         item.setStatus(Item.ItemStatus.sold);
                         itemRepository.save(item);
+                        listingCache.invalidate(ResponseCache.ITEM, item.getId(), item.getCity());
                     }
                     break;
                 case SECURITY_DEPOSIT:
@@ -189,11 +198,9 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    public List<PaymentResponse> getPaymentsByPayer(Long payerId) {
-        List<Payment> payments = paymentRepository.findByPayer_Id(payerId);
-        return payments.stream()
-                .map(paymentMapper::toPaymentResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachPaymentByPayer(Long payerId, Consumer<? super PaymentResponse> action) {
+        EntityStreams.forEach(entityManager, paymentRepository.streamByPayer_Id(payerId), paymentMapper::toPaymentResponse, action);
     }
 
     @Override
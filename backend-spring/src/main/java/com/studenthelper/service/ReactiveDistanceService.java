@@ -0,0 +1,17 @@
+package com.studenthelper.service;
+
+import com.studenthelper.util.DistanceUtil;
+import com.studenthelper.util.GeocodingUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveDistanceService {
+    Mono<GeocodingUtil.GeocodeResult> geocode(String address, String city);
+    Mono<Map<String, Object>> validateLocation(Double lat, Double lng);
+    Mono<DistanceUtil.DistanceResult> calculateDistance(DistanceUtil.Coordinates origin, DistanceUtil.Coordinates destination);
+    Mono<DistanceUtil.DistanceResult> calculateDistance(String originAddress, DistanceUtil.Coordinates destination);
+    Flux<DistanceUtil.DistanceResult> calculateDistances(DistanceUtil.Coordinates origin, List<DistanceUtil.Coordinates> destinations);
+}
@@ -0,0 +1,73 @@
+package com.studenthelper.service;
+
+import com.studenthelper.exception.BadRequestException;
+import com.studenthelper.geo.WaterBodies;
+import com.studenthelper.util.DistanceUtil;
+import com.studenthelper.util.GeocodingUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link DistanceServiceImpl}. Nothing here waits on
+ * a thread: upstream calls are queued by each util's {@code UpstreamLimiter}
+ * and results are delivered on the WebClient event loop.
+ */
+@Service
+public class ReactiveDistanceServiceImpl implements ReactiveDistanceService {
+
+    @Autowired
+    private GeocodingUtil geocodingUtil;
+
+    @Autowired
+    private DistanceUtil distanceUtil;
+
+    @Autowired
+    private WaterBodies waterBodies;
+
+    @Value("${distance.batch.max-destinations:100}")
+    private int maxBatchDestinations;
+
+    @Value("${distance.batch.concurrency:8}")
+    private int batchConcurrency;
+
+    @Override
+    public Mono<GeocodingUtil.GeocodeResult> geocode(String address, String city) {
+        if (address == null || address.trim().isEmpty()) {
+            return Mono.error(new BadRequestException("Address is required"));
+        }
+        return geocodingUtil.geocodeAddressAsync(address, city);
+    }
+
+    @Override
+    public Mono<Map<String, Object>> validateLocation(Double lat, Double lng) {
+        return DistanceServiceImpl.validateLocation(waterBodies, geocodingUtil, lat, lng);
+    }
+
+    @Override
+    public Mono<DistanceUtil.DistanceResult> calculateDistance(DistanceUtil.Coordinates origin, DistanceUtil.Coordinates destination) {
+        return distanceUtil.calculateRoadDistanceAsync(origin, destination);
+    }
+
+    @Override
+    public Mono<DistanceUtil.DistanceResult> calculateDistance(String originAddress, DistanceUtil.Coordinates destination) {
+        return geocode(originAddress, null)
+                .map(geocoded -> new DistanceUtil.Coordinates(geocoded.getLat(), geocoded.getLng()))
+                .flatMap(origin -> calculateDistance(origin, destination));
+    }
+
+    @Override
+    public Flux<DistanceUtil.DistanceResult> calculateDistances(DistanceUtil.Coordinates origin, List<DistanceUtil.Coordinates> destinations) {
+        if (destinations.size() > maxBatchDestinations) {
+            return Flux.error(new BadRequestException("At most " + maxBatchDestinations + " destinations per request"));
+        }
+        // Keep request order; bounded so one batch cannot take every OSRM permit
+        return Flux.fromIterable(destinations)
+                .flatMapSequential(destination -> calculateDistance(origin, destination), batchConcurrency);
+    }
+}
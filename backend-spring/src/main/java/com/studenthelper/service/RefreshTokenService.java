@@ -0,0 +1,162 @@
+package com.studenthelper.service;
+
+import com.studenthelper.entity.RefreshToken;
+import com.studenthelper.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. The client gets 256 random bits; the
+ * database keeps their SHA-256, so a leaked table can't be replayed. Access
+ * tokens are checked from their claims alone and kept short-lived, so this is
+ * where a session lives. Every refresh rotates the token. Presenting a used one
+ * after {@code jwt.refresh-reuse-grace-seconds} revokes its whole family.
+ *
+ * <p>A token's successor is an HMAC of the token under the server secret, so
+ * presenting the same token again within the reuse grace period yields the
+ * same successor rather than a second live token: a family never branches,
+ * and whichever holder refreshes second still trips reuse detection.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.refresh-expiration-ms:2592000000}")
+    private long refreshExpiration;
+
+    // Two tabs refreshing with the same token at once is not theft
+    @Value("${jwt.refresh-reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    /** The user a refresh token belonged to and the token that replaces it. */
+    public record Rotation(Long userId, String refreshToken) {}
+
+    /** Starts a new token family, i.e. a new login session. */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor. Returns null when the token
+     * is unknown, expired or was already exchanged; in the last case the
+     * whole family is revoked, since whoever holds the other copy is not the user.
+     * Inside the grace period a replay gets the successor already issued, not a new one.
+     */
+    @Transactional
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken)).orElse(null);
+        if (current == null) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            refreshTokenRepository.delete(current);
+            return null;
+        }
+        String successor = successor(rawToken);
+        if (current.getUsedAt() != null) {
+            if (current.getUsedAt().isAfter(now.minusSeconds(reuseGraceSeconds))
+                    && hash(successor).equals(current.getSuccessorHash())
+                    && refreshTokenRepository.existsByTokenHash(current.getSuccessorHash())) {
+                return new Rotation(current.getUserId(), successor);
+            }
+            logger.warn("Refresh token reused for user {}, revoking its session", current.getUserId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            return null;
+        }
+
+        current.setUsedAt(now);
+        current.setSuccessorHash(hash(successor));
+        refreshTokenRepository.save(current);
+        save(current.getUserId(), current.getFamilyId(), successor);
+        return new Rotation(current.getUserId(), successor);
+    }
+
+    /** Ends the session the token belongs to. */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    /** Ends every session of the user. */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-ms:3600000}", initialDelayString = "${jwt.refresh-purge-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh token(s)", purged);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        save(userId, familyId, rawToken);
+        return rawToken;
+    }
+
+    private void save(Long userId, String familyId, String rawToken) {
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)));
+        refreshTokenRepository.save(token);
+    }
+
+    /** The token a refresh token is exchanged for; only the server secret can compute it. */
+    private String successor(String rawToken) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(("refresh-token:" + secret).getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.studenthelper.service;
 
+import com.studenthelper.cache.UserCache;
 import com.studenthelper.dto.UpdateUserProfileRequest;
 import com.studenthelper.dto.UserResponse;
 import com.studenthelper.entity.User;
 import com.studenthelper.mapper.UserMapper;
 import com.studenthelper.repository.UserRepository;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,7 +23,7 @@ public class UserServiceImpl implements UserService {
     private UserMapper userMapper;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private UserCache userCache;
 
     @Override
     public UserResponse getUserById(Long id) {
@@ -31,7 +31,7 @@ public class UserServiceImpl implements UserService {
         if (user == null) {
             return null;
         }
-        return toUserResponse(user);
+        return userMapper.toUserResponse(user);
     }
 
     @Override
@@ -40,7 +40,7 @@ public class UserServiceImpl implements UserService {
         if (user == null) {
             return null;
         }
-        return toUserResponse(user);
+        return userMapper.toUserResponse(user);
     }
 
     @Override
@@ -52,20 +52,10 @@ public class UserServiceImpl implements UserService {
         userMapper.updateUserFromRequest(user, updateRequest);
 
         User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser.getId());
         
         // Convert Entity to DTO and return
-        return toUserResponse(savedUser);
-    }
-
-    private UserResponse toUserResponse(User user) {
-        if (user == null) {
-            return null;
-        }
-        UserResponse response = modelMapper.map(user, UserResponse.class);
-        if (user.getRole() != null) {
-            response.setRole(user.getRole().name());
-        }
-        return response;
+        return userMapper.toUserResponse(savedUser);
     }
 }
 
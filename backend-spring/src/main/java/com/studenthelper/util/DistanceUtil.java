@@ -1,51 +1,89 @@
 package com.studenthelper.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.Locale;
 import java.util.Map;
 
 @Component
-public class DistanceUtil {
+public class DistanceUtil implements MeterBinder {
 
     private final WebClient webClient;
-
-    public DistanceUtil() {
-        this.webClient = WebClient.builder()
-                .baseUrl("http://router.project-osrm.org")
+    private final UpstreamPolicy policy;
+    private final SingleFlight<String, DistanceResult> routes = new SingleFlight<>("osrm", "route");
+    private final ExternalCallTimer routeTimer = new ExternalCallTimer("osrm", DistanceUtil.class, "route");
+
+    public DistanceUtil(
+            @Value("${osrm.base-url:http://router.project-osrm.org}") String baseUrl,
+            @Qualifier("osrmPolicy") UpstreamPolicy policy,
+            WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
                 .build();
+        this.policy = policy;
     }
 
     public DistanceResult calculateRoadDistance(Coordinates point1, Coordinates point2) {
-        try {
-            String url = String.format("/route/v1/driving/%s,%s;%s,%s?overview=false&alternatives=false&steps=false",
-                    point1.getLng(), point1.getLat(), point2.getLng(), point2.getLat());
-
-            Map<String, Object> response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response != null && "Ok".equals(response.get("code"))) {
-                @SuppressWarnings("unchecked")
-                java.util.List<Map<String, Object>> routes = (java.util.List<Map<String, Object>>) response.get("routes");
-                if (routes != null && !routes.isEmpty()) {
-                    Map<String, Object> route = routes.get(0);
-                    Double distanceInMeters = ((Number) route.get("distance")).doubleValue();
-                    Double durationInSeconds = ((Number) route.get("duration")).doubleValue();
-
-                    double distanceInKm = distanceInMeters / 1000.0;
-                    int durationInMinutes = (int) Math.round(durationInSeconds / 60.0);
-
-                    return new DistanceResult(distanceInKm, durationInMinutes, "road");
-                }
+        return calculateRoadDistanceAsync(point1, point2).block();
+    }
+
+    /**
+     * Road distance from OSRM, falling back to the straight-line distance when
+     * OSRM fails or times out, or when the osrm {@link UpstreamPolicy} refuses the
+     * call (breaker open, rate limit, concurrency limit) without waiting for OSRM.
+     * Only the OSRM request is timed, not the fallback.
+     */
+    public Mono<DistanceResult> calculateRoadDistanceAsync(Coordinates point1, Coordinates point2) {
+        // Rounded to ~1 m so concurrent requests for the same pair share one OSRM call
+        String path = String.format(Locale.ROOT, "%.5f,%.5f;%.5f,%.5f",
+                point1.getLng(), point1.getLat(), point2.getLng(), point2.getLat());
+        return routes.execute(path, () -> route(path, point1, point2));
+    }
+
+    private Mono<DistanceResult> route(String path, Coordinates point1, Coordinates point2) {
+        String url = "/route/v1/driving/" + path + "?overview=false&alternatives=false&steps=false";
+
+        @SuppressWarnings("unchecked")
+        Mono<Map<String, Object>> call = webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> (Map<String, Object>) body);
+
+        return policy.execute(routeTimer.time(call))
+                .flatMap(response -> Mono.justOrEmpty(toRoadDistance(response)))
+                .onErrorResume(e -> Mono.empty())
+                .switchIfEmpty(Mono.fromSupplier(() -> calculateDirectDistance(point1, point2)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        routes.bindTo(registry);
+        routeTimer.bindTo(registry);
+    }
+
+    private DistanceResult toRoadDistance(Map<String, Object> response) {
+        if ("Ok".equals(response.get("code"))) {
+            @SuppressWarnings("unchecked")
+            java.util.List<Map<String, Object>> routes = (java.util.List<Map<String, Object>>) response.get("routes");
+            if (routes != null && !routes.isEmpty()) {
+                Map<String, Object> route = routes.get(0);
+                Double distanceInMeters = ((Number) route.get("distance")).doubleValue();
+                Double durationInSeconds = ((Number) route.get("duration")).doubleValue();
+
+                double distanceInKm = distanceInMeters / 1000.0;
+                int durationInMinutes = (int) Math.round(durationInSeconds / 60.0);
+
+                return new DistanceResult(distanceInKm, durationInMinutes, "road");
             }
-        } catch (Exception e) {
-            // Fall through to direct distance
         }
-
-        return calculateDirectDistance(point1, point2);
+        return null;
     }
 
     public DistanceResult calculateDirectDistance(Coordinates point1, Coordinates point2) {
@@ -0,0 +1,55 @@
+package com.studenthelper.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times one kind of upstream HTTP call as {@code external.calls}. Wraps the
+ * request itself, inside the {@link UpstreamPolicy}, so cache hits, local
+ * answers, refusals and fallbacks are not counted and every attempt is timed
+ * on whichever thread completes it. Uses the tag keys {@code @Timed} gives the
+ * other outbound clients so they share one meter; a call cut off by the
+ * limiter's timeout (or whose caller went away) is tagged
+ * {@code exception=cancelled}.
+ */
+public class ExternalCallTimer implements MeterBinder {
+
+    private final String client;
+    private final String className;
+    private final String method;
+    private volatile MeterRegistry registry;
+
+    public ExternalCallTimer(String client, Class<?> owner, String method) {
+        this.client = client;
+        this.className = owner.getName();
+        this.method = method;
+    }
+
+    public <T> Mono<T> time(Mono<T> call) {
+        return Mono.defer(() -> {
+            MeterRegistry meters = registry;
+            if (meters == null) {
+                return call;
+            }
+            Timer.Sample sample = Timer.start(meters);
+            return call
+                    .doOnSuccess(value -> stop(meters, sample, "none"))
+                    .doOnError(e -> stop(meters, sample, e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(meters, sample, "cancelled"));
+        });
+    }
+
+    private void stop(MeterRegistry meters, Timer.Sample sample, String exception) {
+        sample.stop(Timer.builder("external.calls")
+                .tags("client", client, "class", className, "method", method, "exception", exception)
+                .publishPercentileHistogram()
+                .register(meters));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+}
@@ -1,68 +1,158 @@
 package com.studenthelper.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studenthelper.exception.UpstreamUnavailableException;
+import com.studenthelper.geo.OfflineGeocoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Geocoding: known places (cities, colleges, localities) are answered by the
+ * in-process {@link OfflineGeocoder}; everything else goes to Nominatim.
+ * Nominatim results are cached (its usage policy requires it) and calls go
+ * through the nominatim {@link UpstreamPolicy}, so when the rate limit or
+ * circuit breaker refuses a call only unknown, uncached lookups fail. Only
+ * the Nominatim requests themselves are timed as {@code external.calls}.
+ */
 @Component
-public class GeocodingUtil {
+public class GeocodingUtil implements MeterBinder {
 
     private final WebClient webClient;
-
-    public GeocodingUtil() {
-        this.webClient = WebClient.builder()
-                .baseUrl("https://nominatim.openstreetmap.org")
+    private final UpstreamPolicy policy;
+    private final OfflineGeocoder offline;
+    private final Cache<String, GeocodeResult> searchCache;
+    private final Cache<String, String> reverseCache;
+
+    private final SingleFlight<String, GeocodeResult> searches = new SingleFlight<>("nominatim", "search");
+    private final SingleFlight<String, String> reverseLookups = new SingleFlight<>("nominatim", "reverse");
+    private final ExternalCallTimer searchTimer = new ExternalCallTimer("nominatim", GeocodingUtil.class, "search");
+    private final ExternalCallTimer reverseTimer = new ExternalCallTimer("nominatim", GeocodingUtil.class, "reverse");
+
+    public GeocodingUtil(
+            @Value("${geocoding.base-url:https://nominatim.openstreetmap.org}") String baseUrl,
+            @Qualifier("nominatimPolicy") UpstreamPolicy policy,
+            OfflineGeocoder offline,
+            @Value("${geocoding.cache.max-entries:20000}") long cacheEntries,
+            @Value("${geocoding.cache.ttl-hours:24}") long cacheTtlHours,
+            WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
                 .defaultHeader("User-Agent", "Student-Helper-App/1.0")
                 .build();
+        this.policy = policy;
+        this.offline = offline;
+        this.searchCache = Caffeine.newBuilder()
+                .maximumSize(cacheEntries)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
+        this.reverseCache = Caffeine.newBuilder()
+                .maximumSize(cacheEntries)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
     }
 
     public GeocodeResult geocodeAddress(String address, String city) {
-        try {
-            String query = city != null && !city.isEmpty() ? address + ", " + city : address;
-            String url = "/search?format=json&q=" + java.net.URLEncoder.encode(query, java.nio.charset.StandardCharsets.UTF_8) + "&limit=1";
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> results = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(List.class)
-                    .block();
-
-            if (results != null && !results.isEmpty()) {
-                Map<String, Object> result = results.get(0);
-                Double lat = Double.parseDouble((String) result.get("lat"));
-                Double lon = Double.parseDouble((String) result.get("lon"));
-                String displayName = (String) result.get("display_name");
-
-                return new GeocodeResult(lat, lon, displayName);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to geocode address: " + e.getMessage(), e);
-        }
-
-        throw new RuntimeException("Address not found. Please provide a more specific address.");
+        return geocodeAddressAsync(address, city).block();
     }
 
     public String reverseGeocode(Double lat, Double lng) {
-        try {
-            String url = String.format("/reverse?format=json&lat=%s&lon=%s", lat, lng);
-
-            Map<String, Object> result = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (result != null && result.get("display_name") != null) {
-                return (String) result.get("display_name");
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to reverse geocode: " + e.getMessage(), e);
+        return reverseGeocodeAsync(lat, lng).block();
+    }
+
+    public Mono<GeocodeResult> geocodeAddressAsync(String address, String city) {
+        OfflineGeocoder.Match known = offline.geocode(address, city);
+        if (known != null) {
+            return Mono.just(new GeocodeResult(known.lat(), known.lng(), known.displayName()));
+        }
+        String query = city != null && !city.isEmpty() ? address + ", " + city : address;
+        // Nominatim matching is case- and whitespace-insensitive, so these share one call
+        String key = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        GeocodeResult cached = searchCache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return searches.execute(key, () -> search(query).doOnNext(result -> searchCache.put(key, result)));
+    }
+
+    public Mono<String> reverseGeocodeAsync(Double lat, Double lng) {
+        OfflineGeocoder.Match nearby = offline.reverse(lat, lng);
+        if (nearby != null) {
+            return Mono.just(nearby.displayName());
+        }
+        // Rounded to ~1 m so taps on the same spot share a lookup
+        String point = String.format(Locale.ROOT, "lat=%.5f&lon=%.5f", lat, lng);
+        String cached = reverseCache.getIfPresent(point);
+        if (cached != null) {
+            return Mono.just(cached);
         }
+        return reverseLookups.execute(point, () -> reverse(point).doOnNext(address -> reverseCache.put(point, address)));
+    }
 
-        throw new RuntimeException("Could not reverse geocode coordinates");
+    private Mono<String> reverse(String point) {
+        String url = "/reverse?format=json&" + point;
+
+        @SuppressWarnings("unchecked")
+        Mono<Map<String, Object>> call = webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> (Map<String, Object>) body);
+
+        return policy.execute(reverseTimer.time(call))
+                .flatMap(result -> Mono.justOrEmpty((String) result.get("display_name")))
+                .onErrorMap(e -> !(e instanceof UpstreamUnavailableException),
+                        e -> new RuntimeException("Failed to reverse geocode: " + e.getMessage(), e))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Could not reverse geocode coordinates")));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        searches.bindTo(registry);
+        reverseLookups.bindTo(registry);
+        searchTimer.bindTo(registry);
+        reverseTimer.bindTo(registry);
+        CaffeineCacheMetrics.monitor(registry, searchCache, "geocoding.search");
+        CaffeineCacheMetrics.monitor(registry, reverseCache, "geocoding.reverse");
+    }
+
+    private Mono<GeocodeResult> search(String query) {
+        String url = "/search?format=json&q=" + java.net.URLEncoder.encode(query, java.nio.charset.StandardCharsets.UTF_8) + "&limit=1";
+
+        @SuppressWarnings("unchecked")
+        Mono<List<Map<String, Object>>> call = webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(List.class)
+                .map(body -> (List<Map<String, Object>>) body);
+
+        return policy.execute(searchTimer.time(call))
+                .flatMap(results -> {
+                    if (results.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    Map<String, Object> result = results.get(0);
+                    Double lat = Double.parseDouble((String) result.get("lat"));
+                    Double lon = Double.parseDouble((String) result.get("lon"));
+                    String displayName = (String) result.get("display_name");
+                    return Mono.just(new GeocodeResult(lat, lon, displayName));
+                })
+                .onErrorMap(e -> !(e instanceof UpstreamUnavailableException),
+                        e -> new RuntimeException("Failed to geocode address: " + e.getMessage(), e))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Address not found. Please provide a more specific address.")));
     }
 
     public static class GeocodeResult {
@@ -81,4 +171,3 @@ public class GeocodingUtil {
         public String getDisplayName() { return displayName; }
     }
 }
-
@@ -1,6 +1,9 @@
 package com.studenthelper.util;
 
+import com.studenthelper.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -10,30 +13,46 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Date;
 
+/**
+ * Access tokens: short-lived HS512 JWTs carrying the user id, role and a
+ * random id (jti), so JwtAuthenticationFilter can authenticate a request
+ * from the token alone. Long-lived sessions are refresh tokens, see
+ * RefreshTokenService.
+ */
 @Component
 public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    // iat is whole seconds (RFC 7519); revocation cutoffs need the millisecond
+    private static final String ISSUED_AT_MILLIS = "iatMs";
     
     @Value("${jwt.secret}")
     private String secret;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    @Value("${jwt.access-expiration-ms:900000}")
+    private long accessExpiration;
 
-    private SecretKey signingKey = null;
+    // Derived lazily without locking: racing threads compute the same key, and a
+    // synchronized block here would pin virtual threads on every request.
+    private volatile SecretKey signingKey = null;
+    private volatile JwtParser parser = null;
 
-    private synchronized SecretKey getSigningKey() {
-        if (signingKey == null) {
+    private SecretKey getSigningKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
             // For HS512, we need at least 512 bits (64 bytes)
             // Use SHA-512 to derive a consistent 64-byte key from the secret
             try {
                 java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-512");
                 byte[] keyBytes = digest.digest(secret.getBytes(StandardCharsets.UTF_8));
                 // SHA-512 produces exactly 64 bytes, perfect for HS512
-                signingKey = Keys.hmacShaKeyFor(keyBytes);
+                key = Keys.hmacShaKeyFor(keyBytes);
             } catch (java.security.NoSuchAlgorithmException e) {
                 // Fallback: pad the secret if SHA-512 fails
                 byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
@@ -42,37 +61,59 @@ public class JwtUtil {
                     for (int i = 0; i < 64; i++) {
                         padded[i] = keyBytes[i % keyBytes.length];
                     }
-                    signingKey = Keys.hmacShaKeyFor(padded);
+                    key = Keys.hmacShaKeyFor(padded);
                 } else {
-                    signingKey = Keys.hmacShaKeyFor(keyBytes);
+                    key = Keys.hmacShaKeyFor(keyBytes);
                 }
             }
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = current;
         }
-        return signingKey;
+        return current;
     }
 
-    public String generateToken(Long userId) {
+    public String generateAccessToken(User user) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+        Date expiryDate = new Date(now.getTime() + accessExpiration);
 
-        SecretKey key = getSigningKey();
-        
         return Jwts.builder()
-                .claim("userId", userId.toString())
-                .subject(userId.toString())
+                .id(Long.toString(SECURE_RANDOM.nextLong()))
+                .claim("userId", user.getId().toString())
+                .claim("role", user.getRole().name())
+                .subject(user.getId().toString())
+                .claim(ISSUED_AT_MILLIS, now.getTime())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key, Jwts.SIG.HS512)
+                .signWith(getSigningKey(), Jwts.SIG.HS512)
                 .compact();
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /** Access token lifetime in millis; also how long a revocation has to be remembered. */
+    public long getAccessExpirationMillis() {
+        return accessExpiration;
+    }
+
+    /**
+     * Verifies signature and expiry and returns the claims. Tokens without a
+     * jti or role (issued before refresh tokens existed) are rejected.
+     */
+    public Claims parseAccessToken(String token) {
+        Claims claims = getParser().parseSignedClaims(token).getPayload();
+        if (claims.getId() == null || claims.get("role") == null || claims.getIssuedAt() == null) {
+            throw new JwtException("Not an access token");
+        }
+        return claims;
+    }
 
+    public static Long getUserId(Claims claims) {
         Object userIdObj = claims.get("userId");
         if (userIdObj != null) {
             return Long.parseLong(userIdObj.toString());
@@ -80,19 +121,30 @@ public class JwtUtil {
         return Long.parseLong(claims.getSubject());
     }
 
+    public static long getTokenId(Claims claims) {
+        return Long.parseLong(claims.getId());
+    }
+
+    /** Issue time in epoch millis; tokens minted before the claim existed fall back to iat. */
+    public static long getIssuedAtMillis(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS);
+        if (millis instanceof Number number) {
+            return number.longValue();
+        }
+        return claims.getIssuedAt().getTime();
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return getUserId(parseAccessToken(token));
+    }
+
     public boolean validateToken(String token) {
         try {
             if (token == null || token.trim().isEmpty()) {
                 return false;
             }
 
-            SecretKey key = getSigningKey();
-            
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parseAccessToken(token);
 
             return !claims.getExpiration().before(new Date());
         } catch (io.jsonwebtoken.ExpiredJwtException e) {
@@ -0,0 +1,125 @@
+package com.studenthelper.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accept-header negotiation for the responses that are written by hand rather
+ * than through Spring's message converters: cached listing bodies
+ * (ResponseCache) and streamed lists (StreamingJson). Uses the same mappers as
+ * the CBOR/Smile converters in ContentNegotiationConfig, so every endpoint
+ * encodes a given body the same way.
+ */
+@Component
+public class ResponseFormats {
+
+    public enum Format {
+        // Declaration order breaks ties, so JSON wins for */* and missing Accept headers
+        JSON(MediaType.APPLICATION_JSON, ""),
+        CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+        SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+        private final MediaType mediaType;
+        private final String etagSuffix;
+
+        Format(MediaType mediaType, String etagSuffix) {
+            this.mediaType = mediaType;
+            this.etagSuffix = etagSuffix;
+        }
+
+        public MediaType getMediaType() { return mediaType; }
+
+        /** Appended inside the quotes of a strong ETag; each encoding is a different representation. */
+        public String getEtagSuffix() { return etagSuffix; }
+    }
+
+    private static final Format[] FORMATS = Format.values();
+
+    private final Map<Format, ObjectMapper> mappers = new EnumMap<>(Format.class);
+
+    public ResponseFormats(
+            ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MappingJackson2SmileHttpMessageConverter smileConverter) {
+        mappers.put(Format.JSON, objectMapper);
+        mappers.put(Format.CBOR, cborConverter.getObjectMapper());
+        mappers.put(Format.SMILE, smileConverter.getObjectMapper());
+    }
+
+    public ObjectMapper mapper(Format format) {
+        return mappers.get(format);
+    }
+
+    /**
+     * The format the client prefers: highest q-value, then the most specific
+     * matching range ({@code application/cbor} over {@code *}{@code /*}). Falls back to
+     * JSON when nothing we produce is acceptable or the header doesn't parse, as
+     * these responses always were JSON.
+     */
+    public Format select(WebRequest request) {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return Format.JSON;
+        }
+        List<MediaType> ranges;
+        try {
+            ranges = MediaType.parseMediaTypes(Arrays.asList(accept));
+        } catch (InvalidMediaTypeException e) {
+            return Format.JSON;
+        }
+
+        Format best = Format.JSON;
+        double bestQuality = 0;
+        int bestSpecificity = -1;
+        for (Format format : FORMATS) {
+            double quality = 0;
+            int specificity = -1;
+            for (MediaType range : ranges) {
+                if (range.includes(format.mediaType)) {
+                    int s = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+                    if (s > specificity) {
+                        specificity = s;
+                        quality = range.getQualityValue();
+                    }
+                }
+            }
+            if (quality > bestQuality || (quality > 0 && quality == bestQuality && specificity > bestSpecificity)) {
+                best = format;
+                bestQuality = quality;
+                bestSpecificity = specificity;
+            }
+        }
+        return best;
+    }
+
+    /** Re-encodes a JSON document token by token, without binding it to objects. */
+    public byte[] transcode(byte[] json, Format format) {
+        if (format == Format.JSON) {
+            return json;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = mappers.get(Format.JSON).createParser(json);
+             JsonGenerator generator = mappers.get(format).createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to transcode response to " + format, e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.studenthelper.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical upstream calls. The first caller for a key
+ * starts the call; everyone who asks for the same key before it finishes gets
+ * the same result (or error) instead of issuing another request. Nothing is
+ * kept after completion, so this is not a cache. A caller cancelling does not
+ * cancel the shared call for the others.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String client;
+    private final String operation;
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    public SingleFlight(String client, String operation) {
+        this.client = client;
+        this.operation = operation;
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = new boolean[1];
+            Mono<V> flight = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return call.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            (leader[0] ? calls : shared).incrementAndGet();
+            return flight;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("external.singleflight.calls", calls, AtomicLong::get)
+                .description("Upstream calls started")
+                .tags("client", client, "operation", operation).register(registry);
+        FunctionCounter.builder("external.singleflight.shared", shared, AtomicLong::get)
+                .description("Requests served by joining a call already in flight")
+                .tags("client", client, "operation", operation).register(registry);
+        Gauge.builder("external.singleflight.inflight", inFlight, Map::size)
+                .tags("client", client, "operation", operation).register(registry);
+    }
+
+    public long getCallCount() { return calls.get(); }
+    public long getSharedCount() { return shared.get(); }
+    public int getInFlight() { return inFlight.size(); }
+}
@@ -0,0 +1,157 @@
+package com.studenthelper.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes list responses row by row with a Jackson {@link JsonGenerator} instead
+ * of collecting them into a List first, so memory stays flat however many rows
+ * there are and the first rows reach the client while the rest are still being
+ * read. The JSON is the same as the buffered responses it replaces; only the
+ * count moves after the array, since it isn't known until the end. Clients
+ * asking for CBOR or Smile get the same structure in that encoding (see
+ * {@link ResponseFormats}).
+ *
+ * <p>Rows come from a {@link Rows} callback, normally a service method that
+ * walks a repository Stream inside a read-only transaction. It runs on the MVC
+ * async executor once the controller returns. Nothing is sent until the first
+ * row has been written, so a failure opening the query still ends up in
+ * GlobalExceptionHandler with a proper status; a failure after that can only cut
+ * the response short.
+ */
+@Component
+public class StreamingJson {
+
+    /** Something that hands each row to the given consumer, in order. */
+    @FunctionalInterface
+    public interface Rows {
+        void forEach(Consumer<Object> row);
+    }
+
+    private final ResponseFormats responseFormats;
+    private final Map<ResponseFormats.Format, ObjectWriter> rowWriters = new EnumMap<>(ResponseFormats.Format.class);
+
+    public StreamingJson(ResponseFormats responseFormats) {
+        this.responseFormats = responseFormats;
+        for (ResponseFormats.Format format : ResponseFormats.Format.values()) {
+            // Let the generator buffer fill instead of flushing per row
+            rowWriters.put(format, responseFormats.mapper(format).writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    /** {@code {"success":true,"message":null,"data":[...],"count":n,"error":null}}, as ApiResponse.success(list, count). */
+    public ResponseEntity<StreamingResponseBody> apiResponse(Rows rows) {
+        ResponseFormats.Format format = requestedFormat();
+        return respond(format, out -> {
+            JsonGenerator gen = open(format, out);
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            gen.writeNullField("message");
+            gen.writeFieldName("data");
+            long count = writeArray(gen, rowWriters.get(format), rows);
+            gen.writeNumberField("count", count);
+            gen.writeNullField("error");
+            gen.writeEndObject();
+            gen.close();
+        });
+    }
+
+    /** {@code {"success":true,"<field>":[...]}} plus {@code "count":n} after the array when withCount is set. */
+    public ResponseEntity<StreamingResponseBody> object(String field, boolean withCount, Rows rows) {
+        ResponseFormats.Format format = requestedFormat();
+        return respond(format, out -> {
+            JsonGenerator gen = open(format, out);
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            gen.writeFieldName(field);
+            long count = writeArray(gen, rowWriters.get(format), rows);
+            if (withCount) {
+                gen.writeNumberField("count", count);
+            }
+            gen.writeEndObject();
+            gen.close();
+        });
+    }
+
+    /**
+     * A ready-made body, for a streaming handler's early returns (auth checks, errors).
+     * Spring only streams when the declared return type is ResponseEntity&lt;StreamingResponseBody&gt;,
+     * so those branches can't return a plain ResponseEntity of a Map.
+     */
+    public ResponseEntity<StreamingResponseBody> status(HttpStatusCode status, Object body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (body == null) {
+            return builder.build();
+        }
+        ResponseFormats.Format format = requestedFormat();
+        byte[] bytes;
+        try {
+            bytes = responseFormats.mapper(format).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response", e);
+        }
+        return builder.contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(out -> out.write(bytes));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respond(ResponseFormats.Format format, StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(format.getMediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    // Handlers call in on the request thread, before the body runs on the async executor
+    private ResponseFormats.Format requestedFormat() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return responseFormats.select(new ServletWebRequest(servlet.getRequest()));
+        }
+        return ResponseFormats.Format.JSON;
+    }
+
+    private JsonGenerator open(ResponseFormats.Format format, OutputStream out) throws IOException {
+        JsonGenerator gen = responseFormats.mapper(format).getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // The servlet container owns the stream
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return gen;
+    }
+
+    // Not closed on failure on purpose: closing would flush the partial body
+    private long writeArray(JsonGenerator gen, ObjectWriter rowWriter, Rows rows) throws IOException {
+        long[] count = {0};
+        gen.writeStartArray();
+        try {
+            rows.forEach(row -> {
+                try {
+                    rowWriter.writeValue(gen, row);
+                    if (++count[0] == 1) {
+                        // Headers and the first row go out now; later rows as the buffers fill
+                        gen.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+        return count[0];
+    }
+}
@@ -0,0 +1,165 @@
+package com.studenthelper.util;
+
+import com.studenthelper.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking concurrency limit and timeout for one third-party API. At most
+ * {@code maxConcurrent} calls are subscribed at once; further calls wait in a
+ * bounded FIFO queue without holding a thread and are rejected with
+ * {@link UpstreamUnavailableException} once the queue is full. The timeout
+ * covers queueing plus the call itself.
+ */
+public class UpstreamLimiter implements MeterBinder {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration timeout;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public UpstreamLimiter(String name, int maxConcurrent, int maxQueued, Duration timeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1 for " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(maxQueued, 0);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Wraps a cold call so that it is only subscribed once a permit is free.
+     * The permit is returned when the call completes, fails or is cancelled.
+     */
+    public <T> Mono<T> execute(Mono<T> call) {
+        return Mono.usingWhen(
+                        acquire(),
+                        permit -> call,
+                        Permit::release,
+                        (permit, error) -> permit.release(),
+                        Permit::release)
+                .timeout(timeout)
+                .onErrorMap(TimeoutException.class, e -> {
+                    timedOut.incrementAndGet();
+                    return new UpstreamUnavailableException(name + " did not respond within " + timeout.toMillis() + "ms", e);
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("external.inflight", inFlight, AtomicInteger::get).tag("client", name).register(registry);
+        Gauge.builder("external.queued", queued, AtomicInteger::get).tag("client", name).register(registry);
+        FunctionCounter.builder("external.rejected", rejected, AtomicLong::get).tag("client", name).register(registry);
+        FunctionCounter.builder("external.timeouts", timedOut, AtomicLong::get).tag("client", name).register(registry);
+    }
+
+    public String getName() { return name; }
+    public int getInFlight() { return inFlight.get(); }
+    public int getQueued() { return queued.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public long getTimedOutCount() { return timedOut.get(); }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            if (tryAcquire()) {
+                sink.success(new Permit());
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejected.incrementAndGet();
+                sink.error(new UpstreamUnavailableException(name + " is busy, try again shortly"));
+                return;
+            }
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> {
+                if (waiter.claim()) {
+                    waiters.remove(waiter);
+                    queued.decrementAndGet();
+                } else {
+                    // drain() won the race; its permit may never reach the subscriber
+                    waiter.permit.release().subscribe();
+                }
+            });
+            waiters.add(waiter);
+            // A permit may have been released between tryAcquire and add
+            drain();
+        });
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            Permit permit = new Permit();
+            waiter.permit = permit;
+            if (waiter.claim()) {
+                queued.decrementAndGet();
+                waiter.sink.success(permit);
+            } else {
+                // Cancelled while queued; hand the permit to the next waiter
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Mono<Void> release() {
+            return Mono.fromRunnable(() -> {
+                if (released.compareAndSet(false, true)) {
+                    inFlight.decrementAndGet();
+                    drain();
+                }
+            });
+        }
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.studenthelper.util;
+
+import com.studenthelper.exception.UpstreamUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything a call to one third-party API goes through, outermost first:
+ * <ol>
+ *   <li>circuit breaker: once the upstream is failing, calls are refused
+ *       immediately instead of waiting for another failure</li>
+ *   <li>token-bucket rate limiter (e.g. Nominatim's 1 request/s policy);
+ *       callers wait non-blockingly for a token up to a bounded time</li>
+ *   <li>{@link UpstreamLimiter}: concurrency limit, queue and timeout</li>
+ * </ol>
+ * Refusals surface as {@link UpstreamUnavailableException} so callers can fall
+ * back (straight-line distance, cached geocode) without special cases.
+ */
+public class UpstreamPolicy implements MeterBinder {
+
+    private final String name;
+    private final UpstreamLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    public UpstreamPolicy(String name, UpstreamLimiter limiter, CircuitBreaker circuitBreaker, RateLimiter rateLimiter) {
+        this.name = name;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public <T> Mono<T> execute(Mono<T> call) {
+        return limiter.execute(call)
+                .transformDeferred(RateLimiterOperator.of(rateLimiter))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(CallNotPermittedException.class, e -> {
+                    shortCircuited.incrementAndGet();
+                    return new UpstreamUnavailableException(name + " is unavailable, skipping call", e);
+                })
+                .onErrorMap(RequestNotPermitted.class, e -> {
+                    rateLimited.incrementAndGet();
+                    return new UpstreamUnavailableException(name + " rate limit reached", e);
+                });
+    }
+
+    /**
+     * Whether a failure says the upstream itself is unhealthy. Local refusals
+     * (queue full, rate limit) and 4xx answers other than 429 do not count
+     * towards opening the breaker; timeouts, connection errors and 5xx do.
+     */
+    public static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof RequestNotPermitted) {
+            return false;
+        }
+        if (e instanceof UpstreamUnavailableException) {
+            return e.getCause() instanceof TimeoutException;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limiter.bindTo(registry);
+        FunctionCounter.builder("external.ratelimited", rateLimited, AtomicLong::get)
+                .description("Calls refused because the rate limit wait would exceed its maximum")
+                .tag("client", name).register(registry);
+        FunctionCounter.builder("external.short.circuited", shortCircuited, AtomicLong::get)
+                .description("Calls refused because the circuit breaker is open")
+                .tag("client", name).register(registry);
+    }
+
+    public String getName() { return name; }
+    public UpstreamLimiter getLimiter() { return limiter; }
+    public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+    public RateLimiter getRateLimiter() { return rateLimiter; }
+}
@@ -0,0 +1,61 @@
+package com.studenthelper.cache;
+
+import com.studenthelper.dto.PGResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ListingCacheTest {
+
+    private final ResponseCache responseCache = mock(ResponseCache.class);
+    private final SearchResultCache searchResultCache = new SearchResultCache(10_000, 120);
+    private final ListingCache cache = new ListingCache(
+            responseCache, searchResultCache, new LocalCacheInvalidationBus(), 1_000, 300);
+
+    @Test
+    void searchResultsAreWrittenThroughWhenNothingChanged() {
+        long stamp = cache.stamp();
+
+        cache.putPGs(stamp, List.of(pg(1L, "before")));
+
+        assertThat(cache.getPG(1L, id -> pg(id, "loaded")).getTitle()).isEqualTo("before");
+    }
+
+    @Test
+    void resultsQueriedBeforeAnInvalidationAreNotWritten() {
+        long stamp = cache.stamp();
+        // Lands while the search query is running
+        cache.invalidate(ResponseCache.PG, 1L, "Pune");
+
+        cache.putPGs(stamp, List.of(pg(1L, "before"), pg(2L, "untouched")));
+
+        assertThat(cache.getPG(1L, id -> pg(id, "after")).getTitle()).isEqualTo("after");
+        // Any listing may predate the write, not only the invalidated one
+        assertThat(cache.getPG(2L, id -> pg(id, "loaded")).getTitle()).isEqualTo("loaded");
+    }
+
+    @Test
+    void invalidationDropsTheDtoTheResponseAndTheCitySearches() {
+        cache.putPGs(cache.stamp(), List.of(pg(1L, "before")));
+        String search = searchResultCache.key(ResponseCache.PG, "Pune", "", PageRequest.of(0, 20));
+
+        cache.invalidate(ResponseCache.PG, 1L, "Pune");
+
+        assertThat(cache.getPG(1L, id -> pg(id, "after")).getTitle()).isEqualTo("after");
+        verify(responseCache).evict(ResponseCache.PG, 1L);
+        assertThat(searchResultCache.key(ResponseCache.PG, "Pune", "", PageRequest.of(0, 20)))
+                .isNotEqualTo(search);
+    }
+
+    private static PGResponse pg(Long id, String title) {
+        PGResponse response = new PGResponse();
+        response.setId(id);
+        response.setTitle(title);
+        return response;
+    }
+}
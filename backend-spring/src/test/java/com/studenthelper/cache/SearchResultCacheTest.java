@@ -0,0 +1,82 @@
+package com.studenthelper.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final SearchResultCache cache = new SearchResultCache(10_000, 120);
+
+    @Test
+    void bumpingACityMakesItsCachedPagesMiss() {
+        String key = cache.key(ResponseCache.PG, "Pune", "ac=true", FIRST_PAGE);
+        cache.put(key, List.of(1L, 2L), 2);
+        assertThat(cache.get(key)).isNotNull();
+
+        cache.bump(ResponseCache.PG, "Pune");
+
+        String next = cache.key(ResponseCache.PG, "Pune", "ac=true", FIRST_PAGE);
+        assertThat(next).isNotEqualTo(key);
+        assertThat(cache.get(next)).isNull();
+    }
+
+    @Test
+    void bumpingACityLeavesOtherCitiesAndTypesCached() {
+        String mumbai = cache.key(ResponseCache.PG, "Mumbai", "", FIRST_PAGE);
+        String hostels = cache.key(ResponseCache.HOSTEL, "Pune", "", FIRST_PAGE);
+
+        cache.bump(ResponseCache.PG, "Pune");
+
+        assertThat(cache.key(ResponseCache.PG, "Mumbai", "", FIRST_PAGE)).isEqualTo(mumbai);
+        assertThat(cache.key(ResponseCache.HOSTEL, "Pune", "", FIRST_PAGE)).isEqualTo(hostels);
+    }
+
+    @Test
+    void bumpingAnyCityInvalidatesSearchesWithoutACity() {
+        String anywhere = cache.key(ResponseCache.ITEM, null, "", FIRST_PAGE);
+
+        cache.bump(ResponseCache.ITEM, "Delhi");
+
+        assertThat(cache.key(ResponseCache.ITEM, " ", "", FIRST_PAGE)).isNotEqualTo(anywhere);
+    }
+
+    @Test
+    void cityIsNormalizedBeforeKeyingAndBumping() {
+        String key = cache.key(ResponseCache.PG, "  Pune ", "", FIRST_PAGE);
+        assertThat(cache.key(ResponseCache.PG, "pune", "", FIRST_PAGE)).isEqualTo(key);
+
+        cache.bump(ResponseCache.PG, "PUNE");
+
+        assertThat(cache.key(ResponseCache.PG, "  Pune ", "", FIRST_PAGE)).isNotEqualTo(key);
+    }
+
+    @Test
+    void writeRacingTheQueryStoresUnderAStaleKey() {
+        // Key taken before the query, as the services do; the write lands while it runs
+        String key = cache.key(ResponseCache.PG, "Pune", "", FIRST_PAGE);
+        cache.bump(ResponseCache.PG, "Pune");
+        cache.put(key, List.of(1L), 1);
+
+        assertThat(cache.get(cache.key(ResponseCache.PG, "Pune", "", FIRST_PAGE))).isNull();
+    }
+
+    @Test
+    void searchingUnknownCitiesAddsNoVersionCounters() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.key(ResponseCache.PG, "city-" + i, "", FIRST_PAGE);
+        }
+        assertThat(cache.stats()).containsEntry("versions", 0);
+
+        cache.bump(ResponseCache.PG, "city-1");
+
+        // The type-wide counter and the city's own
+        assertThat(cache.stats()).containsEntry("versions", 2);
+    }
+}
@@ -0,0 +1,144 @@
+package com.studenthelper.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two buses on loopback ports, the way the class doc suggests running several
+ * instances locally.
+ */
+class UdpCacheInvalidationBusTest {
+
+    private static final String SECRET = "test-secret-shared-by-every-instance";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<UdpCacheInvalidationBus> buses = new ArrayList<>();
+
+    private int portA;
+    private int portB;
+    private UdpCacheInvalidationBus a;
+    private UdpCacheInvalidationBus b;
+    private final Cache<Long, String> cacheOnB = Caffeine.newBuilder().build();
+    private final List<CacheInvalidation> appliedOnB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startBuses() throws IOException {
+        portA = freePort();
+        portB = freePort();
+        a = start(portA, "127.0.0.1:" + portB, SECRET);
+        b = start(portB, "127.0.0.1:" + portA, SECRET);
+        b.register(ResponseCache.PG, invalidation -> {
+            cacheOnB.invalidate(invalidation.getId());
+            appliedOnB.add(invalidation);
+        });
+        cacheOnB.put(42L, "cached pg 42");
+    }
+
+    @AfterEach
+    void stopBuses() {
+        buses.forEach(UdpCacheInvalidationBus::stop);
+    }
+
+    @Test
+    void publishedInvalidationIsReceivedAndEvictedOnPeer() {
+        List<CacheInvalidation> appliedOnA = new CopyOnWriteArrayList<>();
+        a.register(ResponseCache.PG, appliedOnA::add);
+
+        a.publish(new CacheInvalidation(ResponseCache.PG, 42L, List.of("Pune")));
+
+        // The received counter moves before handlers run, so wait for the handler to finish
+        awaitCount(appliedOnB::size, 1);
+        assertThat(b.getReceivedCount()).isEqualTo(1);
+        assertThat(cacheOnB.getIfPresent(42L)).isNull();
+        assertThat(appliedOnB).singleElement().satisfies(invalidation -> {
+            assertThat(invalidation.getId()).isEqualTo(42L);
+            assertThat(invalidation.getCities()).containsExactly("Pune");
+        });
+        assertThat(appliedOnA).hasSize(1);
+        assertThat(a.getSentCount()).isEqualTo(1);
+        assertThat(b.getRejectedCount()).isZero();
+    }
+
+    @Test
+    void datagramSignedWithAnotherSecretIsDropped() throws IOException {
+        int portC = freePort();
+        UdpCacheInvalidationBus forger = start(portC, "127.0.0.1:" + portB, "some-other-secret");
+
+        forger.publish(new CacheInvalidation(ResponseCache.PG, 42L, List.of()));
+
+        awaitCount(b::getRejectedCount, 1);
+        assertThat(b.getReceivedCount()).isZero();
+        assertThat(cacheOnB.getIfPresent(42L)).isNotNull();
+    }
+
+    @Test
+    void unsignedJsonIsDropped() throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(new CacheInvalidation(ResponseCache.PG, 42L, List.of()));
+        try (DatagramSocket raw = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            raw.send(new DatagramPacket(json, json.length, new InetSocketAddress(InetAddress.getLoopbackAddress(), portB)));
+        }
+
+        awaitCount(b::getRejectedCount, 1);
+        assertThat(b.getReceivedCount()).isZero();
+        assertThat(cacheOnB.getIfPresent(42L)).isNotNull();
+    }
+
+    @Test
+    void validDatagramFromAddressOutsidePeerListIsDropped() throws IOException {
+        int portD = freePort();
+        // D only trusts 127.0.0.2; the sender signs with the right secret but sends from 127.0.0.1
+        UdpCacheInvalidationBus d = start(portD, "127.0.0.2:" + portA, SECRET);
+        Cache<Long, String> cacheOnD = Caffeine.newBuilder().build();
+        cacheOnD.put(42L, "cached pg 42");
+        d.register(ResponseCache.PG, invalidation -> cacheOnD.invalidate(invalidation.getId()));
+        UdpCacheInvalidationBus sender = start(freePort(), "127.0.0.1:" + portD, SECRET);
+
+        sender.publish(new CacheInvalidation(ResponseCache.PG, 42L, List.of()));
+
+        awaitCount(d::getRejectedCount, 1);
+        assertThat(d.getReceivedCount()).isZero();
+        assertThat(cacheOnD.getIfPresent(42L)).isNotNull();
+    }
+
+    private UdpCacheInvalidationBus start(int port, String peers, String secret) throws IOException {
+        UdpCacheInvalidationBus bus = new UdpCacheInvalidationBus(objectMapper, "127.0.0.1", port, peers, secret);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramSocket probe = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            return probe.getLocalPort();
+        }
+    }
+
+    private static void awaitCount(LongSupplier counter, long expected) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (counter.getAsLong() < expected && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertThat(counter.getAsLong()).isEqualTo(expected);
+    }
+}
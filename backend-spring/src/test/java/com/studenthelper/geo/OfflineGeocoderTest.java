@@ -0,0 +1,76 @@
+package com.studenthelper.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfflineGeocoderTest {
+
+    private static final String GAZETTEER = String.join("\n",
+            "# name, kind, lat, lng, context, aliases",
+            "Ahmedabad\tcity\t23.0225\t72.5714\tGujarat, India\tAmdavad",
+            "Vadodara\tcity\t22.3072\t73.1812\tGujarat, India\tBaroda",
+            "Gujarat University\tcollege\t23.0359\t72.5461\tNavrangpura, Ahmedabad, Gujarat, India\tGU",
+            "L.D. College of Engineering\tcollege\t23.0338\t72.5466\tNavrangpura, Ahmedabad, Gujarat, India\tLDCE|LD College of Engineering",
+            "Nirma University\tcollege\t23.1288\t72.5448\tGota, Ahmedabad, Gujarat, India\t",
+            "Sardar Patel College\tcollege\t22.5500\t72.9500\tVallabh Vidyanagar, Anand, Gujarat, India\t",
+            "Sardar Patel Institute\tcollege\t22.3100\t73.1900\tVadodara, Gujarat, India\t",
+            "Nirmal Nagar\tlocality\t22.3000\t73.2000\tVadodara, Gujarat, India\t",
+            "Navrangpura\tlocality\t23.0365\t72.5611\tAhmedabad, Gujarat, India\t");
+
+    @TempDir
+    Path dir;
+
+    private OfflineGeocoder geocoder;
+
+    @BeforeEach
+    void load() throws IOException {
+        Path tsv = dir.resolve("places.tsv");
+        Files.writeString(tsv, GAZETTEER);
+        geocoder = new OfflineGeocoder(new DefaultResourceLoader(), true,
+                tsv.toUri().toString(), dir.resolve("gazetteer.idx").toString(), 1.5);
+        assertThat(geocoder.isEnabled()).isTrue();
+    }
+
+    @Test
+    void exactNamesAndAliases() {
+        assertThat(geocoder.geocode("Vadodara", null).displayName()).isEqualTo("Vadodara, Gujarat, India");
+        assertThat(geocoder.geocode("Baroda", null).displayName()).startsWith("Vadodara");
+        assertThat(geocoder.geocode("L. D. College of Engineering", "Ahmedabad").kind()).isEqualTo("college");
+        assertThat(geocoder.geocode("Navrangpura", "Ahmedabad").kind()).isEqualTo("locality");
+    }
+
+    @Test
+    void wholeWordPrefixResolvesToTheOnlyPlace() {
+        assertThat(geocoder.geocode("Nirma", null).displayName()).startsWith("Nirma University");
+        assertThat(geocoder.geocode("LD College", "Ahmedabad").displayName()).startsWith("L.D. College of Engineering");
+    }
+
+    @Test
+    void prefixMatchingSeveralPlacesIsAMissUnlessQualifiersPickOne() {
+        assertThat(geocoder.geocode("Sardar Patel", null)).isNull();
+        assertThat(geocoder.geocode("Sardar Patel", "Vadodara").displayName()).startsWith("Sardar Patel Institute");
+    }
+
+    @Test
+    void prefixDoesNotMatchInsideAWordOrNameAnArea() {
+        assertThat(geocoder.geocode("Nirm", null)).isNull();
+        assertThat(geocoder.geocode("Gujarat", null)).isNull();
+        assertThat(geocoder.geocode("Gu", null)).isNotNull(); // the GU alias, exactly
+        assertThat(geocoder.geocode("Sa", null)).isNull();
+        assertThat(geocoder.geocode("12 Relief Road", "Ahmedabad")).isNull();
+    }
+
+    @Test
+    void reverseFindsNearestPlaceWithinRadius() {
+        assertThat(geocoder.reverse(23.1290, 72.5450).displayName()).startsWith("Nirma University");
+        assertThat(geocoder.reverse(21.1702, 72.8311)).isNull();
+    }
+}
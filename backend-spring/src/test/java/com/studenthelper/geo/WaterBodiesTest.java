@@ -0,0 +1,87 @@
+package com.studenthelper.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaterBodiesTest {
+
+    private static final String BUNDLED = "classpath:geo/water.geojson";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void bundledPolygonsFindTheSeasAndCityLakes() {
+        WaterBodies water = new WaterBodies(new DefaultResourceLoader(), BUNDLED, 0.05, "");
+
+        assertThat(water.waterBodyAt(18.90, 72.40)).isEqualTo("Arabian Sea");
+        assertThat(water.waterBodyAt(15.00, 72.00)).isEqualTo("Arabian Sea");
+        assertThat(water.waterBodyAt(13.00, 81.50)).isEqualTo("Bay of Bengal");
+        assertThat(water.waterBodyAt(18.00, 86.50)).isEqualTo("Bay of Bengal");
+        assertThat(water.waterBodyAt(22.70, 69.50)).isEqualTo("Gulf of Kutch");
+        assertThat(water.waterBodyAt(19.1273, 72.9050)).isEqualTo("Powai Lake");
+        assertThat(water.waterBodyAt(17.4239, 78.4738)).isEqualTo("Hussain Sagar");
+        assertThat(water.waterBodyAt(12.9817, 77.6191)).isEqualTo("Ulsoor Lake");
+    }
+
+    @Test
+    void bundledPolygonsLeaveCoastalAndInlandAddressesDry() {
+        WaterBodies water = new WaterBodies(new DefaultResourceLoader(), BUNDLED, 0.05, "");
+
+        // Mumbai (Churchgate, Andheri), Chennai (Marina Beach), Visakhapatnam, Kochi, Kolkata, Pune, Delhi
+        assertThat(water.waterBodyAt(18.9322, 72.8264)).isNull();
+        assertThat(water.waterBodyAt(19.1136, 72.8697)).isNull();
+        assertThat(water.waterBodyAt(13.0500, 80.2824)).isNull();
+        assertThat(water.waterBodyAt(17.6868, 83.2185)).isNull();
+        assertThat(water.waterBodyAt(9.9312, 76.2673)).isNull();
+        assertThat(water.waterBodyAt(22.5726, 88.3639)).isNull();
+        assertThat(water.waterBodyAt(18.5204, 73.8567)).isNull();
+        assertThat(water.waterBodyAt(28.6139, 77.2090)).isNull();
+        // Next to Powai Lake, outside its outline
+        assertThat(water.waterBodyAt(19.1200, 72.9050)).isNull();
+    }
+
+    @Test
+    void aMissOnlyMeansLandInsideTheConfiguredCoverage() {
+        WaterBodies uncovered = new WaterBodies(new DefaultResourceLoader(), BUNDLED, 0.05, "");
+        WaterBodies covered = new WaterBodies(new DefaultResourceLoader(), BUNDLED, 0.05, "72.7, 18.8, 73.1, 19.3");
+
+        assertThat(uncovered.covers(19.0, 72.9)).isFalse();
+        assertThat(covered.covers(19.0, 72.9)).isTrue();
+        assertThat(covered.covers(18.5204, 73.8567)).isFalse();
+    }
+
+    @Test
+    void islandsInAHoleAreLand() throws IOException {
+        Path polygons = dir.resolve("lake.geojson");
+        Files.writeString(polygons, """
+                {"type":"FeatureCollection","features":[
+                {"type":"Feature","properties":{"name":"Lake"},"geometry":{"type":"Polygon","coordinates":[
+                  [[10.0,10.0],[11.0,10.0],[11.0,11.0],[10.0,11.0],[10.0,10.0]],
+                  [[10.4,10.4],[10.6,10.4],[10.6,10.6],[10.4,10.6],[10.4,10.4]]]}}]}
+                """);
+        WaterBodies water = new WaterBodies(new DefaultResourceLoader(), polygons.toUri().toString(), 0.05, "9,9,12,12");
+
+        assertThat(water.waterBodyAt(10.2, 10.2)).isEqualTo("Lake");
+        assertThat(water.waterBodyAt(10.5, 10.5)).isNull();
+        assertThat(water.waterBodyAt(11.5, 11.5)).isNull();
+        assertThat(water.covers(10.5, 10.5)).isTrue();
+    }
+
+    @Test
+    void missingPolygonsCoverNothing() {
+        WaterBodies water = new WaterBodies(new DefaultResourceLoader(),
+                dir.resolve("missing.geojson").toUri().toString(), 0.05, "60,5,95,35");
+
+        assertThat(water.size()).isZero();
+        assertThat(water.waterBodyAt(18.90, 72.40)).isNull();
+        assertThat(water.covers(18.90, 72.40)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package com.studenthelper.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.studenthelper.security.ApiRoutes.Access.AUTHENTICATED;
+import static com.studenthelper.security.ApiRoutes.Access.OPTIONAL;
+import static com.studenthelper.security.ApiRoutes.Access.PUBLIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiRoutesTest {
+
+    private final ApiRoutes routes = new ApiRoutes();
+
+    @Test
+    void everyRouteAndMethodIsClassifiedAsTheRulesItReplaced() {
+        List<String> mismatches = new ArrayList<>();
+        for (String path : LegacyRouteRules.PATHS) {
+            for (String method : LegacyRouteRules.METHODS) {
+                ApiRoutes.Access expected = LegacyRouteRules.access(method, path);
+                ApiRoutes.Access actual = routes.access(method, path);
+                if (expected != actual) {
+                    mismatches.add(method + " " + path + ": was " + expected + ", table says " + actual);
+                }
+            }
+        }
+        assertThat(mismatches).as("routes classified differently from the previous rules").isEmpty();
+    }
+
+    @Test
+    void browsingListingsIsPublicButOwnListsReadTheToken() {
+        assertThat(routes.access("GET", "/api/pg/42")).isEqualTo(PUBLIC);
+        assertThat(routes.access("GET", "/api/item/42/images/1")).isEqualTo(PUBLIC);
+        assertThat(routes.access("GET", "/api/pg/my-pgs")).isEqualTo(OPTIONAL);
+        assertThat(routes.access("GET", "/api/item/my-items/7")).isEqualTo(OPTIONAL);
+        assertThat(routes.access("PUT", "/api/pg/42")).isEqualTo(AUTHENTICATED);
+        assertThat(routes.access("GET", "/api/pg/42/status")).isEqualTo(AUTHENTICATED);
+    }
+
+    @Test
+    void tokenSkippedButNotPermittedMeansAuthenticated() {
+        // The old filter skipped the token on every GET /api/distance/**, but only two were permitted
+        assertThat(routes.access("GET", "/api/distance/calculate")).isEqualTo(AUTHENTICATED);
+        assertThat(routes.access("GET", "/api/distance/geocode")).isEqualTo(PUBLIC);
+        assertThat(routes.access("POST", "/api/distance/geocode")).isEqualTo(OPTIONAL);
+    }
+
+    @Test
+    void actuatorNeedsAuthenticationOnTheApplicationPort() {
+        for (String method : LegacyRouteRules.METHODS) {
+            assertThat(routes.access(method, "/actuator/health")).isEqualTo(AUTHENTICATED);
+            assertThat(routes.access(method, "/actuator/prometheus")).isEqualTo(AUTHENTICATED);
+        }
+    }
+
+    @Test
+    void requestPathIsMatchedWithoutTheContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/hostel/42");
+        request.setContextPath("/app");
+
+        assertThat(ApiRoutes.path(request)).isEqualTo("/api/hostel/42");
+        assertThat(routes.access(request)).isEqualTo(PUBLIC);
+        assertThat(routes.permitted().matches(request)).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.studenthelper.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthThrottleTest {
+
+    private static final long WINDOW = 1_000;
+    // Window 10 starts here
+    private static final long T0 = 10 * WINDOW;
+
+    // Slots (1, 2) and (1, 3): the two keys share their first slot
+    private static final long KEY = (2L << 32) | 1;
+    private static final long NEIGHBOUR = (3L << 32) | 1;
+
+    @Test
+    void attemptsOverTheLimitAreRejectedUntilTheWindowEnds() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, 3, WINDOW);
+
+        assertThat(acquire(throttle, KEY, T0, 3)).isEqualTo(3);
+        assertThat(throttle.tryAcquire(KEY, T0 + 250)).isEqualTo(750);
+        assertThat(throttle.rejected).hasValue(1);
+    }
+
+    @Test
+    void previousWindowCountsByHowMuchOfItStillOverlaps() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, 10, WINDOW);
+        acquire(throttle, KEY, T0, 10);
+
+        // Halfway into the next window half of the previous 10 still count
+        assertThat(throttle.estimate(KEY, T0 + WINDOW + WINDOW / 2)).isEqualTo(5.0);
+        assertThat(acquire(throttle, KEY, T0 + WINDOW + WINDOW / 2, 10)).isEqualTo(5);
+        // A quarter of the previous window is left by now: 2.5 + 5
+        assertThat(throttle.estimate(KEY, T0 + WINDOW + 3 * WINDOW / 4)).isEqualTo(7.5);
+    }
+
+    @Test
+    void countsOlderThanThePreviousWindowAreDropped() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, 10, WINDOW);
+        acquire(throttle, KEY, T0, 10);
+
+        assertThat(throttle.estimate(KEY, T0 + 2 * WINDOW)).isZero();
+        assertThat(acquire(throttle, KEY, T0 + 2 * WINDOW, 10)).isEqualTo(10);
+        assertThat(throttle.estimate(KEY, T0 + 7 * WINDOW + 1)).isZero();
+    }
+
+    @Test
+    void previousWindowCarriesOverWhenTheWindowNumberWraps() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, 10, WINDOW);
+        // The slot keeps 24 bits of the window number
+        long lastWindow = ((1L << 24) - 1) * WINDOW;
+        acquire(throttle, KEY, lastWindow, 10);
+
+        assertThat(throttle.estimate(KEY, lastWindow + WINDOW)).isEqualTo(10.0);
+        assertThat(throttle.tryAcquire(KEY, lastWindow + WINDOW)).isPositive();
+    }
+
+    @Test
+    void saturatedCounterStaysAtItsMaximumInsteadOfWrapping() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, Integer.MAX_VALUE, WINDOW);
+        long max = (1L << 20) - 1;
+
+        acquire(throttle, KEY, T0, (int) max + 10);
+
+        assertThat(throttle.estimate(KEY, T0)).isEqualTo(max);
+        // Overflow would have carried into the previous count, or into the window number
+        assertThat(throttle.estimate(KEY, T0 + WINDOW)).isEqualTo(max);
+        assertThat(throttle.estimate(KEY, T0 + 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    void keyIsJudgedByItsLessBusySlot() {
+        AuthThrottle.SlidingWindow throttle = new AuthThrottle.SlidingWindow(64, 3, WINDOW);
+        acquire(throttle, KEY, T0, 3);
+
+        // Slot 1 is full, but slot 3 has seen nothing
+        assertThat(throttle.estimate(NEIGHBOUR, T0)).isZero();
+        assertThat(acquire(throttle, NEIGHBOUR, T0, 3)).isEqualTo(3);
+        assertThat(throttle.tryAcquire(KEY, T0)).isPositive();
+    }
+
+    /** Tries {@code attempts} times at {@code now}; returns how many were let through. */
+    private static int acquire(AuthThrottle.SlidingWindow throttle, long hash, long now, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (throttle.tryAcquire(hash, now) == 0) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
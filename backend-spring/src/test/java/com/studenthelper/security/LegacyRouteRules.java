@@ -0,0 +1,108 @@
+package com.studenthelper.security;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * The route rules {@link ApiRoutes} replaced: the startsWith/contains chain
+ * JwtAuthenticationFilter ran before reading the token and the permitAll
+ * matchers SecurityConfig listed. Kept so ApiRoutesTest can check the table
+ * against them and ApiRoutesBenchmark (compiled with the test sources under
+ * -Pjmh) can time them.
+ */
+final class LegacyRouteRules {
+
+    static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE"};
+
+    static final String[] PATHS = {
+            // Every controller route, ids filled in
+            "/api/auth/login", "/api/auth/signup", "/api/auth/verify-email", "/api/auth/resend-verification",
+            "/api/auth/forgot-password", "/api/auth/reset-password", "/api/auth/google", "/api/auth/refresh",
+            "/api/auth/logout", "/api/auth/me",
+            "/api/health", "/api/health/cache", "/api/health/upstreams",
+            "/api/distance/geocode", "/api/distance/validate-location", "/api/distance/calculate",
+            "/api/v2/distance/geocode", "/api/v2/distance/validate-location", "/api/v2/distance/calculate",
+            "/api/v2/distance/calculate/batch",
+            "/api/pg", "/api/pg/42", "/api/pg/my-pgs", "/api/pg/42/status",
+            "/api/hostel", "/api/hostel/42", "/api/hostel/my-hostels",
+            "/api/item", "/api/item/42", "/api/item/my-items", "/api/item/42/status",
+            "/api/message", "/api/message/conversations", "/api/message/unread-count", "/api/message/42",
+            "/api/payment/create-order", "/api/payment/verify", "/api/payment/my-payments",
+            "/api/payment/received-payments",
+            "/api/user/profile/me", "/api/user/42",
+            // Paths no controller serves
+            "/", "/index.html", "/error", "/api", "/api/auth", "/api/unknown", "/api/pgx", "/api/items",
+            "/api/pg/42/images", "/api/hostel/42/rooms/3", "/api/item/42/images/1", "/api/item/my-items/7",
+            "/api/distance/route", "/actuator/health", "/actuator/prometheus", "/actuator/env"
+    };
+
+    /**
+     * SecurityConfig's permits, less the actuator ones: actuator moved to the
+     * management port, and on the application port it needs authentication
+     * like any unlisted route.
+     */
+    private static final List<MethodPattern> SECURITY_PERMITS = List.of(
+            permit(null, "/api/auth/**"),
+            permit(null, "/api/health"),
+            permit(null, "/api/health/**"),
+            permit(null, "/api/distance/geocode"),
+            permit(null, "/api/distance/validate-location"),
+            permit(null, "/api/v2/distance/geocode"),
+            permit(null, "/api/v2/distance/validate-location"),
+            permit("GET", "/api/pg"),
+            permit("GET", "/api/pg/*"),
+            permit("GET", "/api/hostel"),
+            permit("GET", "/api/hostel/*"),
+            permit("GET", "/api/item"),
+            permit("GET", "/api/item/**"),
+            permit(null, "/api/payment/verify"));
+
+    private LegacyRouteRules() {
+    }
+
+    /**
+     * What the two rule sets meant together. Where the filter skipped the token
+     * but SecurityConfig still required authentication, nobody could pass, so
+     * that counts as {@link ApiRoutes.Access#AUTHENTICATED}.
+     */
+    static ApiRoutes.Access access(String method, String path) {
+        if (!securityPermits(method, path)) {
+            return ApiRoutes.Access.AUTHENTICATED;
+        }
+        return filterSkips(method, path) ? ApiRoutes.Access.PUBLIC : ApiRoutes.Access.OPTIONAL;
+    }
+
+    /** The checks JwtAuthenticationFilter made before reading the token. */
+    static boolean filterSkips(String method, String requestURI) {
+        if (requestURI.startsWith("/api/auth/")) {
+            return true;
+        }
+        return "GET".equals(method) && (
+                requestURI.equals("/api/health") ||
+                requestURI.startsWith("/api/health/") ||
+                requestURI.startsWith("/api/distance/") ||
+                (requestURI.startsWith("/api/pg") && !requestURI.contains("/my-pgs")) ||
+                (requestURI.startsWith("/api/hostel") && !requestURI.contains("/my-hostels")) ||
+                (requestURI.startsWith("/api/item") && !requestURI.contains("/my-items")));
+    }
+
+    /** The permitAll matchers SecurityConfig listed, in order. */
+    static boolean securityPermits(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (MethodPattern permit : SECURITY_PERMITS) {
+            if ((permit.method() == null || permit.method().equals(method)) && permit.pattern().matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MethodPattern permit(String method, String pattern) {
+        return new MethodPattern(method, PathPatternParser.defaultInstance.parse(pattern));
+    }
+
+    private record MethodPattern(String method, PathPattern pattern) {}
+}
@@ -0,0 +1,77 @@
+package com.studenthelper.security;
+
+import com.studenthelper.cache.CacheInvalidation;
+import com.studenthelper.cache.LocalCacheInvalidationBus;
+import com.studenthelper.entity.User;
+import com.studenthelper.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private final LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private TokenRevocationList revocations;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-for-access-tokens");
+        ReflectionTestUtils.setField(jwtUtil, "accessExpiration", 900_000L);
+        revocations = new TokenRevocationList(bus, jwtUtil, 4096);
+        user = new User();
+        user.setId(7L);
+        user.setRole(User.Role.student);
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAfterRevocationStaysValid() throws InterruptedException {
+        Claims before = issue();
+        Thread.sleep(2);
+        revocations.revokeUser(user.getId());
+        Thread.sleep(2);
+        // Almost always the same iat second as the token before, so whole seconds can't tell them apart
+        Claims after = issue();
+
+        assertThat(revocations.isRevoked(before)).isTrue();
+        assertThat(revocations.isRevoked(after)).isFalse();
+    }
+
+    @Test
+    void peersApplyTheCutoffStampedByTheRevokingNode() throws InterruptedException {
+        Claims before = issue();
+        Thread.sleep(2);
+        long cutoff = System.currentTimeMillis();
+        Thread.sleep(2);
+        Claims after = issue();
+
+        // Arrives late, as it would over the network
+        CacheInvalidation fromPeer = new CacheInvalidation(TokenRevocationList.USER_REGION, user.getId(), List.of());
+        fromPeer.setTimestamp(cutoff);
+        bus.publish(fromPeer);
+
+        assertThat(revocations.isRevoked(before)).isTrue();
+        assertThat(revocations.isRevoked(after)).isFalse();
+    }
+
+    @Test
+    void singleTokenRevocationLeavesOtherTokensValid() {
+        Claims revoked = issue();
+        Claims other = issue();
+
+        revocations.revokeToken(JwtUtil.getTokenId(revoked));
+
+        assertThat(revocations.isRevoked(revoked)).isTrue();
+        assertThat(revocations.isRevoked(other)).isFalse();
+    }
+
+    private Claims issue() {
+        return jwtUtil.parseAccessToken(jwtUtil.generateAccessToken(user));
+    }
+}
@@ -0,0 +1,51 @@
+package com.studenthelper.security;
+
+import com.studenthelper.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserTokenRevokerTest {
+
+    private final TokenRevocationList revocations = mock(TokenRevocationList.class);
+    private final UserTokenRevoker revoker = new UserTokenRevoker();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revoker, "tokenRevocationList", revocations);
+        user = new User();
+        user.setId(7L);
+        user.setRole(User.Role.broker);
+        user.setPersistedRole(User.Role.broker);
+    }
+
+    @Test
+    void roleChangeRevokesTheUsersTokens() {
+        user.setRole(User.Role.student);
+
+        revoker.roleChanged(user);
+
+        verify(revocations).revokeUser(7L);
+    }
+
+    @Test
+    void otherUpdatesLeaveTokensAlone() {
+        user.setCity("Vadodara");
+
+        revoker.roleChanged(user);
+
+        verify(revocations, never()).revokeUser(7L);
+    }
+
+    @Test
+    void deletionRevokesTheUsersTokens() {
+        revoker.deleted(user);
+
+        verify(revocations).revokeUser(7L);
+    }
+}
@@ -0,0 +1,52 @@
+package com.studenthelper.service;
+
+import com.studenthelper.geo.WaterBodies;
+import com.studenthelper.util.GeocodingUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DistanceServiceImplTest {
+
+    private final GeocodingUtil geocodingUtil = mock(GeocodingUtil.class);
+    // Complete around Mumbai only
+    private final WaterBodies waterBodies = new WaterBodies(
+            new DefaultResourceLoader(), "classpath:geo/water.geojson", 0.05, "72.7,18.8,73.1,19.3");
+
+    @Test
+    void localWaterAndCoveredLandNeedNoLookup() {
+        assertThat(validate(18.90, 72.40)).containsEntry("valid", false);
+        assertThat(validate(19.1136, 72.8697)).containsEntry("valid", true);
+        verifyNoInteractions(geocodingUtil);
+    }
+
+    @Test
+    void uncoveredPointsAreCheckedAgainstTheReverseGeocodedAddress() {
+        when(geocodingUtil.reverseGeocodeAsync(25.3176, 83.0130))
+                .thenReturn(Mono.just("Ganga River, Varanasi, Uttar Pradesh, India"));
+        when(geocodingUtil.reverseGeocodeAsync(9.9667, 76.2420))
+                .thenReturn(Mono.just("Waterfront Road, Fort Kochi, Kerala, India"));
+
+        assertThat(validate(25.3176, 83.0130)).containsEntry("valid", false);
+        assertThat(validate(9.9667, 76.2420)).containsEntry("valid", true);
+    }
+
+    @Test
+    void failedLookupAcceptsTheLocation() {
+        when(geocodingUtil.reverseGeocodeAsync(25.3176, 83.0130))
+                .thenReturn(Mono.error(new RuntimeException("Could not reverse geocode coordinates")));
+
+        assertThat(validate(25.3176, 83.0130)).containsEntry("valid", true);
+    }
+
+    private Map<String, Object> validate(double lat, double lng) {
+        return DistanceServiceImpl.validateLocation(waterBodies, geocodingUtil, lat, lng).block();
+    }
+}
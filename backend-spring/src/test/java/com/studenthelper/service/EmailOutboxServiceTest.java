@@ -0,0 +1,200 @@
+package com.studenthelper.service;
+
+import com.studenthelper.entity.OutboundEmail;
+import com.studenthelper.repository.OutboundEmailRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BACKOFF_BASE_SECONDS = 10;
+
+    // id -> row, standing in for the outbound_emails table
+    private final Map<Long, OutboundEmail> table = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final List<OutboundEmail.Status> statusWhileSending = new ArrayList<>();
+    private EmailOutboxService outbox;
+
+    @BeforeEach
+    void setUp() {
+        OutboundEmailRepository repository = mock(OutboundEmailRepository.class);
+        when(repository.save(any(OutboundEmail.class))).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<OutboundEmail> saved = new ArrayList<>();
+            invocation.<Iterable<OutboundEmail>>getArgument(0).forEach(email -> saved.add(store(email)));
+            return saved;
+        });
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<OutboundEmail> found = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> found.add(table.get(id)));
+            return found;
+        });
+        when(repository.findDueForUpdate(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            Collection<OutboundEmail.Status> statuses = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            return table.values().stream()
+                    .filter(email -> statuses.contains(email.getStatus()) && !email.getNextAttemptAt().isAfter(now))
+                    .sorted(Comparator.comparing(OutboundEmail::getNextAttemptAt))
+                    .toList();
+        });
+
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        succeed();
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        outbox = new EmailOutboxService(repository, mailSender, transactionManager, "no-reply@example.com",
+                20, 1, MAX_ATTEMPTS, 300, BACKOFF_BASE_SECONDS, 600, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.stop();
+    }
+
+    @Test
+    void claimedRowsAreLeasedWhileSendingAndBlankedOnceSent() {
+        outbox.enqueue("student@example.com", "Verify your email", "Your code is 123456");
+
+        outbox.drain();
+
+        assertThat(statusWhileSending).containsExactly(OutboundEmail.Status.SENDING);
+        OutboundEmail email = only();
+        assertThat(email.getStatus()).isEqualTo(OutboundEmail.Status.SENT);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+        assertThat(email.getBody()).isEqualTo(EmailOutboxService.REDACTED_BODY);
+    }
+
+    @Test
+    void rowsThatAreNotDueAreLeftAlone() {
+        outbox.enqueue("student@example.com", "Verify your email", "Your code is 123456");
+        only().setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+
+        outbox.drain();
+
+        assertThat(statusWhileSending).isEmpty();
+        assertThat(only().getStatus()).isEqualTo(OutboundEmail.Status.PENDING);
+        assertThat(only().getAttempts()).isZero();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedAfterABackoffAndKeepsItsBody() {
+        outbox.enqueue("student@example.com", "Reset your password", "Your code is 654321");
+        fail("Connection refused");
+
+        LocalDateTime before = LocalDateTime.now();
+        outbox.drain();
+
+        OutboundEmail email = only();
+        assertThat(email.getStatus()).isEqualTo(OutboundEmail.Status.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).contains("Connection refused");
+        assertThat(email.getBody()).isEqualTo("Your code is 654321");
+        // base * 2^0, +-20% jitter
+        assertThat(email.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plusSeconds(BACKOFF_BASE_SECONDS * 8 / 10))
+                .isBefore(LocalDateTime.now().plusSeconds(BACKOFF_BASE_SECONDS * 12 / 10));
+
+        // Due again only once the backoff has passed
+        outbox.drain();
+        assertThat(only().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffDoublesWithEachAttempt() {
+        outbox.enqueue("student@example.com", "Reset your password", "Your code is 654321");
+        only().setAttempts(2);
+        fail("Connection refused");
+
+        LocalDateTime before = LocalDateTime.now();
+        outbox.drain();
+
+        // Third attempt: base * 2^2, +-20% jitter
+        assertThat(only().getNextAttemptAt())
+                .isAfterOrEqualTo(before.plusSeconds(BACKOFF_BASE_SECONDS * 4 * 8 / 10))
+                .isBefore(LocalDateTime.now().plusSeconds(BACKOFF_BASE_SECONDS * 4 * 12 / 10));
+    }
+
+    @Test
+    void lastFailedAttemptMarksTheRowFailedAndBlanksTheBody() {
+        outbox.enqueue("student@example.com", "Reset your password", "Your code is 654321");
+        only().setAttempts(MAX_ATTEMPTS - 1);
+        fail("550 mailbox unavailable");
+
+        outbox.drain();
+
+        OutboundEmail email = only();
+        assertThat(email.getStatus()).isEqualTo(OutboundEmail.Status.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(email.getLastError()).contains("550 mailbox unavailable");
+        assertThat(email.getBody()).isEqualTo(EmailOutboxService.REDACTED_BODY);
+    }
+
+    @Test
+    void expiredClaimOfADeadWorkerIsTakenOver() {
+        outbox.enqueue("student@example.com", "Verify your email", "Your code is 123456");
+        OutboundEmail stuck = only();
+        stuck.setStatus(OutboundEmail.Status.SENDING);
+        stuck.setAttempts(1);
+        stuck.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+
+        outbox.drain();
+
+        assertThat(only().getStatus()).isEqualTo(OutboundEmail.Status.SENT);
+        assertThat(only().getAttempts()).isEqualTo(2);
+    }
+
+    private void succeed() {
+        doAnswer(invocation -> {
+            table.values().forEach(email -> statusWhileSending.add(email.getStatus()));
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+    }
+
+    private void fail(String error) {
+        doAnswer(invocation -> {
+            throw new MailSendException(error);
+        }).when(mailSender).send(any(MimeMessage[].class));
+    }
+
+    private OutboundEmail store(OutboundEmail email) {
+        if (email.getId() == null) {
+            email.setId(ids.incrementAndGet());
+        }
+        table.put(email.getId(), email);
+        return email;
+    }
+
+    private OutboundEmail only() {
+        assertThat(table).hasSize(1);
+        return table.values().iterator().next();
+    }
+}
@@ -0,0 +1,214 @@
+package com.studenthelper.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tokens signed with locally generated RSA keys, verified against a JWKS served
+ * from a loopback HTTP server standing in for Google's certs endpoint.
+ */
+class GoogleTokenVerifierServiceTest {
+
+    private static final String CLIENT_ID = "web-client.apps.googleusercontent.com";
+
+    private final KeyPair first = rsaKeyPair();
+    private final KeyPair rotated = rsaKeyPair();
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+
+    private volatile Map<String, KeyPair> published;
+    private HttpServer server;
+    private GoogleTokenVerifierService verifier;
+
+    @BeforeEach
+    void startKeyServer() throws IOException {
+        published = Map.of("key-1", first);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/oauth2/v3/certs", exchange -> {
+            jwksRequests.incrementAndGet();
+            byte[] body = jwks(published).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        verifier = verifier("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/v3/certs");
+    }
+
+    @AfterEach
+    void stopKeyServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void validTokenIsAcceptedAndKeysAreCached() {
+        GoogleTokenVerifierService.GoogleUserInfo user = verifier.verify(token("key-1", first).compact());
+
+        assertThat(user.getGoogleId()).isEqualTo("1234567890");
+        assertThat(user.getEmail()).isEqualTo("student@example.com");
+        assertThat(user.getName()).isEqualTo("Test Student");
+
+        verifier.verify(token("key-1", first).compact());
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void unknownKidForcesOneRefetch() {
+        verifier.verify(token("key-1", first).compact());
+        published = Map.of("key-1", first, "key-2", rotated);
+
+        GoogleTokenVerifierService.GoogleUserInfo user = verifier.verify(token("key-2", rotated).compact());
+
+        assertThat(user.getEmail()).isEqualTo("student@example.com");
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void kidThatIsStillUnknownAfterRefetchIsRejected() {
+        verifier.verify(token("key-1", first).compact());
+
+        assertThatThrownBy(() -> verifier.verify(token("key-9", rotated).compact()))
+                .hasMessageContaining("Unknown Google signing key key-9");
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyUnderAKnownKidIsRejected() {
+        assertThatThrownBy(() -> verifier.verify(token("key-1", rotated).compact()))
+                .hasMessageStartingWith("Invalid Google token");
+    }
+
+    @Test
+    void wrongAudienceIsRejected() {
+        String token = token("key-1", first, "someone-elses-client").compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).hasMessage("Google token audience mismatch");
+    }
+
+    @Test
+    void wrongIssuerIsRejected() {
+        String token = token("key-1", first).issuer("https://evil.example.com").compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).hasMessage("Google token issuer mismatch");
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        // Beyond the verifier's 60 s clock skew allowance
+        Instant issued = Instant.now().minus(Duration.ofHours(2));
+        String token = token("key-1", first)
+                .issuedAt(Date.from(issued))
+                .expiration(Date.from(Instant.now().minus(Duration.ofMinutes(5))))
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .hasMessageStartingWith("Invalid Google token")
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void unverifiedEmailIsRejected() {
+        String token = token("key-1", first).claim("email_verified", false).compact();
+
+        assertThatThrownBy(() -> verifier.verify(token)).hasMessage("Google email is not verified");
+    }
+
+    @Test
+    void keyServerDownWithNothingCachedFailsSignIn() {
+        server.stop(0);
+
+        assertThatThrownBy(() -> verifier.verify(token("key-1", first).compact()))
+                .hasMessageContaining("Unable to fetch Google signing keys");
+    }
+
+    @Test
+    void keyServerDownKeepsPreviouslyFetchedKeys() {
+        verifier.verify(token("key-1", first).compact());
+        server.stop(0);
+
+        // The unknown kid triggers a refetch that fails; cached keys remain in use
+        assertThatThrownBy(() -> verifier.verify(token("key-2", rotated).compact()))
+                .hasMessageContaining("Unknown Google signing key key-2");
+        assertThat(verifier.verify(token("key-1", first).compact()).getEmail()).isEqualTo("student@example.com");
+    }
+
+    private static GoogleTokenVerifierService verifier(String jwksUrl) {
+        // A zero refresh interval lets every unknown kid refetch immediately
+        return new GoogleTokenVerifierService(CLIENT_ID + ", android-client", jwksUrl, 0, WebClient.builder());
+    }
+
+    private static JwtBuilder token(String kid, KeyPair keyPair) {
+        return token(kid, keyPair, CLIENT_ID);
+    }
+
+    private static JwtBuilder token(String kid, KeyPair keyPair, String audience) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(audience).and()
+                .subject("1234567890")
+                .claim("email", "student@example.com")
+                .claim("email_verified", true)
+                .claim("name", "Test Student")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256);
+    }
+
+    private static String jwks(Map<String, KeyPair> keys) {
+        return keys.entrySet().stream()
+                .map(entry -> {
+                    RSAPublicKey key = (RSAPublicKey) entry.getValue().getPublic();
+                    return String.format("{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"%s\",\"n\":\"%s\",\"e\":\"%s\"}",
+                            entry.getKey(), base64Url(key.getModulus()), base64Url(key.getPublicExponent()));
+                })
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes[0] == 0 && bytes.length > 1 ? 1 : 0;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOfRange(bytes, offset, bytes.length));
+    }
+
+    private static KeyPair rsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.studenthelper.service;
+
+import com.studenthelper.entity.RefreshToken;
+import com.studenthelper.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    // token hash -> row, standing in for the refresh_tokens table
+    private final Map<String, RefreshToken> table = new ConcurrentHashMap<>();
+    private final RefreshTokenService service = new RefreshTokenService();
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        when(repository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+        when(repository.existsByTokenHash(anyString()))
+                .thenAnswer(invocation -> table.containsKey(invocation.<String>getArgument(0)));
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            table.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(repository.deleteByFamilyId(anyString())).thenAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            int before = table.size();
+            table.values().removeIf(token -> token.getFamilyId().equals(familyId));
+            return before - table.size();
+        });
+
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "secret", "test-secret-for-refresh-tokens");
+        ReflectionTestUtils.setField(service, "refreshExpiration", 2_592_000_000L);
+        ReflectionTestUtils.setField(service, "reuseGraceSeconds", 10L);
+    }
+
+    @Test
+    void firstUseReturnsASuccessorInTheSameFamily() {
+        String login = service.issue(USER_ID);
+
+        RefreshTokenService.Rotation rotation = service.rotate(login);
+
+        assertThat(rotation.userId()).isEqualTo(USER_ID);
+        assertThat(rotation.refreshToken()).isNotEqualTo(login);
+        assertThat(table).hasSize(2);
+        assertThat(table.values().stream().map(RefreshToken::getFamilyId).distinct()).hasSize(1);
+        assertThat(service.rotate(rotation.refreshToken())).isNotNull();
+    }
+
+    @Test
+    void replayInsideGraceReturnsTheSameSuccessorInsteadOfANewToken() {
+        String login = service.issue(USER_ID);
+        String successor = service.rotate(login).refreshToken();
+
+        RefreshTokenService.Rotation replay = service.rotate(login);
+
+        assertThat(replay.refreshToken()).isEqualTo(successor);
+        assertThat(table).hasSize(2);
+    }
+
+    @Test
+    void reuseAfterGraceRevokesTheWholeFamily() {
+        String login = service.issue(USER_ID);
+        String successor = service.rotate(login).refreshToken();
+        table.values().stream().filter(token -> token.getUsedAt() != null)
+                .forEach(token -> token.setUsedAt(LocalDateTime.now().minusSeconds(60)));
+
+        assertThat(service.rotate(login)).isNull();
+        assertThat(table).isEmpty();
+        assertThat(service.rotate(successor)).isNull();
+    }
+
+    @Test
+    void replayAfterTheSuccessorWasRevokedIsReuse() {
+        String login = service.issue(USER_ID);
+        service.rotate(login);
+        table.values().removeIf(token -> token.getUsedAt() == null);
+
+        assertThat(service.rotate(login)).isNull();
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    void otherSessionsAreUntouchedByReuse() {
+        String phone = service.issue(USER_ID);
+        String laptop = service.issue(USER_ID);
+        service.rotate(phone);
+        table.values().stream().filter(token -> token.getUsedAt() != null)
+                .forEach(token -> token.setUsedAt(LocalDateTime.now().minusSeconds(60)));
+
+        assertThat(service.rotate(phone)).isNull();
+        assertThat(service.rotate(laptop)).isNotNull();
+    }
+}
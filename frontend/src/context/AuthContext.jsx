@@ -28,6 +28,7 @@ export const AuthProvider = ({ children }) => {
     setUser(null)
     localStorage.removeItem('user')
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
   }
 
   const storeAuthSession = (data, successMessage = 'Login successful!') => {
@@ -42,6 +43,9 @@ export const AuthProvider = ({ children }) => {
     }
 
     localStorage.setItem('token', token)
+    if (data.refreshToken) {
+      localStorage.setItem('refreshToken', data.refreshToken)
+    }
     setUser(data.user)
     localStorage.setItem('user', JSON.stringify(data.user))
     toast.success(successMessage)
@@ -348,6 +352,20 @@ export const AuthProvider = ({ children }) => {
   }
 
   const logout = () => {
+    // End the server-side session too; the page navigates away regardless of the outcome
+    const token = localStorage.getItem('token')
+    const refreshToken = localStorage.getItem('refreshToken')
+    if (refreshToken) {
+      fetch(`${API_BASE_URL}/auth/logout`, {
+        method: 'POST',
+        keepalive: true,
+        headers: {
+          'Content-Type': 'application/json',
+          ...(token && { Authorization: `Bearer ${token}` })
+        },
+        body: JSON.stringify({ refreshToken })
+      }).catch(() => {})
+    }
     clearAuthSession()
     toast.success('Logged out successfully')
     window.location.href = '/'
@@ -2,6 +2,9 @@ import React from 'react'
 import ReactDOM from 'react-dom/client'
 import App from './App'
 import './index.css'
+import { installAuthRefresh } from './utils/authFetch.js'
+
+installAuthRefresh()
 
 ReactDOM.createRoot(document.getElementById('root')).render(
   <React.StrictMode>
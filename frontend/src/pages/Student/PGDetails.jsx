@@ -906,7 +906,7 @@ const PGDetails = () => {
                             if (!confirm) return
                           }
                           
-                          // Validate the location by reverse geocoding to check if it's valid (not in water)
+                          // Validate the location against the backend water index (not in water)
                           try {
                             const response = await fetch(`${API_BASE_URL}/distance/validate-location`, {
                               method: 'POST',
@@ -0,0 +1,116 @@
+/**
+ * Access token refresh for every API call.
+ *
+ * Access tokens expire after a few minutes; the long-lived session is the
+ * refresh token stored next to them. Pages call fetch() directly with
+ * `Authorization: Bearer <token>`, so fetch itself is wrapped: an API request
+ * whose token is about to expire waits for a refresh first, and one rejected
+ * because its token expired anyway is refreshed and retried once.
+ */
+
+import { API_BASE_URL } from './constants.js'
+
+// Refresh this long before the access token's exp
+const REFRESH_MARGIN_MS = 30 * 1000
+
+let refreshInFlight = null
+
+const tokenExpiresAt = (token) => {
+  try {
+    const payload = JSON.parse(atob(token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')))
+    return payload.exp ? payload.exp * 1000 : null
+  } catch (error) {
+    return null
+  }
+}
+
+const isRefreshable = (url) =>
+  url.startsWith(API_BASE_URL) &&
+  !url.startsWith(`${API_BASE_URL}/auth/`)
+
+/**
+ * Exchange the stored refresh token for a new pair. Concurrent callers share
+ * one request, because a refresh token may only be used once.
+ */
+export const refreshAccessToken = (nativeFetch = window.fetch) => {
+  if (refreshInFlight) {
+    return refreshInFlight
+  }
+
+  const refreshToken = localStorage.getItem('refreshToken')
+  if (!refreshToken) {
+    return Promise.resolve(null)
+  }
+
+  refreshInFlight = nativeFetch(`${API_BASE_URL}/auth/refresh`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ refreshToken })
+  })
+    .then(async (response) => {
+      const data = await response.json().catch(() => ({}))
+      if (!response.ok || !data.success || !data.token) {
+        // Session is over (expired, logged out or revoked elsewhere)
+        if (response.status === 401) {
+          localStorage.removeItem('token')
+          localStorage.removeItem('refreshToken')
+          localStorage.removeItem('user')
+        }
+        return null
+      }
+      localStorage.setItem('token', data.token)
+      localStorage.setItem('refreshToken', data.refreshToken)
+      if (data.user) {
+        localStorage.setItem('user', JSON.stringify(data.user))
+      }
+      return data.token
+    })
+    .catch(() => null)
+    .finally(() => {
+      refreshInFlight = null
+    })
+
+  return refreshInFlight
+}
+
+const withToken = (init, token) => {
+  const headers = new Headers(init.headers || {})
+  headers.set('Authorization', `Bearer ${token}`)
+  return { ...init, headers }
+}
+
+/**
+ * Install the wrapper around window.fetch. Call once before the app renders.
+ */
+export const installAuthRefresh = () => {
+  const nativeFetch = window.fetch.bind(window)
+
+  window.fetch = async (input, init = {}) => {
+    const url = typeof input === 'string' ? input : input.url
+    const authorization = new Headers(init.headers || {}).get('Authorization')
+
+    if (!authorization || !isRefreshable(url)) {
+      return nativeFetch(input, init)
+    }
+
+    let token = authorization.replace(/^Bearer /, '')
+    const expiresAt = tokenExpiresAt(token)
+    if (expiresAt && expiresAt - Date.now() < REFRESH_MARGIN_MS) {
+      token = (await refreshAccessToken(nativeFetch)) || token
+    }
+
+    const response = await nativeFetch(input, withToken(init, token))
+    // Role-protected endpoints answer 403 rather than 401 for an expired token;
+    // a 403 with a live token is a real permission error
+    const expired = response.status === 403 && (tokenExpiresAt(token) || 0) <= Date.now()
+    if (response.status !== 401 && !expired) {
+      return response
+    }
+
+    const refreshed = await refreshAccessToken(nativeFetch)
+    if (!refreshed || refreshed === token) {
+      return response
+    }
+    return nativeFetch(input, withToken(init, refreshed))
+  }
+}